@@ -0,0 +1,59 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic fixtures shared by the benchmarks
+final class BenchmarkData {
+
+    static final String JWT_SECRET = "myVerySecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm";
+
+    private BenchmarkData() {
+    }
+
+    static User user() {
+        return User.builder()
+                .id(1L)
+                .username("bench_user")
+                .email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .firstName("Bench")
+                .lastName("User")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .build();
+    }
+
+    static List<Task> tasks(int count) {
+        Random random = new Random(42);
+        TaskStatusEnum[] statuses = TaskStatusEnum.values();
+        TaskPriorityEnum[] priorities = TaskPriorityEnum.values();
+        User user = user();
+        LocalDate today = LocalDate.now();
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i * 37L);
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task number " + i)
+                    .description(i % 3 == 0 ? null : "Description of task " + i + " with a bit of text")
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .priority(priorities[random.nextInt(priorities.length)])
+                    .dueDate(i % 4 == 0 ? null : today.plusDays(random.nextInt(60) - 30))
+                    .user(user)
+                    .createdAt(created)
+                    .updatedAt(created.plusHours(random.nextInt(48)))
+                    .build());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,46 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Runs on every authenticated request (validate + parse) and on login/refresh (generate)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(BenchmarkData.JWT_SECRET, 86400000L, 604800000L);
+        token = jwtTokenProvider.generateAccessToken("bench_user");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken("bench_user");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtTokenProvider.getUsernameFromToken(token);
+    }
+
+    // What JwtAuthenticationFilter does per request
+    @Benchmark
+    public String validateThenParse() {
+        return jwtTokenProvider.validateToken(token) ? jwtTokenProvider.getUsernameFromToken(token) : null;
+    }
+}
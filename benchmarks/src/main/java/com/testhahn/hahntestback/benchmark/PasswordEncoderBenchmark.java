@@ -0,0 +1,32 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.testhahn.hahntestback.config.PasswordEncoderConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt verification is the dominant cost of POST /api/auth/login
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new PasswordEncoderConfig().passwordEncoder(new SimpleMeterRegistry());
+        hash = passwordEncoder.encode("securepassword123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("securepassword123", hash);
+    }
+}
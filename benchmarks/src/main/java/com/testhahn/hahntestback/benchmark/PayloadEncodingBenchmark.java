@@ -0,0 +1,52 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.config.BinaryContentConfig;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON vs CBOR vs Smile for task list payloads; payload sizes are printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponse> responses;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = switch (encoding) {
+            case "cbor" -> BinaryContentConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> BinaryContentConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        responses = BenchmarkData.tasks(size).stream().map(TaskResponse::fromEntity).toList();
+        encoded = objectMapper.writeValueAsBytes(responses);
+        System.out.printf("%n%s payload for %d tasks: %d bytes%n", encoding, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public TaskResponse[] decode() throws Exception {
+        return objectMapper.readValue(encoded, TaskResponse[].class);
+    }
+}
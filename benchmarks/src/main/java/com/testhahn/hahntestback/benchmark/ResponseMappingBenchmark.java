@@ -0,0 +1,46 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.dto.user.UserProfileResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Task task;
+    private List<Task> tasks;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(100);
+        task = tasks.get(1);
+        user = BenchmarkData.user();
+    }
+
+    @Benchmark
+    public TaskResponse taskResponseFromEntity() {
+        return TaskResponse.fromEntity(task);
+    }
+
+    // Mapping step of GET /api/tasks for a 100-task user
+    @Benchmark
+    public List<TaskResponse> taskListFromEntities() {
+        return tasks.stream().map(TaskResponse::fromEntity).toList();
+    }
+
+    @Benchmark
+    public UserProfileResponse userProfileFromEntity() {
+        return UserProfileResponse.fromEntity(user, 42);
+    }
+}
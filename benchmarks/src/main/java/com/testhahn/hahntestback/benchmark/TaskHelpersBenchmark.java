@@ -0,0 +1,47 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.testhahn.hahntestback.entity.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity and enum helpers evaluated for every task in every list response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskHelpersBenchmark {
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(100);
+    }
+
+    @Benchmark
+    public void isOverdue(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(task.isOverdue());
+        }
+    }
+
+    @Benchmark
+    public void isCriticalAndCanBeEdited(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(task.isCritical());
+            blackhole.consume(task.canBeEdited());
+        }
+    }
+
+    @Benchmark
+    public void statusIsActive(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(task.getStatus().isActive());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.testhahn.hahntestback.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the task list endpoints, with the same ObjectMapper defaults Spring Boot uses
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponse> responses;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = BenchmarkData.tasks(size).stream().map(TaskResponse::fromEntity).toList();
+        json = objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskList() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public TaskResponse[] deserializeTaskList() throws Exception {
+        return objectMapper.readValue(json, TaskResponse[].class);
+    }
+}
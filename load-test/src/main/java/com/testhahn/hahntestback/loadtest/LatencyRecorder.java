@@ -0,0 +1,73 @@
+package com.testhahn.hahntestback.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes per operation. Each client thread owns one recorder (no locking on
+ * the hot path); they are merged once the run is over. Latencies are kept exactly, in
+ * microseconds, so percentiles are not bucketed.
+ */
+public class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    public void record(Operation operation, long latencyNanos, int statusCode) {
+        Samples operationSamples = samples.computeIfAbsent(operation, key -> new Samples());
+        operationSamples.add(latencyNanos / 1_000);
+        if (statusCode >= 200 && statusCode < 300) {
+            operationSamples.ok++;
+        } else if (statusCode >= 400 && statusCode < 500) {
+            operationSamples.clientErrors++;
+        } else {
+            operationSamples.failures++;
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.samples.forEach((operation, otherSamples) ->
+                samples.computeIfAbsent(operation, key -> new Samples()).addAll(otherSamples));
+    }
+
+    public Map<Operation, Samples> getSamples() {
+        return samples;
+    }
+
+    public static class Samples {
+
+        private long[] micros = new long[1024];
+        private int size;
+        long ok;
+        long clientErrors;
+        // 5xx, I/O errors and timeouts
+        long failures;
+
+        void add(long value) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size * 2);
+            }
+            micros[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.micros[i]);
+            }
+            ok += other.ok;
+            clientErrors += other.clientErrors;
+            failures += other.failures;
+        }
+
+        public int count() {
+            return size;
+        }
+
+        // Sorted copy, computed once per report
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(micros, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.testhahn.hahntestback.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput and latency percentiles, printed as a table and written as JSON
+ * so runs of two builds can be diffed.
+ */
+public class LoadTestReport {
+
+    private final LatencyRecorder recorder;
+    private final LoadTestSettings settings;
+
+    public LoadTestReport(LatencyRecorder recorder, LoadTestSettings settings) {
+        this.recorder = recorder;
+        this.settings = settings;
+    }
+
+    public List<EndpointResult> results() {
+        double seconds = settings.duration.toNanos() / 1e9;
+        List<EndpointResult> results = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder.Samples samples = recorder.getSamples().get(operation);
+            if (samples == null || samples.count() == 0) {
+                continue;
+            }
+            long[] sorted = samples.sorted();
+            results.add(new EndpointResult(
+                    operation.getLabel(),
+                    sorted.length,
+                    sorted.length / seconds,
+                    percentile(sorted, 50),
+                    percentile(sorted, 90),
+                    percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1000.0,
+                    samples.clientErrors,
+                    samples.failures));
+        }
+        return results;
+    }
+
+    public void print(List<EndpointResult> results) {
+        System.out.printf("%n%-34s %9s %10s %10s %10s %10s %10s %7s %7s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "4xx", "errors");
+        long total = 0;
+        for (EndpointResult result : results) {
+            total += result.requests();
+            System.out.printf("%-34s %9d %10.1f %10.2f %10.2f %10.2f %10.2f %7d %7d%n",
+                    result.endpoint(), result.requests(), result.throughput(), result.p50Millis(),
+                    result.p90Millis(), result.p99Millis(), result.maxMillis(), result.clientErrors(),
+                    result.failures());
+        }
+        System.out.printf("%-34s %9d %10.1f%n%n", "Total", total, total / (settings.duration.toNanos() / 1e9));
+    }
+
+    public void write(List<EndpointResult> results) throws IOException {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("finishedAt", LocalDateTime.now().toString());
+        run.put("users", settings.users);
+        run.put("tasksPerUser", settings.tasksPerUser);
+        run.put("userSkew", settings.userSkew);
+        run.put("clients", settings.clients);
+        run.put("durationSeconds", settings.duration.toSeconds());
+        run.put("seed", settings.seed);
+        run.put("mix", settings.mix);
+        run.put("endpoints", results);
+
+        File file = new File(settings.report);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, run);
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sortedMicros, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedMicros.length);
+        return sortedMicros[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    public record EndpointResult(String endpoint, long requests, double throughput, double p50Millis,
+                                 double p90Millis, double p99Millis, double maxMillis, long clientErrors,
+                                 long failures) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.testhahn.hahntestback.loadtest;
+
+import com.testhahn.hahntestback.HahntestbackApplication;
+import com.testhahn.hahntestback.readmodel.TaskReadModelProjector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the application in-process on a random port against an embedded H2 database, seeds
+ * it with synthetic data and drives a mixed workload over HTTP. Needs no network access and
+ * no external database, so two builds can be compared on the same machine.
+ *
+ * java -jar target/load-test.jar --users=500 --tasks-per-user=40 --clients=32 --duration=60s
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final Duration PROJECTION_TIMEOUT = Duration.ofMinutes(5);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        // Every synthetic client shares the loopback address; measure the app, not the limiter
+        properties.put("app.rate-limit.enabled", "false");
+        properties.put("logging.level.com.testhahn.hahntestback", "WARN");
+        properties.put("logging.level.com.testhahn.hahntestback.loadtest", "INFO");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        // Explicit --spring.*/--app.*/--logging.* arguments replace the defaults above
+        for (String arg : settings.applicationArgs) {
+            int separator = arg.indexOf('=');
+            properties.put(arg.substring(2, separator < 0 ? arg.length() : separator),
+                    separator < 0 ? "" : arg.substring(separator + 1));
+        }
+        String[] applicationArgs = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HahntestbackApplication.class)
+                .run(applicationArgs)) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String passwordHash = context.getBean(PasswordEncoder.class).encode(SyntheticDataGenerator.PASSWORD);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            SyntheticDataGenerator.Dataset dataset = new SyntheticDataGenerator(
+                    jdbcTemplate, passwordHash, settings).generate();
+            TaskReadModelProjector projector = context.getBeanProvider(TaskReadModelProjector.class).getIfAvailable();
+            if (projector != null) {
+                projectSeededTasks(jdbcTemplate, projector);
+            }
+
+            log.info("Driving {} clients against port {} ({} warm-up, {} measured)",
+                    settings.clients, port, settings.warmup, settings.duration);
+            LatencyRecorder recorder = new WorkloadDriver("http://localhost:" + port, dataset, settings).run();
+
+            LoadTestReport report = new LoadTestReport(recorder, settings);
+            List<LoadTestReport.EndpointResult> results = report.results();
+            report.print(results);
+            report.write(results);
+        }
+    }
+
+    // The seed bypasses the write path, so its tasks are queued for the read model here, the way a
+    // committed change is, and the workload starts once all of them are projected
+    private static void projectSeededTasks(JdbcTemplate jdbcTemplate, TaskReadModelProjector projector)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        int queued = jdbcTemplate.update("INSERT INTO task_read_model_changes (task_id, user_id, changed_at) "
+                + "SELECT t.id, t.user_id, LOCALTIMESTAMP FROM tasks t WHERE NOT EXISTS "
+                + "(SELECT 1 FROM task_read_model_changes c WHERE c.task_id = t.id)");
+        long deadline = started + PROJECTION_TIMEOUT.toNanos();
+        while (!projector.isReady() || jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_read_model_changes", Long.class) > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Seeded tasks not projected into the read model after "
+                        + PROJECTION_TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+        log.info("Projected {} seeded tasks into the read model in {} ms", queued,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
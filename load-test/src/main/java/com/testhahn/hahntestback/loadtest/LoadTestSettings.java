@@ -0,0 +1,80 @@
+package com.testhahn.hahntestback.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Run settings, parsed from --key=value arguments. Anything starting with --spring. or
+ * --app. is passed through to the application under test instead.
+ */
+public class LoadTestSettings {
+
+    int users = 500;
+    // Mean tasks per user; the actual count per user is heavy-tailed around it
+    int tasksPerUser = 40;
+    // 0 = every user equally active, higher = traffic concentrated on fewer users
+    double userSkew = 1.1;
+    double overdueRatio = 0.2;
+    int clients = 32;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    long seed = 42;
+    String report = "target/load-test-report.json";
+    final Map<Operation, Integer> mix = new LinkedHashMap<>(Operation.defaultMix());
+    final List<String> applicationArgs = new ArrayList<>();
+
+    static LoadTestSettings parse(String[] args) {
+        LoadTestSettings settings = new LoadTestSettings();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--app.") || arg.startsWith("--logging.")) {
+                settings.applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (key) {
+                case "users" -> settings.users = Integer.parseInt(value);
+                case "tasks-per-user" -> settings.tasksPerUser = Integer.parseInt(value);
+                case "user-skew" -> settings.userSkew = Double.parseDouble(value);
+                case "overdue-ratio" -> settings.overdueRatio = Double.parseDouble(value);
+                case "clients" -> settings.clients = Integer.parseInt(value);
+                case "warmup" -> settings.warmup = parseDuration(value);
+                case "duration" -> settings.duration = parseDuration(value);
+                case "seed" -> settings.seed = Long.parseLong(value);
+                case "report" -> settings.report = value;
+                case "mix" -> settings.parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        return settings;
+    }
+
+    // e.g. --mix=list:50,statistics:20,update:10 (unlisted operations keep their default weight)
+    private void parseMix(String value) {
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            mix.put(Operation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    // Accepts 90s, 2m or plain seconds
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
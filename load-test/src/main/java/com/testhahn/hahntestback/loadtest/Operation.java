@@ -0,0 +1,50 @@
+package com.testhahn.hahntestback.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Endpoints the workload exercises, reported separately
+public enum Operation {
+    LOGIN("login", "POST /api/auth/login", 5),
+    LIST("list", "GET /api/tasks", 25),
+    LIST_PAGINATED("paginated", "GET /api/tasks/paginated", 10),
+    GET_BY_ID("get", "GET /api/tasks/{id}", 10),
+    BY_STATUS("status", "GET /api/tasks/status/{status}", 10),
+    BY_PRIORITY("priority", "GET /api/tasks/priority/{priority}", 5),
+    SEARCH("search", "GET /api/tasks/search", 5),
+    OVERDUE("overdue", "GET /api/tasks/overdue", 5),
+    STATISTICS("statistics", "GET /api/tasks/statistics", 10),
+    UPDATE("update", "PUT /api/tasks/{id}", 8),
+    COMPLETE("complete", "PATCH /api/tasks/{id}/complete", 4),
+    PROFILE("profile", "GET /api/users/profile", 3);
+
+    private final String optionName;
+    private final String label;
+    private final int defaultWeight;
+
+    Operation(String optionName, String label, int defaultWeight) {
+        this.optionName = optionName;
+        this.label = label;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.optionName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in --mix: " + name));
+    }
+
+    static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (Operation operation : values()) {
+            mix.put(operation, operation.defaultWeight);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,211 @@
+package com.testhahn.hahntestback.loadtest;
+
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeds users and tasks straight through JDBC (batched), bypassing the API so large data
+ * sets load in seconds. Everything is derived from the seed, so two runs see the same data.
+ * Tasks get their task_closure self-links here; LoadTestRunner has them projected into the
+ * read model.
+ *
+ * Shape of the data:
+ * - tasks per user follow a log-normal distribution around the configured mean, user 0
+ *   having the most; the workload picks user 0 most often too
+ * - status/priority are skewed towards PENDING/MEDIUM, a quarter of the tasks has no due date
+ * - overdue-ratio of the active tasks with a due date are overdue
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String PASSWORD = "loadtest-password";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final double TASK_COUNT_SIGMA = 1.0;
+
+    private static final TaskStatusEnum[] STATUSES = {
+            TaskStatusEnum.PENDING, TaskStatusEnum.IN_PROGRESS, TaskStatusEnum.COMPLETED, TaskStatusEnum.CANCELLED};
+    private static final int[] STATUS_WEIGHTS = {40, 25, 30, 5};
+
+    private static final TaskPriorityEnum[] PRIORITIES = {
+            TaskPriorityEnum.LOW, TaskPriorityEnum.MEDIUM, TaskPriorityEnum.HIGH, TaskPriorityEnum.URGENT};
+    private static final int[] PRIORITY_WEIGHTS = {30, 40, 20, 10};
+
+    private static final String[] TITLE_WORDS = {
+            "Review", "Prepare", "Update", "Fix", "Plan", "Write", "Call", "Deploy", "Test", "Refactor",
+            "report", "meeting", "invoice", "release", "backlog", "budget", "design", "docs", "client", "sprint"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String passwordHash;
+    private final LoadTestSettings settings;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, String passwordHash, LoadTestSettings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHash = passwordHash;
+        this.settings = settings;
+    }
+
+    public Dataset generate() {
+        Random random = new Random(settings.seed);
+        long started = System.nanoTime();
+
+        List<String> usernames = insertUsers();
+        Map<String, Long> userIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE 'lt_user_%'",
+                rs -> {
+                    userIds.put(rs.getString("username"), rs.getLong("id"));
+                });
+
+        int[] taskCounts = taskCounts(random);
+        long totalTasks = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int u = 0; u < usernames.size(); u++) {
+            Long userId = userIds.get(usernames.get(u));
+            for (int t = 0; t < taskCounts[u]; t++) {
+                TaskStatusEnum status = pick(random, STATUSES, STATUS_WEIGHTS);
+                TaskPriorityEnum priority = pick(random, PRIORITIES, PRIORITY_WEIGHTS);
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 90));
+                batch.add(new Object[]{
+                        title(random),
+                        random.nextInt(3) == 0 ? null : "Synthetic task " + t + " of " + usernames.get(u),
+                        status.name(),
+                        priority.name(),
+                        dueDate(random, status, today),
+                        userId,
+                        Timestamp.valueOf(createdAt),
+                        Timestamp.valueOf(createdAt.plusMinutes(random.nextInt(60 * 24)))});
+                if (batch.size() == BATCH_SIZE) {
+                    insertTasks(batch);
+                    batch.clear();
+                }
+                totalTasks++;
+            }
+        }
+        insertTasks(batch);
+        // Written by the application with every task; all seeded tasks are roots
+        jdbcTemplate.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) SELECT t.id, t.id, 0 "
+                + "FROM tasks t WHERE NOT EXISTS (SELECT 1 FROM task_closure c "
+                + "WHERE c.ancestor_id = t.id AND c.descendant_id = t.id)");
+
+        List<long[]> taskIds = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            taskIds.add(jdbcTemplate.queryForList("SELECT id FROM tasks WHERE user_id = ? ORDER BY id",
+                    Long.class, userIds.get(username)).stream().mapToLong(Long::longValue).toArray());
+        }
+
+        log.info("Seeded {} users and {} tasks in {} ms", usernames.size(), totalTasks,
+                (System.nanoTime() - started) / 1_000_000);
+        return new Dataset(usernames, taskIds, userWeights());
+    }
+
+    private List<String> insertUsers() {
+        List<String> usernames = new ArrayList<>(settings.users);
+        List<Object[]> rows = new ArrayList<>(settings.users);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < settings.users; i++) {
+            String username = "lt_user_" + i;
+            usernames.add(username);
+            rows.add(new Object[]{username, username + "@loadtest.local", passwordHash, "Load", "User " + i, now, now});
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, first_name, last_name, "
+                            + "is_enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, TRUE, ?, ?)",
+                    rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        return usernames;
+    }
+
+    private void insertTasks(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (title, description, status, priority, due_date, user_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+    }
+
+    // Log-normal around the mean, sorted so that user 0 (the most active) has the most tasks
+    private int[] taskCounts(Random random) {
+        double mu = Math.log(Math.max(1, settings.tasksPerUser)) - TASK_COUNT_SIGMA * TASK_COUNT_SIGMA / 2;
+        int cap = Math.max(1, settings.tasksPerUser) * 20;
+        int[] counts = new int[settings.users];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = (int) Math.min(cap, Math.round(Math.exp(mu + TASK_COUNT_SIGMA * random.nextGaussian())));
+        }
+        Arrays.sort(counts);
+        for (int i = 0, j = counts.length - 1; i < j; i++, j--) {
+            int swap = counts[i];
+            counts[i] = counts[j];
+            counts[j] = swap;
+        }
+        return counts;
+    }
+
+    // Zipf weights: user i is picked proportionally to 1 / (i + 1)^skew
+    private double[] userWeights() {
+        double[] cumulative = new double[settings.users];
+        double sum = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, settings.userSkew);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private Date dueDate(Random random, TaskStatusEnum status, LocalDate today) {
+        if (random.nextInt(4) == 0) {
+            return null;
+        }
+        if (status.isActive() && random.nextDouble() < settings.overdueRatio) {
+            return Date.valueOf(today.minusDays(1 + random.nextInt(30)));
+        }
+        return Date.valueOf(today.plusDays(random.nextInt(46)));
+    }
+
+    private static String title(Random random) {
+        return TITLE_WORDS[random.nextInt(10)] + " " + TITLE_WORDS[10 + random.nextInt(10)];
+    }
+
+    private static <T> T pick(Random random, T[] values, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    /**
+     * What the workload needs to know about the seeded data.
+     * userWeights is cumulative, for picking users with the configured skew.
+     */
+    public record Dataset(List<String> usernames, List<long[]> taskIds, double[] userWeights) {
+
+        public int pickUser(Random random) {
+            double roll = random.nextDouble() * userWeights[userWeights.length - 1];
+            int index = Arrays.binarySearch(userWeights, roll);
+            return index >= 0 ? index : Math.min(-index - 1, userWeights.length - 1);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.testhahn.hahntestback.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Closed-loop workload: each client thread picks a user (skewed), an operation (weighted by
+ * the mix) and sends the request as soon as the previous one returned. Requests issued during
+ * the warm-up are sent but not recorded.
+ */
+@Slf4j
+public class WorkloadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] SEARCH_TERMS = {"review", "report", "fix", "release", "client", "plan"};
+
+    private final String baseUrl;
+    private final SyntheticDataGenerator.Dataset dataset;
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // One access token per user, shared by all clients; LOGIN operations refresh it
+    private final Map<Integer, String> tokens = new ConcurrentHashMap<>();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public WorkloadDriver(String baseUrl, SyntheticDataGenerator.Dataset dataset, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<Operation, Integer> entry : settings.mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(sum);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix has no positive weight");
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public LatencyRecorder run() throws InterruptedException {
+        long measureFrom = System.nanoTime() + settings.warmup.toNanos();
+        long end = measureFrom + settings.duration.toNanos();
+        AtomicBoolean failedHard = new AtomicBoolean();
+
+        List<Thread> threads = new ArrayList<>(settings.clients);
+        List<LatencyRecorder> recorders = new ArrayList<>(settings.clients);
+        for (int i = 0; i < settings.clients; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            Random random = new Random(settings.seed + i);
+            recorders.add(recorder);
+            Thread thread = new Thread(() -> clientLoop(random, recorder, measureFrom, end, failedHard),
+                    "load-client-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyRecorder merged = new LatencyRecorder();
+        recorders.forEach(merged::merge);
+        return merged;
+    }
+
+    private void clientLoop(Random random, LatencyRecorder recorder, long measureFrom, long end,
+                            AtomicBoolean failedHard) {
+        while (System.nanoTime() < end && !failedHard.get()) {
+            int user = dataset.pickUser(random);
+            Operation operation = pickOperation(random);
+            try {
+                String token = tokens.get(user);
+                if (token == null || operation == Operation.LOGIN) {
+                    long started = System.nanoTime();
+                    HttpResponse<String> response = send(login(user));
+                    if (started >= measureFrom) {
+                        recorder.record(Operation.LOGIN, System.nanoTime() - started, response.statusCode());
+                    }
+                    if (response.statusCode() != 200) {
+                        log.error("Login failed for {} with status {}: {}", dataset.usernames().get(user),
+                                response.statusCode(), response.body());
+                        failedHard.set(true);
+                        return;
+                    }
+                    tokens.put(user, objectMapper.readTree(response.body()).path("accessToken").asText());
+                    if (operation == Operation.LOGIN) {
+                        continue;
+                    }
+                }
+
+                HttpRequest request = request(operation, user, tokens.get(user), random);
+                long started = System.nanoTime();
+                int status;
+                try {
+                    status = send(request).statusCode();
+                } catch (IOException ex) {
+                    status = -1;
+                }
+                if (started >= measureFrom) {
+                    recorder.record(operation, System.nanoTime() - started, status);
+                }
+            } catch (IOException ex) {
+                log.warn("Request failed: {}", ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, int user, String token, Random random) throws IOException {
+        long[] taskIds = dataset.taskIds().get(user);
+        // Users without tasks can only run the list-style operations
+        long taskId = taskIds.length > 0 ? taskIds[random.nextInt(taskIds.length)] : 0;
+        return switch (operation) {
+            case LIST -> get("/api/tasks", token);
+            case LIST_PAGINATED -> get("/api/tasks/paginated?page=" + random.nextInt(3) + "&size=20", token);
+            case GET_BY_ID -> taskId > 0 ? get("/api/tasks/" + taskId, token) : get("/api/tasks", token);
+            case BY_STATUS -> get("/api/tasks/status/" + randomOf(random, TaskStatusEnum.values()), token);
+            case BY_PRIORITY -> get("/api/tasks/priority/" + randomOf(random, TaskPriorityEnum.values()), token);
+            case SEARCH -> get("/api/tasks/search?title=" + randomOf(random, SEARCH_TERMS), token);
+            case OVERDUE -> get("/api/tasks/overdue", token);
+            case STATISTICS -> get("/api/tasks/statistics", token);
+            case PROFILE -> get("/api/users/profile", token);
+            case UPDATE -> taskId > 0 ? update(taskId, token, random) : get("/api/tasks", token);
+            case COMPLETE -> taskId > 0
+                    ? builder("/api/tasks/" + taskId + "/complete", token)
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build()
+                    : get("/api/tasks", token);
+            case LOGIN -> throw new IllegalStateException("LOGIN is handled by the client loop");
+        };
+    }
+
+    private HttpRequest login(int user) throws IOException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "usernameOrEmail", dataset.usernames().get(user),
+                "password", SyntheticDataGenerator.PASSWORD));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Only moves tasks between editable states, so updates keep succeeding over a long run
+    private HttpRequest update(long taskId, String token, Random random) throws IOException {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "title", "Updated task " + taskId,
+                "description", "Edited by the load test",
+                "status", random.nextBoolean() ? TaskStatusEnum.PENDING.name() : TaskStatusEnum.IN_PROGRESS.name(),
+                "priority", randomOf(random, TaskPriorityEnum.values()).name(),
+                "dueDate", LocalDate.now().plusDays(random.nextInt(30)).toString()));
+        return builder("/api/tasks/" + taskId, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Operation pickOperation(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static <T> T randomOf(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Builds the AOT-processed application and a class-data-sharing (CDS) archive from a training run.
+#
+# The training run starts the application with -Dspring.context.exit=onRefresh, which stops right
+# after the context refresh. All the classes loaded up to that point are dumped into
+# target/cds/application.jsa. CDS only archives classes loaded from plain jars, so the executable
+# jar is unpacked into target/cds first.
+#
+# Needs: JDK 17+, and the database from docker-compose (Hibernate connects during the refresh).
+# Usage: scripts/build-cds.sh   then   target/cds/run.sh [application args]
+set -euo pipefail
+
+CDS_DIR=target/cds
+
+./mvnw -q -Pfast-startup clean package -DskipTests
+JAR=$(ls target/*-exec.jar | head -n 1)
+
+rm -rf "$CDS_DIR"
+mkdir -p "$CDS_DIR/unpacked" "$CDS_DIR/lib"
+(cd "$CDS_DIR/unpacked" && jar xf "../../../$JAR")
+
+# Application classes as a jar, dependencies copied in BOOT-INF/classpath.idx order
+jar cf "$CDS_DIR/application.jar" -C "$CDS_DIR/unpacked/BOOT-INF/classes" .
+CLASSPATH=application.jar
+while read -r entry; do
+  lib=$(echo "$entry" | sed -E 's/^- "(.*)"$/\1/')
+  cp "$CDS_DIR/unpacked/$lib" "$CDS_DIR/lib/"
+  CLASSPATH="$CLASSPATH:lib/$(basename "$lib")"
+done < "$CDS_DIR/unpacked/BOOT-INF/classpath.idx"
+rm -rf "$CDS_DIR/unpacked"
+
+MAIN=com.testhahn.hahntestback.HahntestbackApplication
+
+echo "Training run..."
+(cd "$CDS_DIR" && java -XX:ArchiveClassesAtExit=application.jsa \
+  -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -cp "$CLASSPATH" "$MAIN" > training.log 2>&1)
+
+# Same classpath string at runtime, or the JVM refuses the archive
+cat > "$CDS_DIR/run.sh" <<RUN
+#!/usr/bin/env bash
+cd "\$(dirname "\$0")"
+exec java -XX:SharedArchiveFile=application.jsa -Xshare:auto -Dspring.aot.enabled=true \\
+  \${JAVA_OPTS:-} -cp "$CLASSPATH" $MAIN "\$@"
+RUN
+chmod +x "$CDS_DIR/run.sh"
+
+echo "CDS archive: $CDS_DIR/application.jsa ($(du -h "$CDS_DIR/application.jsa" | cut -f1))"
+echo "Start with: $CDS_DIR/run.sh"
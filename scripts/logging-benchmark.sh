@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Request latency with logging on and off, using the offline load-test harness (load-test/).
+# The application runs in-process against embedded H2, so no database needs to be running.
+# Every mode sees the same data and request sequence (the harness's fixed default seed).
+#
+# Modes:
+#   sync-debug     development settings: DEBUG + SQL echo, synchronous console
+#   async-json     prod profile: JSON through the async appender, INFO
+#   async-sampled  prod profile with app loggers at DEBUG (hot-path lines sampled 1 in 100)
+#   off            logging disabled, the lower bound
+#
+# Usage: scripts/logging-benchmark.sh [duration] [clients]
+set -euo pipefail
+
+DURATION=${1:-60s}
+CLIENTS=${2:-32}
+RESULTS_DIR=target/logging-benchmark
+mkdir -p "$RESULTS_DIR"
+
+./mvnw -q install -DskipTests
+(cd load-test && mvn -q package)
+JAR=load-test/target/load-test.jar
+
+run_mode() {
+  local mode=$1
+  shift
+  echo "== $mode =="
+  # App logs go to the file; only the result table is shown
+  java -jar "$JAR" --duration="$DURATION" --clients="$CLIENTS" --report="$RESULTS_DIR/$mode.json" "$@" \
+    > "$RESULTS_DIR/$mode.log" 2>&1
+  sed -n '/^Endpoint/,/^Total/p' "$RESULTS_DIR/$mode.log"
+  printf '%-14s %s\n' "$mode" "$(grep '^Total' "$RESULTS_DIR/$mode.log")" >> "$RESULTS_DIR/summary.txt"
+}
+
+rm -f "$RESULTS_DIR/summary.txt"
+
+run_mode sync-debug \
+  --logging.level.com.testhahn.hahntestback=DEBUG \
+  --logging.level.org.hibernate.SQL=DEBUG \
+  --spring.jpa.show-sql=true
+
+run_mode async-json --spring.profiles.active=prod
+
+run_mode async-sampled --spring.profiles.active=prod \
+  --logging.level.com.testhahn.hahntestback=DEBUG
+
+run_mode off \
+  --logging.level.root=OFF \
+  --logging.level.com.testhahn.hahntestback=OFF \
+  --logging.level.org.hibernate.SQL=OFF
+
+echo "== total requests and req/s per mode =="
+cat "$RESULTS_DIR/summary.txt"
+echo "JSON reports and full logs in $RESULTS_DIR"
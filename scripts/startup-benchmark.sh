@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Startup time and first-request latency of the plain jar vs AOT vs AOT + CDS (vs native, if built).
+#
+# Run scripts/build-cds.sh first; build the native executable with ./mvnw -Pnative native:compile
+# to include it. Needs curl and the database from docker-compose.
+# Usage: scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+BASE_URL=http://localhost:8080
+RESULTS_DIR=target/startup-benchmark
+mkdir -p "$RESULTS_DIR"
+
+JAR=$(ls target/*-exec.jar | head -n 1)
+[ -x target/cds/run.sh ] || { echo "Run scripts/build-cds.sh first" >&2; exit 1; }
+
+now_ms() { date +%s%3N; }
+
+login() {
+  curl -s -X POST "$BASE_URL/api/auth/register" -H 'Content-Type: application/json' \
+    -d '{"username":"startup_user","email":"startup@example.com","password":"startuppassword","firstName":"Startup","lastName":"User"}' > /dev/null || true
+  curl -s -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"usernameOrEmail":"startup_user","password":"startuppassword"}' \
+    | sed -E 's/.*"accessToken":"([^"]+)".*/\1/'
+}
+
+measure() {
+  local mode=$1
+  shift
+  local total_ready=0 total_first=0 total_second=0
+  for run in $(seq 1 "$RUNS"); do
+    local log="$RESULTS_DIR/$mode-$run.log" started pid ready token first second
+    started=$(now_ms)
+    "$@" --logging.level.com.testhahn.hahntestback=INFO --spring.jpa.show-sql=false > "$log" 2>&1 &
+    pid=$!
+    until curl -sf "$BASE_URL/api/health" > /dev/null; do
+      kill -0 "$pid" 2>/dev/null || { echo "$mode failed to start, see $log" >&2; exit 1; }
+      sleep 0.05
+    done
+    ready=$(( $(now_ms) - started ))
+
+    token=$(login)
+    first=$(curl -s -o /dev/null -w '%{time_total}' -H "Authorization: Bearer $token" "$BASE_URL/api/tasks")
+    second=$(curl -s -o /dev/null -w '%{time_total}' -H "Authorization: Bearer $token" "$BASE_URL/api/tasks")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    total_ready=$(( total_ready + ready ))
+    total_first=$(awk -v a="$total_first" -v b="$first" 'BEGIN { print a + b * 1000 }')
+    total_second=$(awk -v a="$total_second" -v b="$second" 'BEGIN { print a + b * 1000 }')
+  done
+  printf "%-10s ready %6d ms   first GET /api/tasks %8.1f ms   second %8.1f ms   (avg of %d, Spring: %s)\n" \
+    "$mode" $(( total_ready / RUNS )) \
+    "$(awk -v t="$total_first" -v n="$RUNS" 'BEGIN { print t / n }')" \
+    "$(awk -v t="$total_second" -v n="$RUNS" 'BEGIN { print t / n }')" \
+    "$RUNS" "$(grep -o 'Started .* in [0-9.]* seconds' "$RESULTS_DIR/$mode-$RUNS.log" | grep -o '[0-9.]* seconds')"
+}
+
+measure jar java -jar "$JAR"
+measure aot java -Dspring.aot.enabled=true -jar "$JAR"
+measure aot+cds target/cds/run.sh
+if [ -x target/hahntestback ]; then
+  measure native target/hahntestback
+fi
+
+echo "Logs in $RESULTS_DIR"
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request execution under 1k concurrent clients.
+#
+# Needs: a Java 21 JDK, wrk (https://github.com/wg/wrk), curl, and the database from docker-compose.
+# Usage: scripts/thread-mode-benchmark.sh [connections] [duration]
+set -euo pipefail
+
+CONNECTIONS=${1:-1000}
+DURATION=${2:-60s}
+THREADS=${WRK_THREADS:-8}
+BASE_URL=http://localhost:8080
+RESULTS_DIR=target/thread-mode-benchmark
+mkdir -p "$RESULTS_DIR"
+
+./mvnw -q -Pvirtual-threads clean package -DskipTests
+JAR=$(ls target/*-exec.jar | head -n 1)
+
+wait_for_app() {
+  for _ in $(seq 1 60); do
+    curl -sf "$BASE_URL/api/health" > /dev/null && return 0
+    sleep 1
+  done
+  echo "Application did not start" >&2
+  return 1
+}
+
+get_token() {
+  curl -s -X POST "$BASE_URL/api/auth/register" -H 'Content-Type: application/json' \
+    -d '{"username":"bench_user","email":"bench@example.com","password":"benchpassword","firstName":"Bench","lastName":"User"}' > /dev/null || true
+  curl -s -X POST "$BASE_URL/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"usernameOrEmail":"bench_user","password":"benchpassword"}' \
+    | sed -E 's/.*"accessToken":"([^"]+)".*/\1/'
+}
+
+run_mode() {
+  local mode=$1 virtual=$2
+  echo "== $mode threads =="
+  # Every connection shares one token; measure request handling, not the rate limiter's 429s
+  java -jar "$JAR" \
+    --spring.threads.virtual.enabled="$virtual" \
+    --app.datasource.bulkhead.enabled="$virtual" \
+    --app.rate-limit.enabled=false \
+    --logging.level.com.testhahn.hahntestback=INFO \
+    --logging.level.org.hibernate.SQL=WARN \
+    --spring.jpa.show-sql=false > "$RESULTS_DIR/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  wait_for_app
+
+  local token
+  token=$(get_token)
+  for endpoint in /api/tasks /api/tasks/statistics; do
+    echo "-- $endpoint"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency \
+      -H "Authorization: Bearer $token" "$BASE_URL$endpoint" \
+      | tee "$RESULTS_DIR/$mode$(echo "$endpoint" | tr '/' '_').txt" \
+      | grep -E 'Requests/sec|99%|Non-2xx|Socket errors' || true
+  done
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "Full wrk output in $RESULTS_DIR"
@@ -0,0 +1,30 @@
+package com.testhahn.hahntestback.analytics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Slf4j
+@Configuration
+@EnableScheduling
+public class AnalyticsConfig {
+
+    @Bean
+    public RollupsEndpoint rollupsEndpoint(RollupBackfill backfill, OverdueSnapshotJob overdueSnapshotJob) {
+        return new RollupsEndpoint(backfill, overdueSnapshotJob);
+    }
+
+    // First start with rollups: seed them from the existing tasks. Runners finish before readiness
+    @Bean
+    public ApplicationRunner rollupBackfillRunner(RollupBackfill backfill,
+                                                  @Value("${app.analytics.backfill-on-startup:true}") boolean enabled) {
+        return args -> {
+            if (enabled && !backfill.initialBackfill()) {
+                log.debug("Initial rollup backfill already done");
+            }
+        };
+    }
+}
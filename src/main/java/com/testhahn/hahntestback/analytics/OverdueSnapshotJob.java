@@ -0,0 +1,67 @@
+package com.testhahn.hahntestback.analytics;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Overdue is a state, not an event: once a day, shortly before midnight, the number of open
+ * overdue tasks of every user is written to that day's rollup. Idempotent, so running it on
+ * several instances (or twice) is harmless. Sharded, each shard's users are counted and written
+ * on that shard, one transaction per shard.
+ */
+@Slf4j
+@Component
+public class OverdueSnapshotJob {
+
+    private final TaskRepository taskRepository;
+    private final TaskDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Collection<String> shards;
+
+    public OverdueSnapshotJob(TaskRepository taskRepository, TaskDailyRollupRepository rollupRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource) {
+        this.taskRepository = taskRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        this.shards = sharded != null ? sharded.getShards().keySet() : Set.of("default");
+    }
+
+    @Scheduled(cron = "${app.analytics.overdue-snapshot-cron:0 55 23 * * *}")
+    public void snapshot() {
+        LocalDate today = LocalDate.now();
+        int users = 0;
+        for (String shard : shards) {
+            Integer shardUsers = ShardContext.callOnShard(shard,
+                    () -> transactionTemplate.execute(status -> snapshot(today)));
+            users += shardUsers != null ? shardUsers : 0;
+        }
+        log.info("Recorded overdue snapshot for {} users on {}", users, today);
+    }
+
+    private int snapshot(LocalDate today) {
+        List<Object[]> overdue = taskRepository.countOverduePerUser(today,
+                List.of(TaskStatusEnum.PENDING, TaskStatusEnum.IN_PROGRESS));
+        for (Object[] row : overdue) {
+            Long userId = (Long) row[0];
+            rollupRepository.insertIfAbsent(userId, today);
+            rollupRepository.setOverdue(userId, today, ((Number) row[1]).longValue());
+        }
+        return overdue.size();
+    }
+}
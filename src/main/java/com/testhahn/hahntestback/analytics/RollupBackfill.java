@@ -0,0 +1,207 @@
+package com.testhahn.hahntestback.analytics;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recomputes the created/completed counters of a date range from the tasks table, one
+ * transaction per chunk of days. Used to seed the rollups on first deployment and to repair
+ * them; rerunning a range gives the same result.
+ *
+ * Live updates for the days being rebuilt may be counted twice or not at all, so run it over
+ * past days, or at a quiet time when today is included. The first-start seed avoids this by
+ * running once, before any instance with rollups serves traffic (initialBackfill).
+ *
+ * Sharded, rollups live on the shard of their user: every shard is rebuilt from its own tasks,
+ * and the first-start seed is tracked and locked per shard.
+ */
+@Slf4j
+@Component
+public class RollupBackfill {
+
+    private static final int CHUNK_DAYS = 31;
+    private static final String INITIAL = "initial";
+    private static final String LOCK_SQL = "select completed_at from task_rollup_backfill where name = ? for update";
+
+    private final TaskRepository taskRepository;
+    private final TaskDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final Collection<String> shards;
+
+    public RollupBackfill(TaskRepository taskRepository, TaskDailyRollupRepository rollupRepository,
+                          PlatformTransactionManager transactionManager, DataSource dataSource,
+                          ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource) {
+        this.taskRepository = taskRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSource = dataSource;
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        this.shards = sharded != null ? sharded.getShards().keySet() : Set.of("default");
+    }
+
+    /**
+     * Seeds empty rollups from the tasks table, once across all instances, while this instance is
+     * not ready yet. It holds the shard's task_rollup_backfill row locked on a connection of its own,
+     * so instances starting meanwhile wait (and stay unready) instead of incrementing rollups that are
+     * being rebuilt, and then find it done. Shards are seeded one after the other. Returns false when
+     * every shard had already been seeded.
+     */
+    public boolean initialBackfill() {
+        boolean backfilled = false;
+        for (String shard : shards) {
+            backfilled |= ShardContext.callOnShard(shard, () -> {
+                try {
+                    return initialBackfillOfShard();
+                } catch (SQLException ex) {
+                    throw new DataAccessResourceFailureException("Initial rollup backfill of shard " + shard
+                            + " failed: " + ex.getMessage(), ex);
+                }
+            });
+        }
+        return backfilled;
+    }
+
+    // Whole history, up to today
+    public Result backfillAll() {
+        return backfill(null, LocalDate.now());
+    }
+
+    // from null: each shard from its earliest task
+    public Result backfill(LocalDate from, LocalDate to) {
+        long started = System.nanoTime();
+        LocalDate earliest = to;
+        long rows = 0;
+        for (String shard : shards) {
+            Result result = ShardContext.callOnShard(shard, () -> backfillShard(from, to));
+            earliest = result.from().isBefore(earliest) ? result.from() : earliest;
+            rows += result.userDays();
+        }
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        return new Result(from != null ? from : earliest, to, rows, millis);
+    }
+
+    // Runs routed to one shard: the lock, the state row and the rollups are all that shard's
+    private boolean initialBackfillOfShard() throws SQLException {
+        createStateRow();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement lock = connection.prepareStatement(LOCK_SQL)) {
+                    lock.setString(1, INITIAL);
+                    try (ResultSet row = lock.executeQuery()) {
+                        if (!row.next() || row.getTimestamp(1) != null) {
+                            return false;
+                        }
+                    }
+                }
+                // Rollups kept since before the state row existed are not rebuilt
+                if (rollupRepository.count() == 0) {
+                    log.info("Task rollups of shard {} are empty, backfilling from the tasks table",
+                            ShardContext.currentShard());
+                    backfillShard(null, LocalDate.now());
+                }
+                try (PreparedStatement done = connection.prepareStatement(
+                        "update task_rollup_backfill set completed_at = ? where name = ?")) {
+                    done.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                    done.setString(2, INITIAL);
+                    done.executeUpdate();
+                }
+                connection.commit();
+                return true;
+            } finally {
+                // No-op after the commit; otherwise releases the lock
+                connection.rollback();
+            }
+        }
+    }
+
+    private Result backfillShard(LocalDate requestedFrom, LocalDate to) {
+        long started = System.nanoTime();
+        LocalDate from = requestedFrom != null ? requestedFrom
+                : taskRepository.findEarliestCreatedAt().map(LocalDateTime::toLocalDate).orElse(to);
+        Integer estimated = transactionTemplate.execute(status ->
+                taskRepository.fillMissingCompletedAt(TaskStatusEnum.COMPLETED));
+        if (estimated != null && estimated > 0) {
+            log.info("Backfill: set completed_at from updated_at on {} completed tasks", estimated);
+        }
+
+        long rows = 0;
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(CHUNK_DAYS)) {
+            LocalDate chunkEnd = chunkStart.plusDays(CHUNK_DAYS - 1).isAfter(to) ? to : chunkStart.plusDays(CHUNK_DAYS - 1);
+            LocalDate start = chunkStart;
+            Long chunkRows = transactionTemplate.execute(status -> rebuild(start, chunkEnd));
+            rows += chunkRows != null ? chunkRows : 0;
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Backfilled task rollups of shard {} from {} to {}: {} user-days in {} ms",
+                ShardContext.currentShard(), from, to, rows, millis);
+        return new Result(from, to, rows, millis);
+    }
+
+    // Inserted by the first instance to start; another inserting it at the same time gets a duplicate key
+    private void createStateRow() {
+        try {
+            new JdbcTemplate(dataSource).update("insert into task_rollup_backfill (name) select ? where not exists "
+                    + "(select 1 from task_rollup_backfill where name = ?)", INITIAL, INITIAL);
+        } catch (DuplicateKeyException ex) {
+            log.debug("Rollup backfill state row created by another instance");
+        }
+    }
+
+    private long rebuild(LocalDate from, LocalDate to) {
+        rollupRepository.resetActivity(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        List<Object[]> created = taskRepository.countCreatedPerUserAndDay(start, end);
+        for (Object[] row : created) {
+            Long userId = (Long) row[0];
+            LocalDate date = toLocalDate(row[1]);
+            rollupRepository.insertIfAbsent(userId, date);
+            rollupRepository.increment(userId, date, ((Number) row[2]).longValue(), 0, 0);
+        }
+
+        List<Object[]> completed = taskRepository.countCompletedPerUserAndDay(start, end);
+        for (Object[] row : completed) {
+            Long userId = (Long) row[0];
+            LocalDate date = toLocalDate(row[1]);
+            long seconds = row[3] != null ? ((Number) row[3]).longValue() : 0;
+            rollupRepository.insertIfAbsent(userId, date);
+            rollupRepository.increment(userId, date, 0, ((Number) row[2]).longValue(), seconds);
+        }
+        return created.size() + completed.size();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    public record Result(LocalDate from, LocalDate to, long userDays, long durationMillis) {
+    }
+}
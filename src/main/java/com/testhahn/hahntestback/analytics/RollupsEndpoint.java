@@ -0,0 +1,38 @@
+package com.testhahn.hahntestback.analytics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.time.LocalDate;
+
+/**
+ * Rebuilds task rollups: POST /actuator/rollups/2025-01-01/2025-12-31 for a date range, or
+ * POST /actuator/rollups for the whole history. Expose it with
+ * management.endpoints.web.exposure.include.
+ */
+@Endpoint(id = "rollups")
+public class RollupsEndpoint {
+
+    private final RollupBackfill backfill;
+    private final OverdueSnapshotJob overdueSnapshotJob;
+
+    public RollupsEndpoint(RollupBackfill backfill, OverdueSnapshotJob overdueSnapshotJob) {
+        this.backfill = backfill;
+        this.overdueSnapshotJob = overdueSnapshotJob;
+    }
+
+    @WriteOperation
+    public RollupBackfill.Result backfillAll() {
+        RollupBackfill.Result result = backfill.backfillAll();
+        overdueSnapshotJob.snapshot();
+        return result;
+    }
+
+    @WriteOperation
+    public RollupBackfill.Result backfill(@Selector LocalDate from, @Selector LocalDate to) {
+        RollupBackfill.Result result = backfill.backfill(from, to);
+        overdueSnapshotJob.snapshot();
+        return result;
+    }
+}
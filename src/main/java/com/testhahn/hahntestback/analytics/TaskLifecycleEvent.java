@@ -0,0 +1,42 @@
+package com.testhahn.hahntestback.analytics;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Published by the task services inside the transaction that changed the task, so listeners
+ * running in that transaction commit or roll back together with the change.
+ *
+ * completedAt is the completion time for COMPLETED, and the completion being undone for REOPENED.
+ */
+public record TaskLifecycleEvent(
+        Type type,
+        Long taskId,
+        Long userId,
+        TaskStatusEnum status,
+        TaskPriorityEnum priority,
+        Set<String> tags,
+        LocalDate dueDate,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        LocalDateTime occurredAt
+) {
+
+    public static TaskLifecycleEvent of(Type type, Task task, Long userId, LocalDateTime completedAt) {
+        return new TaskLifecycleEvent(type, task.getId(), userId, task.getStatus(), task.getPriority(), task.getTags(),
+                task.getDueDate(), task.getCreatedAt(), completedAt, LocalDateTime.now());
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        COMPLETED,
+        REOPENED,
+        DELETED
+    }
+}
@@ -0,0 +1,49 @@
+package com.testhahn.hahntestback.analytics;
+
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Keeps task_daily_rollups current from task lifecycle events. Runs synchronously in the
+ * transaction of the task change: the counters commit or roll back with it, and no second
+ * connection is needed.
+ *
+ * Deleting a task does not rewrite history: it still counts as created (and completed) that day.
+ */
+@Slf4j
+@Component
+public class TaskRollupUpdater {
+
+    private final TaskDailyRollupRepository rollupRepository;
+
+    public TaskRollupUpdater(TaskDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(event.userId(), event.createdAt().toLocalDate(), 1, 0, 0);
+            case COMPLETED -> add(event.userId(), event.completedAt().toLocalDate(), 0, 1, completionSeconds(event));
+            case REOPENED -> add(event.userId(), event.completedAt().toLocalDate(), 0, -1, -completionSeconds(event));
+            default -> {
+                // UPDATED and DELETED don't change the counters
+            }
+        }
+    }
+
+    private void add(Long userId, LocalDate date, long created, long completed, long seconds) {
+        rollupRepository.insertIfAbsent(userId, date);
+        rollupRepository.increment(userId, date, created, completed, seconds);
+        log.debug("Rollup {} of user {}: created {}, completed {}", date, userId, created, completed);
+    }
+
+    private static long completionSeconds(TaskLifecycleEvent event) {
+        return Math.max(0, Duration.between(event.createdAt(), event.completedAt()).toSeconds());
+    }
+}
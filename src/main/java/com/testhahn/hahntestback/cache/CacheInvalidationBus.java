@@ -0,0 +1,219 @@
+package com.testhahn.hahntestback.cache;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps in-process caches coherent across instances. A committed change announces
+ * (userId, entity, version); announcements are coalesced per (userId, entity) and sent every
+ * flush interval in batches, one packet per 64. Peers hand them to every InvalidationListener.
+ *
+ * The bus is healthy while every expected peer was heard from (changes or heartbeats) within
+ * peer-timeout and sending works. Otherwise maxAge() shortens cache lifetimes to fallback-ttl,
+ * so missed invalidations can only leave a cache briefly stale.
+ */
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final InvalidationTransport transport;
+    private final Supplier<List<InvalidationListener>> listeners;
+    private final Settings settings;
+
+    private final Map<Key, Long> outgoing = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> peersLastSeenNanos = new ConcurrentHashMap<>();
+    private final Counter announced;
+    private final Counter sent;
+    private final Counter received;
+    private final Counter sendFailures;
+    private final Timer lag;
+
+    private List<InvalidationListener> resolvedListeners = List.of();
+    private ScheduledExecutorService flusher;
+    private volatile long lastSentNanos;
+    private volatile boolean sendFailing;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(InvalidationTransport transport, Supplier<List<InvalidationListener>> listeners,
+                                MeterRegistry meterRegistry, Settings settings) {
+        this.transport = transport;
+        this.listeners = listeners;
+        this.settings = settings;
+        this.announced = Counter.builder("cache.invalidation.announced")
+                .description("Local changes announced, before coalescing")
+                .register(meterRegistry);
+        this.sent = Counter.builder("cache.invalidation.sent")
+                .description("Invalidations sent to peers, after coalescing")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+                .description("Invalidations received from peers")
+                .register(meterRegistry);
+        this.sendFailures = Counter.builder("cache.invalidation.send.failures")
+                .register(meterRegistry);
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from a change being announced to a peer applying it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.healthy", this, bus -> bus.isHealthy() ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.peers", this, CacheInvalidationBus::livePeers)
+                .description("Peers heard from within peer-timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        resolvedListeners = List.copyOf(listeners.get());
+        try {
+            transport.start(this::receive);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cache invalidation bus could not start", ex);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-bus-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = settings.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Cache invalidation bus started as node {} with {} listeners, expecting {} peers",
+                nodeId, resolvedListeners.size(), transport.peerCount());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        transport.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Other instances drop their cached task data of this user once the change is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        announce(event.userId(), Invalidation.Entity.TASKS);
+    }
+
+    public void announce(Long userId, Invalidation.Entity entity) {
+        announced.increment();
+        outgoing.merge(new Key(userId, entity), System.currentTimeMillis(), Math::max);
+    }
+
+    public boolean isHealthy() {
+        return !sendFailing && livePeers() >= transport.peerCount();
+    }
+
+    // How long a cache entry may be trusted: as configured while healthy, fallback-ttl otherwise
+    public Duration maxAge(Duration whenHealthy) {
+        return isHealthy() || whenHealthy.compareTo(settings.fallbackTtl()) <= 0 ? whenHealthy : settings.fallbackTtl();
+    }
+
+    UUID getNodeId() {
+        return nodeId;
+    }
+
+    void flush() {
+        List<Invalidation> batch = new ArrayList<>();
+        for (Key key : outgoing.keySet()) {
+            // Announced again after this: stays queued for the next flush
+            Long version = outgoing.remove(key);
+            if (version != null) {
+                batch.add(new Invalidation(key.userId(), key.entity(), version));
+            }
+        }
+
+        if (batch.isEmpty()) {
+            if (System.nanoTime() - lastSentNanos >= settings.heartbeatInterval().toNanos()) {
+                send(List.of());
+            }
+            return;
+        }
+        for (int from = 0; from < batch.size(); from += InvalidationPacket.MAX_INVALIDATIONS) {
+            List<Invalidation> chunk = batch.subList(from, Math.min(from + InvalidationPacket.MAX_INVALIDATIONS, batch.size()));
+            if (send(chunk)) {
+                sent.increment(chunk.size());
+            } else {
+                // Requeued; peers also fall back to short TTLs once they stop hearing from us
+                chunk.forEach(invalidation -> outgoing.merge(new Key(invalidation.userId(), invalidation.entity()),
+                        invalidation.version(), Math::max));
+            }
+        }
+    }
+
+    void receive(byte[] bytes) {
+        InvalidationPacket packet = InvalidationPacket.decode(bytes);
+        if (packet == null || packet.nodeId().equals(nodeId)) {
+            return;
+        }
+        peersLastSeenNanos.put(packet.nodeId(), System.nanoTime());
+
+        long now = System.currentTimeMillis();
+        for (Invalidation invalidation : packet.invalidations()) {
+            received.increment();
+            lag.record(Math.max(0, now - invalidation.version()), TimeUnit.MILLISECONDS);
+            for (InvalidationListener listener : resolvedListeners) {
+                try {
+                    listener.onInvalidation(invalidation);
+                } catch (RuntimeException ex) {
+                    log.error("Invalidation listener {} failed: {}", listener.getClass().getSimpleName(),
+                            ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    private boolean send(List<Invalidation> invalidations) {
+        try {
+            transport.send(new InvalidationPacket(nodeId, invalidations).encode());
+            lastSentNanos = System.nanoTime();
+            sendFailing = false;
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            if (!sendFailing) {
+                log.warn("Cache invalidation bus cannot send, falling back to short TTLs: {}", ex.getMessage());
+            }
+            sendFailing = true;
+            sendFailures.increment();
+            return false;
+        }
+    }
+
+    private int livePeers() {
+        long cutoff = System.nanoTime() - settings.peerTimeout().toNanos();
+        peersLastSeenNanos.values().removeIf(seen -> seen < cutoff);
+        return peersLastSeenNanos.size();
+    }
+
+    private record Key(Long userId, Invalidation.Entity entity) {
+    }
+
+    public record Settings(Duration flushInterval, Duration heartbeatInterval, Duration peerTimeout,
+                           Duration fallbackTtl) {
+    }
+}
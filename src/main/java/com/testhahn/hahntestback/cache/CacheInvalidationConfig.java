@@ -0,0 +1,47 @@
+package com.testhahn.hahntestback.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache-bus", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfig {
+
+    // peers: other instances as host:port, e.g. 10.0.0.2:7600,10.0.0.3:7600
+    @Bean
+    @ConditionalOnMissingBean
+    public InvalidationTransport invalidationTransport(@Value("${app.cache-bus.port:7600}") int port,
+                                                       @Value("${app.cache-bus.peers:}") List<String> peers) {
+        List<InetSocketAddress> addresses = peers.stream()
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> {
+                    int colon = peer.lastIndexOf(':');
+                    return new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1)));
+                })
+                .toList();
+        return new UdpInvalidationTransport(new InetSocketAddress(port), addresses);
+    }
+
+    // Listeners are resolved on start, so caches can depend on the bus themselves
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(InvalidationTransport invalidationTransport,
+                                                     ObjectProvider<InvalidationListener> listeners,
+                                                     MeterRegistry meterRegistry,
+                                                     @Value("${app.cache-bus.flush-interval:50ms}") Duration flushInterval,
+                                                     @Value("${app.cache-bus.heartbeat-interval:1s}") Duration heartbeatInterval,
+                                                     @Value("${app.cache-bus.peer-timeout:5s}") Duration peerTimeout,
+                                                     @Value("${app.cache-bus.fallback-ttl:5s}") Duration fallbackTtl) {
+        return new CacheInvalidationBus(invalidationTransport, () -> listeners.orderedStream().toList(), meterRegistry,
+                new CacheInvalidationBus.Settings(flushInterval, heartbeatInterval, peerTimeout, fallbackTtl));
+    }
+}
@@ -0,0 +1,15 @@
+package com.testhahn.hahntestback.cache;
+
+/**
+ * "The cached `entity` data of this user changed". version is the epoch millis at which the change
+ * was announced: newer versions replace older ones while queued, and peers measure delivery lag
+ * from it (clocks are assumed NTP-synced).
+ */
+public record Invalidation(Long userId, Entity entity, long version) {
+
+    // Wire code is the ordinal: append new entities, never reorder. Only task data is cached per
+    // instance today; the shard directory needs none, as sharding runs on a single instance
+    public enum Entity {
+        TASKS
+    }
+}
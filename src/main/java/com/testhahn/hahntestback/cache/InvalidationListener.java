@@ -0,0 +1,6 @@
+package com.testhahn.hahntestback.cache;
+
+// Implemented by in-process caches that must drop entries changed through another instance
+public interface InvalidationListener {
+    void onInvalidation(Invalidation invalidation);
+}
@@ -0,0 +1,62 @@
+package com.testhahn.hahntestback.cache;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wire format of the invalidation bus: magic, sender node id, then up to MAX_INVALIDATIONS
+ * entries of (userId, entity, version). 17 bytes per entry keeps a full packet under 1,200 bytes,
+ * so it fits one unfragmented UDP datagram. A packet without entries is a heartbeat.
+ */
+record InvalidationPacket(UUID nodeId, List<Invalidation> invalidations) {
+
+    static final int MAX_INVALIDATIONS = 64;
+    private static final int MAGIC = 0x43494E31; // "CIN1"
+    private static final int HEADER_BYTES = 4 + 16 + 2;
+    private static final int ENTRY_BYTES = 8 + 1 + 8;
+
+    byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + invalidations.size() * ENTRY_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putLong(nodeId.getMostSignificantBits());
+        buffer.putLong(nodeId.getLeastSignificantBits());
+        buffer.putShort((short) invalidations.size());
+        for (Invalidation invalidation : invalidations) {
+            buffer.putLong(invalidation.userId());
+            buffer.put((byte) invalidation.entity().ordinal());
+            buffer.putLong(invalidation.version());
+        }
+        return buffer.array();
+    }
+
+    // Null for anything that isn't a well-formed packet (stray datagrams on the port)
+    static InvalidationPacket decode(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            UUID nodeId = new UUID(buffer.getLong(), buffer.getLong());
+            int count = buffer.getShort();
+            if (count < 0 || count > MAX_INVALIDATIONS || buffer.remaining() != count * ENTRY_BYTES) {
+                return null;
+            }
+            Invalidation.Entity[] entities = Invalidation.Entity.values();
+            List<Invalidation> invalidations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long userId = buffer.getLong();
+                int entity = buffer.get();
+                long version = buffer.getLong();
+                if (entity >= 0 && entity < entities.length) {
+                    invalidations.add(new Invalidation(userId, entities[entity], version));
+                }
+            }
+            return new InvalidationPacket(nodeId, invalidations);
+        } catch (BufferUnderflowException ex) {
+            return null;
+        }
+    }
+}
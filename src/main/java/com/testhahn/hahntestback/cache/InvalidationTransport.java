@@ -0,0 +1,22 @@
+package com.testhahn.hahntestback.cache;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries CacheInvalidationBus packets between instances. Delivery is best effort: a lost packet
+ * is covered by the short TTLs the bus falls back to when peers go quiet.
+ */
+public interface InvalidationTransport {
+
+    // Starts receiving; packets are handed to the receiver on the transport's own thread
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    // Sends one packet to every peer
+    void send(byte[] packet) throws IOException;
+
+    // Number of other instances this one expects to hear from
+    int peerCount();
+
+    void close();
+}
@@ -0,0 +1,54 @@
+package com.testhahn.hahntestback.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-serialized JSON of individual tasks. A task's bytes only change when the task is
+ * updated (updatedAt moves) or when it becomes overdue as the date rolls over, so both are
+ * part of the key; TaskResponse.overdue is computed per request, which means a new day simply
+ * misses the cache instead of serving yesterday's flag.
+ */
+public class TaskFragmentCache {
+
+    private final Cache<FragmentKey, byte[]> fragments;
+    private final ObjectWriter writer;
+
+    public TaskFragmentCache(ObjectMapper objectMapper, long maxEntries) {
+        this.writer = objectMapper.writerFor(TaskResponse.class);
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    public byte[] fragment(TaskResponse task) {
+        // Not persisted yet (or built by hand): nothing stable to key on
+        if (task.getId() == null || task.getUpdatedAt() == null) {
+            return serialize(task);
+        }
+        return fragments.get(new FragmentKey(task.getId(), task.getUpdatedAt(), task.isOverdue()), key -> serialize(task));
+    }
+
+    public Cache<FragmentKey, byte[]> getFragments() {
+        return fragments;
+    }
+
+    private byte[] serialize(TaskResponse task) {
+        try {
+            return writer.writeValueAsBytes(task);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public record FragmentKey(Long taskId, LocalDateTime updatedAt, boolean overdue) {
+    }
+}
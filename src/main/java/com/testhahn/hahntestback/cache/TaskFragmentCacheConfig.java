@@ -0,0 +1,32 @@
+package com.testhahn.hahntestback.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.task-fragment-cache", name = "enabled", havingValue = "true")
+public class TaskFragmentCacheConfig {
+
+    // Same ObjectMapper as the JSON converter, so cached bytes match uncached output
+    @Bean
+    public TaskFragmentCache taskFragmentCache(ObjectMapper objectMapper,
+                                               @Value("${app.task-fragment-cache.max-entries:50000}") long maxEntries,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        TaskFragmentCache cache = new TaskFragmentCache(objectMapper, maxEntries);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache.getFragments(), "task.fragments"));
+        return cache;
+    }
+
+    // Boot puts extra converter beans ahead of the defaults, so this runs before Jackson
+    @Bean
+    public TaskListJsonHttpMessageConverter taskListJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                             TaskFragmentCache taskFragmentCache) {
+        return new TaskListJsonHttpMessageConverter(objectMapper, taskFragmentCache);
+    }
+}
@@ -0,0 +1,75 @@
+package com.testhahn.hahntestback.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes List&lt;TaskResponse&gt; JSON by concatenating cached per-task fragments, so unchanged
+ * tasks skip Jackson entirely. Output is byte-for-byte what the Jackson converter produces.
+ * Only handles writing that exact type as JSON; everything else, reading included, falls
+ * through to the regular converters.
+ *
+ * Extends the abstract Jackson base (not MappingJackson2HttpMessageConverter, which Boot would
+ * treat as a replacement of the default one) for its read side, which is never selected.
+ */
+public class TaskListJsonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private final TaskFragmentCache fragmentCache;
+
+    public TaskListJsonHttpMessageConverter(ObjectMapper objectMapper, TaskFragmentCache fragmentCache) {
+        super(objectMapper, MediaType.APPLICATION_JSON);
+        this.fragmentCache = fragmentCache;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    // Needs the declared element type, which the raw-class variant does not carry
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return type != null && isTaskResponseList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        body.write('[');
+        boolean first = true;
+        for (Object task : (List<?>) value) {
+            if (!first) {
+                body.write(',');
+            }
+            body.write(task == null ? "null".getBytes() : fragmentCache.fragment((TaskResponse) task));
+            first = false;
+        }
+        body.write(']');
+        body.flush();
+    }
+
+    private static boolean isTaskResponseList(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.asCollection().resolveGeneric(0) == TaskResponse.class;
+    }
+}
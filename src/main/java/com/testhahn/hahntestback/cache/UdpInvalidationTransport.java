@@ -0,0 +1,95 @@
+package com.testhahn.hahntestback.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Unicast UDP to a fixed list of peers (host:port). Several instances on one machine just use
+ * different ports. No acknowledgements or retries: the bus tolerates loss.
+ */
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final int MAX_DATAGRAM = 65_507;
+
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+    private volatile DatagramChannel channel;
+
+    public UdpInvalidationTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers) {
+        this.bindAddress = bindAddress;
+        this.peers = List.copyOf(peers);
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) throws IOException {
+        DatagramChannel opened = DatagramChannel.open().bind(bindAddress);
+        channel = opened;
+        Thread thread = new Thread(() -> receiveLoop(opened, receiver), "cache-bus-receiver");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Cache invalidation bus listening on UDP {}, peers: {}", opened.getLocalAddress(), peers);
+    }
+
+    @Override
+    public void send(byte[] packet) throws IOException {
+        DatagramChannel current = channel;
+        if (current == null) {
+            throw new IOException("Transport not started");
+        }
+        for (InetSocketAddress peer : peers) {
+            current.send(ByteBuffer.wrap(packet), peer);
+        }
+    }
+
+    @Override
+    public int peerCount() {
+        return peers.size();
+    }
+
+    @Override
+    public void close() {
+        DatagramChannel current = channel;
+        channel = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ex) {
+                log.warn("Closing the cache bus socket failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // Bound port, e.g. when started on port 0
+    public int getLocalPort() throws IOException {
+        DatagramChannel current = channel;
+        return current != null ? ((InetSocketAddress) current.getLocalAddress()).getPort() : bindAddress.getPort();
+    }
+
+    private void receiveLoop(DatagramChannel opened, Consumer<byte[]> receiver) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+        while (opened.isOpen()) {
+            try {
+                buffer.clear();
+                SocketAddress sender = opened.receive(buffer);
+                if (sender != null) {
+                    buffer.flip();
+                    receiver.accept(Arrays.copyOf(buffer.array(), buffer.limit()));
+                }
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Cache bus receive failed: {}", ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.testhahn.hahntestback.coalescing;
+
+import com.testhahn.hahntestback.service.RecurringTaskService;
+import com.testhahn.hahntestback.service.RecurringTaskServiceImpl;
+import com.testhahn.hahntestback.service.TaskServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-coalescing", name = "enabled", havingValue = "true")
+public class CoalescingConfig {
+
+    // Wraps the transactional proxy, so each shared execution is one read-only transaction
+    @Bean
+    @Primary
+    public CoalescingTaskService coalescingTaskService(TaskServiceImpl taskServiceImpl, MeterRegistry meterRegistry) {
+        return new CoalescingTaskService(taskServiceImpl, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public RecurringTaskService coalescingRecurringTaskService(RecurringTaskServiceImpl recurringTaskServiceImpl,
+                                                               CoalescingTaskService coalescingTaskService) {
+        return new CoalescingRecurringTaskService(recurringTaskServiceImpl, coalescingTaskService);
+    }
+}
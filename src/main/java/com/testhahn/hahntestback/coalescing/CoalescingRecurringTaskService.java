@@ -0,0 +1,83 @@
+package com.testhahn.hahntestback.coalescing;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.service.RecurringTaskService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Series writes change the virtual occurrences in a user's task lists without going through
+ * TaskService, so this detaches the user's in-flight coalesced reads once each write returns
+ * (committed), the same way CoalescingTaskService does for task writes.
+ */
+public class CoalescingRecurringTaskService implements RecurringTaskService {
+
+    private final RecurringTaskService delegate;
+    private final CoalescingTaskService coalescingTaskService;
+
+    public CoalescingRecurringTaskService(RecurringTaskService delegate, CoalescingTaskService coalescingTaskService) {
+        this.delegate = delegate;
+        this.coalescingTaskService = coalescingTaskService;
+    }
+
+    @Override
+    public TaskSeries createRecurringTask(String title, String description, TaskPriorityEnum priority,
+                                          RecurrenceFrequencyEnum frequency, int interval, LocalDate startDate,
+                                          LocalDate untilDate, User currentUser) {
+        try {
+            return delegate.createRecurringTask(title, description, priority, frequency, interval, startDate,
+                    untilDate, currentUser);
+        } finally {
+            coalescingTaskService.forget(currentUser.getId());
+        }
+    }
+
+    @Override
+    public List<TaskSeries> getRecurringTasks(Long userId) {
+        return delegate.getRecurringTasks(userId);
+    }
+
+    @Override
+    public void deleteRecurringTask(Long seriesId, Long userId) {
+        try {
+            delegate.deleteRecurringTask(seriesId, userId);
+        } finally {
+            coalescingTaskService.forget(userId);
+        }
+    }
+
+    @Override
+    public Task completeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        try {
+            return delegate.completeOccurrence(seriesId, occurrenceDate, userId);
+        } finally {
+            coalescingTaskService.forget(userId);
+        }
+    }
+
+    @Override
+    public Task updateOccurrence(Long seriesId, LocalDate occurrenceDate, String title, String description,
+                                 TaskStatusEnum status, TaskPriorityEnum priority, LocalDate dueDate, Long userId) {
+        try {
+            return delegate.updateOccurrence(seriesId, occurrenceDate, title, description, status, priority,
+                    dueDate, userId);
+        } finally {
+            coalescingTaskService.forget(userId);
+        }
+    }
+
+    @Override
+    public void skipOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        try {
+            delegate.skipOccurrence(seriesId, occurrenceDate, userId);
+        } finally {
+            coalescingTaskService.forget(userId);
+        }
+    }
+}
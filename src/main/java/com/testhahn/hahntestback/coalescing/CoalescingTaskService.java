@@ -0,0 +1,233 @@
+package com.testhahn.hahntestback.coalescing;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.service.TaskService;
+import com.testhahn.hahntestback.tagging.TaskFilter;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskFilterResult;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskProgress;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * TaskService decorator that coalesces identical concurrent reads: calls with the same user,
+ * method and arguments that overlap in time share one execution of the delegate.
+ *
+ * - reads are only coalesced outside a transaction, where the caller can't have uncommitted
+ *   writes of its own to see
+ * - a write by a user detaches that user's in-flight reads, so a read started after the write
+ *   returned never gets a result computed before it
+ * - a failed read fails every caller sharing it; the next call runs again
+ * - coalesced results are detached copies (see copy), never entities of another caller's
+ *   persistence context, so lazy associations other than the user id are not available
+ * - task series writes don't pass through here; RecurringTaskService is wrapped to call forget
+ */
+public class CoalescingTaskService implements TaskService {
+
+    private final TaskService delegate;
+    private final SingleFlight<ReadKey> singleFlight = new SingleFlight<>();
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingTaskService(TaskService delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("task.service.coalescing.in_flight", singleFlight, SingleFlight::inFlight);
+    }
+
+    @Override
+    public List<Task> getAllUserTasks(Long userId) {
+        return read(userId, "getAllUserTasks", () -> delegate.getAllUserTasks(userId), CoalescingTaskService::copyAll);
+    }
+
+    @Override
+    public Page<Task> getAllUserTasks(Long userId, Pageable pageable) {
+        return read(userId, "getAllUserTasksPaged", () -> delegate.getAllUserTasks(userId, pageable),
+                page -> new PageImpl<>(copyAll(page.getContent()), page.getPageable(), page.getTotalElements()), pageable);
+    }
+
+    @Override
+    public Task getTaskById(Long taskId, Long userId) {
+        return read(userId, "getTaskById", () -> delegate.getTaskById(taskId, userId), CoalescingTaskService::copy, taskId);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(Long userId, TaskStatusEnum status) {
+        return read(userId, "getTasksByStatus", () -> delegate.getTasksByStatus(userId, status),
+                CoalescingTaskService::copyAll, status);
+    }
+
+    @Override
+    public List<Task> getTasksByPriority(Long userId, TaskPriorityEnum priority) {
+        return read(userId, "getTasksByPriority", () -> delegate.getTasksByPriority(userId, priority),
+                CoalescingTaskService::copyAll, priority);
+    }
+
+    @Override
+    public List<Task> searchTasksByTitle(Long userId, String title) {
+        return read(userId, "searchTasksByTitle", () -> delegate.searchTasksByTitle(userId, title),
+                CoalescingTaskService::copyAll, title);
+    }
+
+    @Override
+    public List<Task> getOverdueTasks(Long userId) {
+        return read(userId, "getOverdueTasks", () -> delegate.getOverdueTasks(userId), CoalescingTaskService::copyAll);
+    }
+
+    @Override
+    public TaskStatistics getTaskStatistics(Long userId) {
+        return read(userId, "getTaskStatistics", () -> delegate.getTaskStatistics(userId), UnaryOperator.identity());
+    }
+
+    @Override
+    public List<Task> getTasksBetween(Long userId, LocalDate from, LocalDate to) {
+        return read(userId, "getTasksBetween", () -> delegate.getTasksBetween(userId, from, to),
+                CoalescingTaskService::copyAll, from, to);
+    }
+
+    @Override
+    public List<Task> getSubtree(Long taskId, Long userId) {
+        return read(userId, "getSubtree", () -> delegate.getSubtree(taskId, userId), CoalescingTaskService::copyAll, taskId);
+    }
+
+    @Override
+    public List<Task> getAncestorPath(Long taskId, Long userId) {
+        return read(userId, "getAncestorPath", () -> delegate.getAncestorPath(taskId, userId),
+                CoalescingTaskService::copyAll, taskId);
+    }
+
+    @Override
+    public TaskProgress getProgress(Long taskId, Long userId) {
+        return read(userId, "getProgress", () -> delegate.getProgress(taskId, userId), UnaryOperator.identity(), taskId);
+    }
+
+    @Override
+    public TaskFilterResult filterTasks(Long userId, TaskFilter filter, int limit) {
+        return read(userId, "filterTasks", () -> delegate.filterTasks(userId, filter, limit),
+                result -> new TaskFilterResult(copyAll(result.tasks()), result.total()), filter, limit);
+    }
+
+    @Override
+    public Map<String, Integer> getTagCounts(Long userId) {
+        return read(userId, "getTagCounts", () -> delegate.getTagCounts(userId), LinkedHashMap::new);
+    }
+
+    @Override
+    public Task createTask(String title, String description, TaskStatusEnum status,
+                           TaskPriorityEnum priority, LocalDate dueDate, Long parentId, User currentUser) {
+        return write(currentUser.getId(),
+                () -> delegate.createTask(title, description, status, priority, dueDate, parentId, currentUser));
+    }
+
+    @Override
+    public Task updateTask(Long taskId, String title, String description, TaskStatusEnum status,
+                           TaskPriorityEnum priority, LocalDate dueDate, Long userId) {
+        return write(userId,
+                () -> delegate.updateTask(taskId, title, description, status, priority, dueDate, userId));
+    }
+
+    @Override
+    public void deleteTask(Long taskId, Long userId) {
+        write(userId, () -> {
+            delegate.deleteTask(taskId, userId);
+            return null;
+        });
+    }
+
+    @Override
+    public Task markAsCompleted(Long taskId, Long userId) {
+        return write(userId, () -> delegate.markAsCompleted(taskId, userId));
+    }
+
+    @Override
+    public Task markAsInProgress(Long taskId, Long userId) {
+        return write(userId, () -> delegate.markAsInProgress(taskId, userId));
+    }
+
+    @Override
+    public Task materializeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        return write(userId, () -> delegate.materializeOccurrence(seriesId, occurrenceDate, userId));
+    }
+
+    @Override
+    public Task moveTask(Long taskId, Long parentId, Long userId) {
+        return write(userId, () -> delegate.moveTask(taskId, parentId, userId));
+    }
+
+    @Override
+    public Task setTags(Long taskId, Collection<String> tags, Long userId) {
+        return write(userId, () -> delegate.setTags(taskId, tags, userId));
+    }
+
+    // Detaches the user's in-flight reads, for writes that don't go through this service (task series)
+    public void forget(Long userId) {
+        singleFlight.forget(key -> key.userId().equals(userId));
+    }
+
+    // The leader snapshots the result in its own thread (entities still belong to its session);
+    // every caller then gets its own copy of that snapshot
+    private <T> T read(Long userId, String method, Supplier<T> call, UnaryOperator<T> copy, Object... args) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            meterRegistry.counter("task.service.coalescing.calls", "method", method, "outcome", "bypassed").increment();
+            return call.get();
+        }
+        SingleFlight.Result<T> result = singleFlight.execute(new ReadKey(userId, method, Arrays.asList(args)),
+                () -> copy.apply(call.get()));
+        meterRegistry.counter("task.service.coalescing.calls", "method", method,
+                "outcome", result.coalesced() ? "coalesced" : "executed").increment();
+        return copy.apply(result.value());
+    }
+
+    // The delegate's transaction has committed when it returns; detach reads that may predate it
+    private <T> T write(Long userId, Supplier<T> call) {
+        try {
+            return call.get();
+        } finally {
+            forget(userId);
+        }
+    }
+
+    // Detached copy: plain fields only, the user reduced to its id (reading a proxy's id does not load it)
+    static Task copy(Task task) {
+        return Task.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .user(task.getUser() != null ? User.builder().id(task.getUser().getId()).build() : null)
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .completedAt(task.getCompletedAt())
+                .tags(task.getTags() != null ? new TreeSet<>(task.getTags()) : new TreeSet<>())
+                .parentId(task.getParentId())
+                .seriesId(task.getSeriesId())
+                .occurrenceDate(task.getOccurrenceDate())
+                .build();
+    }
+
+    static List<Task> copyAll(List<Task> tasks) {
+        return tasks.stream().map(CoalescingTaskService::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    record ReadKey(Long userId, String method, List<Object> args) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.testhahn.hahntestback.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * At most one execution per key at a time. The first caller (the leader) runs the call; callers
+ * with the same key arriving while it runs wait and get the leader's result or exception.
+ * Nothing is cached: the key is free again as soon as the leader finishes.
+ */
+public class SingleFlight<K> {
+
+    private final Map<K, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(K key, Supplier<T> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            return new Result<>((T) await(existing), true);
+        }
+
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return new Result<>(result, false);
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    // Later callers for these keys start a new execution; current waiters still get the old one
+    public void forget(Predicate<K> keys) {
+        flights.keySet().removeIf(keys);
+    }
+
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // Rethrow the leader's exception as is, so callers see the same error types
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    public record Result<T>(T value, boolean coalesced) {
+    }
+}
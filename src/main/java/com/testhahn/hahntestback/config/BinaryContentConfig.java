@@ -0,0 +1,87 @@
+package com.testhahn.hahntestback.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.dto.task.TaskResponseV1;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Binary encodings of the same DTOs, picked through the Accept header. JSON stays the
+ * default; service-to-service consumers ask for CBOR or Smile:
+ *
+ * - application/cbor, application/x-jackson-smile: current schema
+ * - application/vnd.hahn.task.v1+cbor / +smile: pinned to schema v1 (TaskResponseV1), with
+ *   their own converters so fields added to TaskResponse later are never sent
+ *
+ * Dates go out as arrays of integers instead of ISO strings (WRITE_DATES_AS_TIMESTAMPS with the
+ * Java time module): a LocalDate as [2024, 6, 1], a LocalDateTime as [2024, 1, 1, 9, 30], seconds
+ * and nanos only when non-zero. Decoding needs no date parsing, and it is part of the v1 schema.
+ */
+@Configuration
+public class BinaryContentConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    public static final MediaType TASK_V1_CBOR = MediaType.parseMediaType("application/vnd.hahn.task.v1+cbor");
+    public static final MediaType TASK_V1_SMILE = MediaType.parseMediaType("application/vnd.hahn.task.v1+smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR));
+        return converter;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter taskV1CborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(v1(cborMapper(builder)));
+        converter.setSupportedMediaTypes(List.of(TASK_V1_CBOR));
+        return converter;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2SmileHttpMessageConverter converter = new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+        converter.setSupportedMediaTypes(List.of(APPLICATION_SMILE));
+        return converter;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter taskV1SmileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2SmileHttpMessageConverter converter =
+                new MappingJackson2SmileHttpMessageConverter(v1(smileMapper(builder)));
+        converter.setSupportedMediaTypes(List.of(TASK_V1_SMILE));
+        return converter;
+    }
+
+    // Shared with the encoding benchmarks so they measure exactly what the API sends
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static ObjectMapper v1(ObjectMapper mapper) {
+        return mapper.addMixIn(TaskResponse.class, TaskResponseV1.class);
+    }
+
+    // Smile back-references repeated strings, so enum values are written once per payload
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
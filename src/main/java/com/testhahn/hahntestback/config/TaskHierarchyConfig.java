@@ -0,0 +1,41 @@
+package com.testhahn.hahntestback.config;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.repository.TaskClosureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Slf4j
+@Configuration
+public class TaskHierarchyConfig {
+
+    // First start with the closure table: existing tasks become top-level tasks. Sharded, each
+    // shard holds the closure rows of its own tasks and is initialized on its own
+    @Bean
+    public ApplicationRunner taskClosureBackfillRunner(TaskClosureRepository taskClosureRepository,
+                                                       PlatformTransactionManager transactionManager,
+                                                       ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource) {
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        Collection<String> shards = sharded != null ? sharded.getShards().keySet() : Set.of("default");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return args -> {
+            for (String shard : shards) {
+                Integer linked = ShardContext.callOnShard(shard, () -> taskClosureRepository.count() == 0
+                        ? transactionTemplate.execute(status -> taskClosureRepository.insertMissingSelfLinks())
+                        : null);
+                if (linked != null) {
+                    log.info("Task hierarchy of shard {} initialized for {} existing tasks", shard, linked);
+                }
+            }
+        };
+    }
+}
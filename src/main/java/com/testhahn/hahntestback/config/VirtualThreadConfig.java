@@ -0,0 +1,27 @@
+package com.testhahn.hahntestback.config;
+
+import com.testhahn.hahntestback.monitoring.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode (Java 21+, build with -Pvirtual-threads).
+ *
+ * spring.threads.virtual.enabled=true makes Spring Boot run Tomcat requests and its task
+ * executors on virtual threads; this adds pinning detection.
+ * Pair it with app.datasource.bulkhead.enabled=true so connection waits stay bounded.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
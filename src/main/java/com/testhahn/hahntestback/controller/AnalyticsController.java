@@ -0,0 +1,40 @@
+package com.testhahn.hahntestback.controller;
+
+import com.testhahn.hahntestback.dto.analytics.Granularity;
+import com.testhahn.hahntestback.dto.analytics.ProductivityResponse;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.service.AnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // Created/completed per day or week, average time to complete and overdue trend (default: last 30 days)
+    @GetMapping("/productivity")
+    public ResponseEntity<ProductivityResponse> getProductivity(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") Granularity granularity) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        log.debug("Fetching productivity for user: {} ({} to {}, {})", currentUser.getUsername(), start, end, granularity);
+
+        return ResponseEntity.ok(analyticsService.getProductivity(currentUser.getId(), start, end, granularity));
+    }
+}
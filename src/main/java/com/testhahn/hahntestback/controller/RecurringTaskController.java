@@ -0,0 +1,123 @@
+package com.testhahn.hahntestback.controller;
+
+import com.testhahn.hahntestback.dto.task.CreateRecurringTaskRequest;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.dto.task.TaskSeriesResponse;
+import com.testhahn.hahntestback.dto.task.UpdateTaskRequest;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.service.RecurringTaskService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/tasks/recurring")
+public class RecurringTaskController {
+
+    private final RecurringTaskService recurringTaskService;
+
+    public RecurringTaskController(RecurringTaskService recurringTaskService) {
+        this.recurringTaskService = recurringTaskService;
+    }
+
+    @PostMapping
+    public ResponseEntity<TaskSeriesResponse> createRecurringTask(
+            @Valid @RequestBody CreateRecurringTaskRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Creating recurring task '{}' for user: {}", request.getTitle(), currentUser.getUsername());
+
+        TaskSeries series = recurringTaskService.createRecurringTask(
+                request.getTitle(),
+                request.getDescription(),
+                request.getPriority(),
+                request.getFrequency(),
+                request.getInterval(),
+                request.getStartDate(),
+                request.getUntilDate(),
+                currentUser
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(TaskSeriesResponse.fromEntity(series));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskSeriesResponse>> getRecurringTasks(@AuthenticationPrincipal User currentUser) {
+        log.debug("Fetching recurring tasks for user: {}", currentUser.getUsername());
+
+        List<TaskSeriesResponse> response = recurringTaskService.getRecurringTasks(currentUser.getId()).stream()
+                .map(TaskSeriesResponse::fromEntity)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurringTask(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Deleting recurring task ID: {} for user: {}", id, currentUser.getUsername());
+
+        recurringTaskService.deleteRecurringTask(id, currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Occurrence endpoints: the first change stores the occurrence as a task, the response carries its id
+    @PatchMapping("/{id}/occurrences/{date}/complete")
+    public ResponseEntity<TaskResponse> completeOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Completing occurrence {} of recurring task ID: {} for user: {}", date, id, currentUser.getUsername());
+
+        Task task = recurringTaskService.completeOccurrence(id, date, currentUser.getId());
+        return ResponseEntity.ok(TaskResponse.fromEntity(task));
+    }
+
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<TaskResponse> updateOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody UpdateTaskRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Updating occurrence {} of recurring task ID: {} for user: {}", date, id, currentUser.getUsername());
+
+        Task task = recurringTaskService.updateOccurrence(
+                id,
+                date,
+                request.getTitle(),
+                request.getDescription(),
+                request.getStatus(),
+                request.getPriority(),
+                request.getDueDate(),
+                currentUser.getId()
+        );
+
+        return ResponseEntity.ok(TaskResponse.fromEntity(task));
+    }
+
+    @DeleteMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<Void> skipOccurrence(
+            @PathVariable Long id,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Skipping occurrence {} of recurring task ID: {} for user: {}", date, id, currentUser.getUsername());
+
+        recurringTaskService.skipOccurrence(id, date, currentUser.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
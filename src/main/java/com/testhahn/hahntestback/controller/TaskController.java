@@ -1,27 +1,38 @@
 package com.testhahn.hahntestback.controller;
 
 import com.testhahn.hahntestback.dto.task.CreateTaskRequest;
+import com.testhahn.hahntestback.dto.task.MoveTaskRequest;
+import com.testhahn.hahntestback.dto.task.SetTagsRequest;
 import com.testhahn.hahntestback.dto.task.TaskResponse;
 import com.testhahn.hahntestback.dto.task.UpdateTaskRequest;
 import com.testhahn.hahntestback.entity.Task;
 import com.testhahn.hahntestback.entity.User;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.readmodel.TaskReadModelReader;
 import com.testhahn.hahntestback.service.TaskService;
 import com.testhahn.hahntestback.service.TaskServiceImpl;
+import com.testhahn.hahntestback.tagging.TaskFilter;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -30,9 +41,12 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    // Present when app.read-model.enabled=true
+    private final ObjectProvider<TaskReadModelReader> readModel;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectProvider<TaskReadModelReader> readModel) {
         this.taskService = taskService;
+        this.readModel = readModel;
     }
 
     @PostMapping
@@ -48,6 +62,7 @@ public class TaskController {
                 request.getStatus(),
                 request.getPriority(),
                 request.getDueDate(),
+                request.getParentId(),
                 currentUser
         );
 
@@ -61,10 +76,8 @@ public class TaskController {
     public ResponseEntity<List<TaskResponse>> getAllTasks(@AuthenticationPrincipal User currentUser) {
         log.debug("Fetching all tasks for user: {}", currentUser.getUsername());
 
-        List<Task> tasks = taskService.getAllUserTasks(currentUser.getId());
-        List<TaskResponse> response = tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .toList();
+        List<TaskResponse> response = list(reader -> reader.findAll(currentUser.getId()),
+                () -> taskService.getAllUserTasks(currentUser.getId()));
 
         return ResponseEntity.ok(response);
     }
@@ -150,10 +163,8 @@ public class TaskController {
 
         log.debug("Fetching tasks with status: {} for user: {}", status, currentUser.getUsername());
 
-        List<Task> tasks = taskService.getTasksByStatus(currentUser.getId(), status);
-        List<TaskResponse> response = tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .toList();
+        List<TaskResponse> response = list(reader -> reader.findByStatus(currentUser.getId(), status),
+                () -> taskService.getTasksByStatus(currentUser.getId(), status));
 
         return ResponseEntity.ok(response);
     }
@@ -165,10 +176,8 @@ public class TaskController {
 
         log.debug("Fetching tasks with priority: {} for user: {}", priority, currentUser.getUsername());
 
-        List<Task> tasks = taskService.getTasksByPriority(currentUser.getId(), priority);
-        List<TaskResponse> response = tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .toList();
+        List<TaskResponse> response = list(reader -> reader.findByPriority(currentUser.getId(), priority),
+                () -> taskService.getTasksByPriority(currentUser.getId(), priority));
 
         return ResponseEntity.ok(response);
     }
@@ -180,10 +189,8 @@ public class TaskController {
 
         log.debug("Searching tasks with title '{}' for user: {}", title, currentUser.getUsername());
 
-        List<Task> tasks = taskService.searchTasksByTitle(currentUser.getId(), title);
-        List<TaskResponse> response = tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .toList();
+        List<TaskResponse> response = list(reader -> reader.searchByTitle(currentUser.getId(), title),
+                () -> taskService.searchTasksByTitle(currentUser.getId(), title));
 
         return ResponseEntity.ok(response);
     }
@@ -192,7 +199,128 @@ public class TaskController {
     public ResponseEntity<List<TaskResponse>> getOverdueTasks(@AuthenticationPrincipal User currentUser) {
         log.debug("Fetching overdue tasks for user: {}", currentUser.getUsername());
 
-        List<Task> tasks = taskService.getOverdueTasks(currentUser.getId());
+        List<TaskResponse> response = list(reader -> reader.findOverdue(currentUser.getId()),
+                () -> taskService.getOverdueTasks(currentUser.getId()));
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Tag endpoints
+    @PutMapping("/{id}/tags")
+    public ResponseEntity<TaskResponse> setTags(
+            @PathVariable Long id,
+            @Valid @RequestBody SetTagsRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Setting tags on task ID: {} for user: {}", id, currentUser.getUsername());
+
+        Task task = taskService.setTags(id, request.getTags(), currentUser.getId());
+        return ResponseEntity.ok(TaskResponse.fromEntity(task));
+    }
+
+    @GetMapping("/tags")
+    public ResponseEntity<Map<String, Integer>> getTagCounts(@AuthenticationPrincipal User currentUser) {
+        log.debug("Fetching tag counts for user: {}", currentUser.getUsername());
+        return ResponseEntity.ok(taskService.getTagCounts(currentUser.getId()));
+    }
+
+    // e.g. ?all=work&any=urgent,blocked&none=someday&status=PENDING,IN_PROGRESS; newest first, X-Total-Count = all matches
+    @GetMapping("/filter")
+    public ResponseEntity<List<TaskResponse>> filterTasks(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false, defaultValue = "") Set<String> all,
+            @RequestParam(required = false, defaultValue = "") Set<String> any,
+            @RequestParam(required = false, defaultValue = "") Set<String> none,
+            @RequestParam(required = false, defaultValue = "") Set<TaskStatusEnum> status,
+            @RequestParam(required = false, defaultValue = "") Set<TaskPriorityEnum> priority,
+            @RequestParam(defaultValue = "200") int limit) {
+
+        TaskFilter filter = new TaskFilter(all, any, none, status, priority);
+        log.debug("Filtering tasks with {} for user: {}", filter, currentUser.getUsername());
+
+        TaskServiceImpl.TaskFilterResult result = taskService.filterTasks(currentUser.getId(), filter,
+                Math.max(1, Math.min(limit, 1000)));
+        List<TaskResponse> response = result.tasks().stream()
+                .map(TaskResponse::fromEntity)
+                .toList();
+
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.total()))
+                .body(response);
+    }
+
+    // Hierarchy endpoints: one query each, whatever the depth
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<TaskResponse>> getSubtree(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.debug("Fetching subtree of task ID: {} for user: {}", id, currentUser.getUsername());
+
+        List<TaskResponse> response = taskService.getSubtree(id, currentUser.getId()).stream()
+                .map(TaskResponse::fromEntity)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<TaskResponse>> getAncestorPath(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.debug("Fetching ancestor path of task ID: {} for user: {}", id, currentUser.getUsername());
+
+        List<TaskResponse> response = taskService.getAncestorPath(id, currentUser.getId()).stream()
+                .map(TaskResponse::fromEntity)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<Map<String, Object>> getProgress(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.debug("Fetching progress of task ID: {} for user: {}", id, currentUser.getUsername());
+
+        TaskServiceImpl.TaskProgress progress = taskService.getProgress(id, currentUser.getId());
+
+        Map<String, Object> response = Map.of(
+                "taskId", progress.taskId(),
+                "subtasks", progress.subtasks(),
+                "completedSubtasks", progress.completedSubtasks(),
+                "percentComplete", progress.percentComplete()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping("/{id}/parent")
+    public ResponseEntity<TaskResponse> moveTask(
+            @PathVariable Long id,
+            @RequestBody MoveTaskRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Moving task ID: {} under {} for user: {}", id, request.getParentId(), currentUser.getUsername());
+
+        Task task = taskService.moveTask(id, request.getParentId(), currentUser.getId());
+        return ResponseEntity.ok(TaskResponse.fromEntity(task));
+    }
+
+    // Tasks due in a date range, including the occurrences of recurring tasks (default: the next 7 days)
+    @GetMapping("/calendar")
+    public ResponseEntity<List<TaskResponse>> getCalendar(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        log.debug("Fetching tasks due {} to {} for user: {}", start, end, currentUser.getUsername());
+
+        List<Task> tasks = taskService.getTasksBetween(currentUser.getId(), start, end);
         List<TaskResponse> response = tasks.stream()
                 .map(TaskResponse::fromEntity)
                 .toList();
@@ -245,4 +373,14 @@ public class TaskController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // From the read model when it is enabled and fresh enough for this user, otherwise from TaskService
+    private List<TaskResponse> list(Function<TaskReadModelReader, Optional<List<TaskResponse>>> fromReadModel,
+                                    Supplier<List<Task>> fromTasks) {
+        TaskReadModelReader reader = readModel.getIfAvailable();
+        Optional<List<TaskResponse>> projected = reader != null ? fromReadModel.apply(reader) : Optional.empty();
+        return projected.orElseGet(() -> fromTasks.get().stream()
+                .map(TaskResponse::fromEntity)
+                .toList());
+    }
+}
@@ -0,0 +1,41 @@
+package com.testhahn.hahntestback.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    // Wraps the application's DataSource (plain Hikari, or the routing/sharding proxy)
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+
+                int maxConcurrent = environment.getProperty("app.datasource.bulkhead.max-concurrent", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                int maxWaiting = environment.getProperty("app.datasource.bulkhead.max-waiting", Integer.class, 50);
+                Duration maxWait = environment.getProperty("app.datasource.bulkhead.max-wait", Duration.class,
+                        Duration.ofSeconds(2));
+
+                log.info("Connection bulkhead enabled: {} concurrent, {} waiting, max wait {}",
+                        maxConcurrent, maxWaiting, maxWait);
+                return new BulkheadDataSource(dataSource, maxConcurrent, maxWaiting, maxWait);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.testhahn.hahntestback.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // Off by default: every transaction uses spring.datasource.* as before
+    private boolean enabled = false;
+
+    // Reads from a user are pinned to the primary for this long after their last commit
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // How often unhealthy replicas are probed (and healthy ones re-checked)
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
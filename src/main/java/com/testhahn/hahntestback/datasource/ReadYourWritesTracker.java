@@ -0,0 +1,64 @@
+package com.testhahn.hahntestback.datasource;
+
+import com.testhahn.hahntestback.entity.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write recently so their reads
+ * can be kept on the primary until replicas have caught up.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId == null || windowNanos <= 0) {
+            return;
+        }
+        pinnedUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean requiresPrimary(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long deadline = pinnedUntil.get(userId);
+        if (deadline == null) {
+            return false;
+        }
+        if (System.nanoTime() - deadline >= 0) {
+            pinnedUntil.remove(userId, deadline);
+            return false;
+        }
+        return true;
+    }
+
+    // Drop expired entries so the map only holds users who wrote inside the window
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.entrySet().removeIf(entry -> now - entry.getValue() >= 0);
+    }
+
+    public int size() {
+        return pinnedUntil.size();
+    }
+
+    // Current user from the security context (set by JwtAuthenticationFilter)
+    public static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
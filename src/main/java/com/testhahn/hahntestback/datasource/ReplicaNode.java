@@ -0,0 +1,62 @@
+package com.testhahn.hahntestback.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Slf4j
+public class ReplicaNode {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public void markDown(Throwable cause) {
+        if (healthy) {
+            log.warn("Replica {} marked DOWN: {}", name, cause.getMessage());
+        }
+        healthy = false;
+    }
+
+    // Health check: a replica comes back only after a successful validation round trip
+    public void probe() {
+        boolean valid;
+        try (Connection connection = dataSource.getConnection()) {
+            valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            valid = false;
+        }
+
+        if (valid && !healthy) {
+            log.info("Replica {} is back UP", name);
+        } else if (!valid && healthy) {
+            log.warn("Replica {} failed health check, marked DOWN", name);
+        }
+        healthy = valid;
+    }
+}
@@ -0,0 +1,55 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory of explicit user placements (written by the rebalancer) on top of a
+ * default resolver. The directory lives in the home shard and is cached in memory,
+ * so lookups never hit the database. The cache is only kept current on this instance,
+ * which is why sharded mode holds a ShardInstanceLease.
+ */
+@Slf4j
+public class DirectoryShardResolver implements ShardResolver {
+
+    private final ShardResolver fallback;
+    private final JdbcTemplate homeJdbc;
+    private final Map<Long, String> placements = new ConcurrentHashMap<>();
+
+    public DirectoryShardResolver(ShardResolver fallback, DataSource homeShard) {
+        this.fallback = fallback;
+        this.homeJdbc = new JdbcTemplate(homeShard);
+    }
+
+    public void load() {
+        homeJdbc.execute("CREATE TABLE IF NOT EXISTS shard_directory ("
+                + "user_id BIGINT PRIMARY KEY, shard VARCHAR(64) NOT NULL)");
+        homeJdbc.query("SELECT user_id, shard FROM shard_directory",
+                rs -> {
+                    placements.put(rs.getLong("user_id"), rs.getString("shard"));
+                });
+        log.info("Loaded {} shard directory entries", placements.size());
+    }
+
+    @Override
+    public String shardFor(Long userId) {
+        String placed = placements.get(userId);
+        return placed != null ? placed : fallback.shardFor(userId);
+    }
+
+    public void assign(Long userId, String shard) {
+        int updated = homeJdbc.update("UPDATE shard_directory SET shard = ? WHERE user_id = ?", shard, userId);
+        if (updated == 0) {
+            homeJdbc.update("INSERT INTO shard_directory (user_id, shard) VALUES (?, ?)", userId, shard);
+        }
+        placements.put(userId, shard);
+    }
+
+    public int size() {
+        return placements.size();
+    }
+}
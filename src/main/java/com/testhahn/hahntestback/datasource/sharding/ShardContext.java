@@ -0,0 +1,62 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * User whose shard the current thread's transactions are routed to.
+ * Set per request by ShardContextFilter; background jobs use callAs, or callOnShard to
+ * visit every shard in turn. A shard named by callOnShard wins over the user.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+    private static final ThreadLocal<String> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Long currentUserId() {
+        return CURRENT_USER.get();
+    }
+
+    public static String currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static void set(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+
+    public static <T> T callAs(Long userId, Supplier<T> action) {
+        Long previous = CURRENT_USER.get();
+        CURRENT_USER.set(userId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_USER.set(previous);
+            } else {
+                CURRENT_USER.remove();
+            }
+        }
+    }
+
+    // Enter it outside any transaction: one already running keeps the connection it has
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        String previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_SHARD.set(previous);
+            } else {
+                CURRENT_SHARD.remove();
+            }
+        }
+    }
+}
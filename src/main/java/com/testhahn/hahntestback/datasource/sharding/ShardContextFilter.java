@@ -0,0 +1,53 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import com.testhahn.hahntestback.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Runs right after JwtAuthenticationFilter: binds the authenticated user to ShardContext
+ * so every repository call of the request goes to that user's shard.
+ */
+public class ShardContextFilter extends OncePerRequestFilter {
+
+    private final ShardUserReplicator userReplicator;
+    private final ShardMoveLocks moveLocks;
+
+    public ShardContextFilter(ShardUserReplicator userReplicator, ShardMoveLocks moveLocks) {
+        this.userReplicator = userReplicator;
+        this.moveLocks = moveLocks;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication != null ? authentication.getPrincipal() : null;
+
+        if (!(principal instanceof User user) || user.getId() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Read side of the move lock: a rebalance of this user waits for us and vice versa
+        Lock lock = moveLocks.forUser(user.getId()).readLock();
+        lock.lock();
+        try {
+            userReplicator.ensurePresent(user.getId());
+            ShardContext.set(user.getId());
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sharded mode runs on a single instance: the shard directory is cached in memory and
+ * ShardMoveLocks only hold back requests of this JVM, so a second instance would keep routing
+ * a moved user to the shard it was moved off. This lease, one row in the home shard renewed
+ * every ttl / 3, makes a second instance fail on startup instead.
+ *
+ * A lease older than ttl is taken over, so a crashed instance does not block its replacement.
+ */
+@Slf4j
+public class ShardInstanceLease implements SmartLifecycle {
+
+    private final JdbcTemplate homeJdbc;
+    private final Duration ttl;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService renewer;
+    private volatile boolean running;
+
+    public ShardInstanceLease(DataSource homeShard, Duration ttl) {
+        this.homeJdbc = new JdbcTemplate(homeShard);
+        this.ttl = ttl;
+    }
+
+    @Override
+    public synchronized void start() {
+        homeJdbc.execute("CREATE TABLE IF NOT EXISTS shard_instance_lease ("
+                + "id INT PRIMARY KEY, node_id VARCHAR(64) NOT NULL, renewed_at TIMESTAMP NOT NULL)");
+        if (!tryAcquire()) {
+            String holder = homeJdbc.queryForObject("SELECT node_id FROM shard_instance_lease WHERE id = 1",
+                    String.class);
+            throw new IllegalStateException("Sharding supports a single instance; instance " + holder
+                    + " holds the shard lease (taken over after " + ttl + " without renewal)");
+        }
+
+        renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1, ttl.toMillis() / 3);
+        renewer.scheduleWithFixedDelay(this::renew, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Holding the shard lease as instance {}", nodeId);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        homeJdbc.update("DELETE FROM shard_instance_lease WHERE id = 1 AND node_id = ?", nodeId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server starts taking requests
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    boolean tryAcquire() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp expired = new Timestamp(now.getTime() - ttl.toMillis());
+        int updated = homeJdbc.update("UPDATE shard_instance_lease SET node_id = ?, renewed_at = ? "
+                + "WHERE id = 1 AND (node_id = ? OR renewed_at < ?)", nodeId, now, nodeId, expired);
+        if (updated == 1) {
+            return true;
+        }
+        try {
+            return homeJdbc.update("INSERT INTO shard_instance_lease (id, node_id, renewed_at) "
+                    + "SELECT 1, ?, ? WHERE NOT EXISTS (SELECT 1 FROM shard_instance_lease WHERE id = 1)",
+                    nodeId, now) == 1;
+        } catch (DuplicateKeyException ex) {
+            // Another instance inserted it first
+            return false;
+        }
+    }
+
+    private void renew() {
+        try {
+            if (!tryAcquire()) {
+                log.error("Shard lease was taken over by another instance; shard routing is no longer safe");
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Renewing the shard lease failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Striped read/write locks keyed by user id. Requests hold the read side while they
+ * touch a user's shard; the rebalancer takes the write side while moving that user.
+ * A fixed number of stripes keeps memory constant regardless of the user count.
+ * The locks are per JVM; ShardInstanceLease keeps sharded mode to one instance.
+ */
+public class ShardMoveLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[STRIPES];
+
+    public ShardMoveLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public ReentrantReadWriteLock forUser(Long userId) {
+        return locks[Math.floorMod(Long.hashCode(userId) * 0x9E3779B9, STRIPES)];
+    }
+}
@@ -0,0 +1,102 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Moves one user's rows to another shard while the application keeps serving.
+ *
+ * Only the moving user's requests wait (on the user's move lock) for the copy to finish.
+ * Shards must hand out disjoint task ids (e.g. identity columns restarted at a per-shard
+ * offset); a colliding id makes the copy fail and roll back without touching the source.
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final long LOCK_TIMEOUT_SECONDS = 30;
+
+    private final DirectoryShardResolver directory;
+    private final ShardUserReplicator userReplicator;
+    private final ShardMoveLocks moveLocks;
+    private final String homeShard;
+    private final Map<String, DataSource> shards;
+
+    public ShardRebalancer(Map<String, DataSource> shards, String homeShard, DirectoryShardResolver directory,
+                           ShardUserReplicator userReplicator, ShardMoveLocks moveLocks) {
+        this.shards = shards;
+        this.homeShard = homeShard;
+        this.directory = directory;
+        this.userReplicator = userReplicator;
+        this.moveLocks = moveLocks;
+    }
+
+    public MoveResult moveUser(Long userId, String targetShard) throws InterruptedException {
+        if (!shards.containsKey(targetShard)) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+
+        Lock lock = moveLocks.forUser(userId).writeLock();
+        if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Timed out waiting for in-flight requests of user " + userId);
+        }
+
+        try {
+            String sourceShard = directory.shardFor(userId);
+            if (sourceShard.equals(targetShard)) {
+                return new MoveResult(userId, sourceShard, targetShard, 0);
+            }
+
+            long start = System.currentTimeMillis();
+            JdbcTemplate source = new JdbcTemplate(shards.get(sourceShard));
+            JdbcTemplate target = new JdbcTemplate(shards.get(targetShard));
+
+            // 1. Copy into the target in one transaction
+            int copied = inTransaction(targetShard, () -> {
+                userReplicator.ensurePresent(userId, targetShard);
+                int rows = 0;
+                for (UserScopedTables.Table table : UserScopedTables.ALL) {
+                    rows += ShardRowCopier.copy(source, target, table, userId);
+                }
+                return rows;
+            });
+
+            // 2. Flip the directory: new transactions for this user now go to the target
+            directory.assign(userId, targetShard);
+
+            // 3. Clean up the source (rows there are unreachable from now on)
+            inTransaction(sourceShard, () -> {
+                // Children first: their filters select through the parent tables
+                for (int i = UserScopedTables.ALL.size() - 1; i >= 0; i--) {
+                    UserScopedTables.Table table = UserScopedTables.ALL.get(i);
+                    source.update("DELETE FROM " + table.name() + " WHERE " + table.userFilter(), userId);
+                }
+                if (!homeShard.equals(sourceShard)) {
+                    source.update("DELETE FROM users WHERE id = ?", userId);
+                }
+                return null;
+            });
+            userReplicator.forget(userId, sourceShard);
+
+            log.info("Moved user {} from {} to {} ({} rows) in {} ms",
+                    userId, sourceShard, targetShard, copied, System.currentTimeMillis() - start);
+            return new MoveResult(userId, sourceShard, targetShard, copied);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T inTransaction(String shard, Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(shards.get(shard)));
+        return transaction.execute(status -> work.get());
+    }
+
+    public record MoveResult(Long userId, String fromShard, String toShard, int rowsMoved) {}
+}
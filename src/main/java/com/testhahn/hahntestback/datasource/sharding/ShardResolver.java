@@ -0,0 +1,9 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+/**
+ * Maps a user to the name of the shard that owns the user's tasks.
+ */
+public interface ShardResolver {
+
+    String shardFor(Long userId);
+}
@@ -0,0 +1,63 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes each connection to the shard named by ShardContext, or else to the shard owning its user.
+ * Without either (login, registration, startup) the home shard is used.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final ShardResolver shardResolver;
+    private final String homeShard;
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shards, String homeShard, ShardResolver shardResolver) {
+        if (!shards.containsKey(homeShard)) {
+            throw new IllegalArgumentException("Home shard '" + homeShard + "' is not configured");
+        }
+        this.shards = Map.copyOf(shards);
+        this.homeShard = homeShard;
+        this.shardResolver = shardResolver;
+
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(homeShard));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = ShardContext.currentShard();
+        if (shard != null) {
+            return shard;
+        }
+        Long userId = ShardContext.currentUserId();
+        return userId != null ? shardResolver.shardFor(userId) : homeShard;
+    }
+
+    public Map<String, DataSource> getShards() {
+        return shards;
+    }
+
+    public String getHomeShard() {
+        return homeShard;
+    }
+
+    public ShardResolver getShardResolver() {
+        return shardResolver;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards.values()) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies rows between shards column-for-column, so new entity columns
+ * are carried along without touching the rebalancer.
+ */
+final class ShardRowCopier {
+
+    private ShardRowCopier() {
+    }
+
+    static int copy(JdbcTemplate source, JdbcTemplate target, String table, String keyColumn, Long key) {
+        return copy(source, target, new UserScopedTables.Table(table, keyColumn + " = ?", "id"), key);
+    }
+
+    static int copy(JdbcTemplate source, JdbcTemplate target, UserScopedTables.Table table, Long userId) {
+        List<Map<String, Object>> rows = source.queryForList("SELECT * FROM " + table.name()
+                + " WHERE " + table.userFilter() + " ORDER BY " + table.orderBy(), userId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                values[i] = row.get(columns.get(i));
+            }
+            batch.add(values);
+        }
+        target.batchUpdate(sql, batch);
+        return rows.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The users table lives in full on the home shard. A copy of a user's row is kept on
+ * the shard owning their tasks so the tasks.user_id foreign key holds there too.
+ */
+public class ShardUserReplicator {
+
+    // Rough bound on the "already replicated" cache; it is only an optimization
+    private static final int MAX_KNOWN = 100_000;
+
+    private final ShardResolver shardResolver;
+    private final String homeShard;
+    private final Map<String, JdbcTemplate> jdbcByShard = new HashMap<>();
+    private final Set<String> known = ConcurrentHashMap.newKeySet();
+
+    public ShardUserReplicator(Map<String, DataSource> shards, String homeShard, ShardResolver shardResolver) {
+        this.shardResolver = shardResolver;
+        this.homeShard = homeShard;
+        shards.forEach((name, dataSource) -> jdbcByShard.put(name, new JdbcTemplate(dataSource)));
+    }
+
+    public void ensurePresent(Long userId) {
+        ensurePresent(userId, shardResolver.shardFor(userId));
+    }
+
+    public void ensurePresent(Long userId, String shard) {
+        if (homeShard.equals(shard) || known.contains(shard + ":" + userId)) {
+            return;
+        }
+
+        JdbcTemplate target = jdbcFor(shard);
+        Integer count = target.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+        if (count == null || count == 0) {
+            try {
+                ShardRowCopier.copy(jdbcFor(homeShard), target, "users", "id", userId);
+            } catch (DuplicateKeyException ex) {
+                // A concurrent request replicated it first
+            }
+        }
+
+        if (known.size() >= MAX_KNOWN) {
+            known.clear();
+        }
+        known.add(shard + ":" + userId);
+    }
+
+    public void forget(Long userId, String shard) {
+        known.remove(shard + ":" + userId);
+    }
+
+    JdbcTemplate jdbcFor(String shard) {
+        JdbcTemplate jdbc = jdbcByShard.get(shard);
+        if (jdbc == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return jdbc;
+    }
+}
@@ -0,0 +1,129 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sharded mode: tasks (and a copy of their owner's users row) live on the shard chosen
+ * for the user; the home shard keeps the full users table and the shard directory.
+ * Every shard must carry the same schema as the home shard. Sharded mode supports a single
+ * application instance (see ShardInstanceLease).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    public ShardingConfig(Environment environment) {
+        if (environment.getProperty("app.datasource.routing.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("app.sharding and app.datasource.routing cannot be enabled together");
+        }
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties sharding,
+                                                         DataSourceProperties defaults,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        if (sharding.getShards().stream().noneMatch(shard -> sharding.getHomeShard().equals(shard.getName()))) {
+            throw new IllegalStateException("Home shard '" + sharding.getHomeShard() + "' is not configured");
+        }
+
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : sharding.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername() != null ? shard.getUsername() : defaults.getUsername());
+            dataSource.setPassword(shard.getPassword() != null ? shard.getPassword() : defaults.getPassword());
+            dataSource.setDriverClassName(defaults.getDriverClassName());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            // Shard pools are not beans, so they register their pool metrics themselves
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            shards.put(shard.getName(), dataSource);
+        }
+
+        DirectoryShardResolver directory = new DirectoryShardResolver(
+                new ConsistentHashShardResolver(shards.keySet(), sharding.getVirtualNodes()),
+                shards.get(sharding.getHomeShard()));
+        directory.load();
+
+        log.info("Sharding enabled across {} shard(s), home shard {}", shards.size(), sharding.getHomeShard());
+        return new ShardRoutingDataSource(shards, sharding.getHomeShard(), directory);
+    }
+
+    @Bean
+    public DirectoryShardResolver directoryShardResolver(ShardRoutingDataSource shardRoutingDataSource) {
+        return (DirectoryShardResolver) shardRoutingDataSource.getShardResolver();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardInstanceLease shardInstanceLease(ShardRoutingDataSource shardRoutingDataSource,
+                                                 ShardingProperties sharding) {
+        return new ShardInstanceLease(shardRoutingDataSource.getShards().get(sharding.getHomeShard()),
+                sharding.getInstanceLeaseTtl());
+    }
+
+    @Bean
+    public ShardMoveLocks shardMoveLocks() {
+        return new ShardMoveLocks();
+    }
+
+    @Bean
+    public ShardUserReplicator shardUserReplicator(ShardRoutingDataSource shardRoutingDataSource,
+                                                   DirectoryShardResolver directoryShardResolver) {
+        return new ShardUserReplicator(shardRoutingDataSource.getShards(),
+                shardRoutingDataSource.getHomeShard(), directoryShardResolver);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource shardRoutingDataSource,
+                                           DirectoryShardResolver directoryShardResolver,
+                                           ShardUserReplicator shardUserReplicator,
+                                           ShardMoveLocks shardMoveLocks) {
+        return new ShardRebalancer(shardRoutingDataSource.getShards(), shardRoutingDataSource.getHomeShard(),
+                directoryShardResolver, shardUserReplicator, shardMoveLocks);
+    }
+
+    @Bean
+    public ShardContextFilter shardContextFilter(ShardUserReplicator shardUserReplicator,
+                                                 ShardMoveLocks shardMoveLocks) {
+        return new ShardContextFilter(shardUserReplicator, shardMoveLocks);
+    }
+
+    // Only run inside the security chain (after JWT authentication), not as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<ShardContextFilter> shardContextFilterRegistration(ShardContextFilter filter) {
+        FilterRegistrationBean<ShardContextFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardRoutingDataSource shardRoutingDataSource,
+                                         DirectoryShardResolver directoryShardResolver,
+                                         ShardRebalancer shardRebalancer) {
+        return new ShardsEndpoint(shardRoutingDataSource, directoryShardResolver, shardRebalancer);
+    }
+}
@@ -0,0 +1,36 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    // Off by default: a single database holds every user
+    private boolean enabled = false;
+
+    // Shard that holds the full users table (login, registration) and the shard directory
+    private String homeShard = "shard-0";
+
+    // Points per shard on the consistent-hash ring; more points = smoother distribution
+    private int virtualNodes = 128;
+
+    // Sharding runs on one instance; a second one fails to start while this lease is held
+    private Duration instanceLeaseTtl = Duration.ofSeconds(30);
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,48 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Operations view of the shard layout, and the online rebalancing entry point:
+ * POST /actuator/shards/{userId} {"targetShard": "shard-1"}
+ * (expose it with management.endpoints.web.exposure.include).
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardRoutingDataSource routingDataSource;
+    private final DirectoryShardResolver directory;
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardRoutingDataSource routingDataSource, DirectoryShardResolver directory,
+                          ShardRebalancer rebalancer) {
+        this.routingDataSource = routingDataSource;
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> layout() {
+        return Map.of(
+                "homeShard", routingDataSource.getHomeShard(),
+                "shards", new TreeSet<>(routingDataSource.getShards().keySet()),
+                "directoryEntries", directory.size()
+        );
+    }
+
+    @ReadOperation
+    public Map<String, Object> shardOf(@Selector Long userId) {
+        return Map.of("userId", userId, "shard", directory.shardFor(userId));
+    }
+
+    @WriteOperation
+    public ShardRebalancer.MoveResult move(@Selector Long userId, String targetShard) throws InterruptedException {
+        return rebalancer.moveUser(userId, targetShard);
+    }
+}
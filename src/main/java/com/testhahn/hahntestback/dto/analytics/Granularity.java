@@ -0,0 +1,7 @@
+package com.testhahn.hahntestback.dto.analytics;
+
+public enum Granularity {
+    DAY,
+    // ISO weeks, Monday to Sunday
+    WEEK
+}
@@ -0,0 +1,25 @@
+package com.testhahn.hahntestback.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductivityBucket {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private long created;
+    private long completed;
+
+    // Null when nothing was completed in the period
+    private Double averageHoursToComplete;
+
+    // Open overdue tasks at the end of the period (last snapshot in it)
+    private long overdue;
+}
@@ -0,0 +1,23 @@
+package com.testhahn.hahntestback.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductivityResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private Granularity granularity;
+    private long totalCreated;
+    private long totalCompleted;
+    private Double averageHoursToComplete;
+    private List<ProductivityBucket> buckets;
+}
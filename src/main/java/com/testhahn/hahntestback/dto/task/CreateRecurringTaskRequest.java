@@ -0,0 +1,36 @@
+package com.testhahn.hahntestback.dto.task;
+
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class CreateRecurringTaskRequest {
+    @NotBlank(message = "Title is required")
+    @Size(min = 1, max = 100, message = "Title must be between 1 and 100 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    private TaskPriorityEnum priority = TaskPriorityEnum.MEDIUM;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequencyEnum frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    @Max(value = 365, message = "Interval cannot exceed 365")
+    private int interval = 1;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    private LocalDate untilDate;
+}
@@ -22,5 +22,8 @@ public class CreateTaskRequest {
     private TaskPriorityEnum priority = TaskPriorityEnum.MEDIUM;
 
     private LocalDate dueDate;
+
+    // Optional: creates the task as a subtask of this one
+    private Long parentId;
 }
 
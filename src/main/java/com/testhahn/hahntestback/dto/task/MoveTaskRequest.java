@@ -0,0 +1,9 @@
+package com.testhahn.hahntestback.dto.task;
+
+import lombok.Data;
+
+// New parent of the task; null moves it to the top level
+@Data
+public class MoveTaskRequest {
+    private Long parentId;
+}
@@ -0,0 +1,14 @@
+package com.testhahn.hahntestback.dto.task;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class SetTagsRequest {
+    @NotNull(message = "Tags are required")
+    @Size(max = 20, message = "A task cannot have more than 20 tags")
+    private Set<String> tags;
+}
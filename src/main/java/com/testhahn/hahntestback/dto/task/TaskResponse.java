@@ -1,5 +1,7 @@
 package com.testhahn.hahntestback.dto.task;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.testhahn.hahntestback.entity.Task;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
@@ -10,11 +12,16 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
+// Current task schema; the v1 media types see only the fields pinned by TaskResponseV1
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonPropertyOrder({"id", "title", "description", "status", "priority", "dueDate", "createdAt", "updatedAt",
+        "overdue", "critical", "canBeEdited", "seriesId", "occurrenceDate",
+        "parentId", "tags"})
 public class TaskResponse {
     private Long id;
     private String title;
@@ -30,6 +37,20 @@ public class TaskResponse {
     private boolean critical;
     private boolean canBeEdited;
 
+    // Occurrences of recurring tasks only (id is null while virtual); omitted otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seriesId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate occurrenceDate;
+
+    // Subtasks only, omitted for top-level tasks
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long parentId;
+
+    // Omitted when the task has no tags
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> tags;
+
     public static TaskResponse fromEntity(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
@@ -43,6 +64,10 @@ public class TaskResponse {
                 .overdue(task.isOverdue())
                 .critical(task.isCritical())
                 .canBeEdited(task.canBeEdited())
+                .seriesId(task.getSeriesId())
+                .occurrenceDate(task.getOccurrenceDate())
+                .parentId(task.getParentId())
+                .tags(task.getTags() != null ? List.copyOf(task.getTags()) : null)
                 .build();
     }
 }
\ No newline at end of file
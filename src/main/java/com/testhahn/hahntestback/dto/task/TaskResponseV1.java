@@ -0,0 +1,16 @@
+package com.testhahn.hahntestback.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Schema v1 of the task media types, applied to TaskResponse as a Jackson mix-in (BinaryContentConfig).
+// Listed fields only: whatever TaskResponse gains later never reaches v1 clients.
+@JsonIncludeProperties({"id", "title", "description", "status", "priority", "dueDate", "createdAt", "updatedAt",
+        "overdue", "critical", "canBeEdited"})
+@JsonPropertyOrder({"id", "title", "description", "status", "priority", "dueDate", "createdAt", "updatedAt",
+        "overdue", "critical", "canBeEdited"})
+public abstract class TaskResponseV1 {
+
+    private TaskResponseV1() {
+    }
+}
@@ -0,0 +1,47 @@
+package com.testhahn.hahntestback.dto.task;
+
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSeriesResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private TaskPriorityEnum priority;
+    private RecurrenceFrequencyEnum frequency;
+    private int interval;
+    private LocalDate startDate;
+    private LocalDate untilDate;
+    private List<LocalDate> exceptions;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static TaskSeriesResponse fromEntity(TaskSeries series) {
+        return TaskSeriesResponse.builder()
+                .id(series.getId())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .priority(series.getPriority())
+                .frequency(series.getFrequency())
+                .interval(series.getInterval())
+                .startDate(series.getStartDate())
+                .untilDate(series.getUntilDate())
+                .exceptions(series.getExceptions().stream().sorted().toList())
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// One row, locked by the outbox relay that is draining (OutboxRelay over plain JDBC); mapped for the schema
+@Entity
+@Table(name = "task_outbox_relay_lock")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRelayLock {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Every reminder due at or before deliveredUntil has been delivered; a restart resumes from here
+@Entity
+@Table(name = "reminder_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "delivered_until", nullable = false)
+    private LocalDateTime deliveredUntil;
+}
@@ -0,0 +1,24 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One row per one-off rollup backfill, locked while it runs (RollupBackfill over plain JDBC); mapped for the schema
+@Entity
+@Table(name = "task_rollup_backfill")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBackfillState {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    // Null until the backfill has finished
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
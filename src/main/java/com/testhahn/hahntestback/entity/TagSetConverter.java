@@ -0,0 +1,27 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Tags are stored inline as "a,b,c": loading them never costs a query per task
+@Converter
+public class TagSetConverter implements AttributeConverter<Set<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> tags) {
+        return tags == null || tags.isEmpty() ? null : String.join(",", tags);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String column) {
+        if (column == null || column.isEmpty()) {
+            return new TreeSet<>();
+        }
+        return Arrays.stream(column.split(",")).collect(Collectors.toCollection(TreeSet::new));
+    }
+}
@@ -13,9 +13,17 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks",
+        indexes = {
+                @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+                @Index(name = "idx_tasks_parent", columnList = "parent_id")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_tasks_series_occurrence",
+                columnNames = {"series_id", "occurrence_date"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -65,6 +73,28 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Set when the task enters COMPLETED, cleared when it leaves it (see changeStatus)
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Lower-case labels, sorted; replaced as a whole (see TaskServiceImpl.setTags), never mutated in place
+    @Convert(converter = TagSetConverter.class)
+    @Column(length = 700)
+    @Builder.Default
+    private Set<String> tags = new TreeSet<>();
+
+    // Parent task (project or task this is a subtask of); the full ancestry is in task_closure
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Set on a materialized occurrence of a recurring task (TaskSeries); the due date may be moved later,
+    // the occurrence date keeps identifying the occurrence it replaces
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
     // Business logic helper methods
     public boolean isOverdue() {
         return dueDate != null &&
@@ -84,15 +114,26 @@ public class Task {
         return priority.isCritical();
     }
 
+    public void changeStatus(TaskStatusEnum newStatus) {
+        if (newStatus == TaskStatusEnum.COMPLETED) {
+            if (status != TaskStatusEnum.COMPLETED || completedAt == null) {
+                completedAt = LocalDateTime.now();
+            }
+        } else {
+            completedAt = null;
+        }
+        this.status = newStatus;
+    }
+
     public void markAsCompleted() {
-        this.status = TaskStatusEnum.COMPLETED;
+        changeStatus(TaskStatusEnum.COMPLETED);
     }
 
     public void markAsInProgress() {
-        this.status = TaskStatusEnum.IN_PROGRESS;
+        changeStatus(TaskStatusEnum.IN_PROGRESS);
     }
 
     public void markAsCancelled() {
-        this.status = TaskStatusEnum.CANCELLED;
+        changeStatus(TaskStatusEnum.CANCELLED);
     }
 }
@@ -0,0 +1,41 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Closure table of the task hierarchy: one row per (ancestor, descendant) pair, including
+ * (task, task) at depth 0. Subtrees are read by ancestor (primary key), ancestor paths by
+ * descendant (idx_task_closure_descendant). Maintained by TaskServiceImpl with set-based
+ * statements, see TaskClosureRepository.
+ */
+@Entity
+@Table(name = "task_closure",
+        indexes = @Index(name = "idx_task_closure_descendant", columnList = "descendant_id, depth"))
+@IdClass(TaskClosure.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,44 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Per-user, per-day task counters behind the analytics endpoint (server time zone days)
+@Entity
+@Table(name = "task_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_daily_rollups_user_date",
+                columnNames = {"user_id", "rollup_date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate date;
+
+    // Tasks created that day
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    // Tasks completed that day (minus completions undone by reopening)
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    // Sum of created-to-completed durations of those completions, for the average
+    @Column(name = "completion_seconds", nullable = false)
+    private long completionSeconds;
+
+    // Open tasks past their due date, as recorded by the end-of-day snapshot
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+}
@@ -0,0 +1,75 @@
+package com.testhahn.hahntestback.entity;
+
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per task, shaped like TaskResponse (overdue aside, it depends on today). Written only by
+// TaskReadModelProjector and read by TaskReadModelReader, both over plain JDBC; mapped for the schema.
+@Entity
+@Immutable
+@Table(name = "task_read_model",
+        indexes = @Index(name = "idx_task_read_model_user_created", columnList = "user_id, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskReadModel {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatusEnum status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriorityEnum priority;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private boolean critical;
+
+    @Column(name = "can_be_edited", nullable = false)
+    private boolean canBeEdited;
+
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Same "a,b,c" form as tasks.tags (TagSetConverter)
+    @Column(length = 700)
+    private String tags;
+
+    @Column(name = "projected_at", nullable = false)
+    private LocalDateTime projectedAt;
+}
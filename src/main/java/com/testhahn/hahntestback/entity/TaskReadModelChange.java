@@ -0,0 +1,30 @@
+package com.testhahn.hahntestback.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A committed task change not in task_read_model yet. Written in the transaction of the change and
+// deleted once projected, by TaskReadModelProjector over plain JDBC; mapped for the schema.
+@Entity
+@Table(name = "task_read_model_changes", indexes = {
+        @Index(name = "idx_task_read_model_changes_user", columnList = "user_id"),
+        @Index(name = "idx_task_read_model_changes_changed", columnList = "changed_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskReadModelChange {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
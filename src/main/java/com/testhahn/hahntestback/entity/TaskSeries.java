@@ -0,0 +1,93 @@
+package com.testhahn.hahntestback.entity;
+
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.recurrence.RecurrenceRule;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// A recurring task: its occurrences are computed, and only stored as tasks once touched
+@Entity
+@Table(name = "task_series", indexes = @Index(name = "idx_task_series_user", columnList = "user_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(exclude = {"user", "exceptions"})
+@ToString(exclude = {"user", "exceptions"})
+public class TaskSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Title is required")
+    @Size(min = 1, max = 100, message = "Title must be between 1 and 100 characters")
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    @Column(length = 500)
+    private String description;
+
+    @NotNull(message = "Priority is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private TaskPriorityEnum priority = TaskPriorityEnum.MEDIUM;
+
+    @NotNull(message = "Frequency is required")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurrenceFrequencyEnum frequency;
+
+    // Every N days / weeks / months ("interval" is reserved in PostgreSQL)
+    @Column(name = "repeat_interval", nullable = false)
+    @Builder.Default
+    private int interval = 1;
+
+    // First occurrence; monthly series repeat on its day of month (clamped to shorter months)
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    // Last possible occurrence, open-ended when null
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+
+    // Skipped occurrence dates
+    @ElementCollection
+    @CollectionTable(name = "task_series_exceptions", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "exception_date", nullable = false)
+    @BatchSize(size = 50)
+    @Builder.Default
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @NotNull(message = "User is required")
+    private User user;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public RecurrenceRule rule() {
+        return new RecurrenceRule(frequency, interval, startDate, untilDate, exceptions);
+    }
+}
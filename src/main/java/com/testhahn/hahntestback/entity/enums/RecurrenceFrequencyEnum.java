@@ -0,0 +1,19 @@
+package com.testhahn.hahntestback.entity.enums;
+
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequencyEnum {
+    DAILY(ChronoUnit.DAYS),
+    WEEKLY(ChronoUnit.WEEKS),
+    MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequencyEnum(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+}
@@ -4,12 +4,14 @@ package com.testhahn.hahntestback.exception;
 import com.testhahn.hahntestback.exception.errorResponse.ErrorResponse;
 import com.testhahn.hahntestback.exception.errorResponse.ValidationErrorResponse;
 import com.testhahn.hahntestback.exception.exceptionHelper.AuthenticationException;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
 import com.testhahn.hahntestback.exception.exceptionHelper.RegistrationException;
 import com.testhahn.hahntestback.exception.exceptionHelper.TaskNotFoundException;
 import com.testhahn.hahntestback.exception.exceptionHelper.UserNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -79,6 +81,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // Request parameters that are well-formed but not acceptable (e.g. an analytics range too long)
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequest(InvalidRequestException ex) {
+        log.error("Invalid request: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     // Validation errors (from @Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
@@ -101,6 +117,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    // No database connection available (pool exhausted or connection bulkhead full)
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleNoConnection(CannotCreateTransactionException ex) {
+        log.error("Could not obtain database connection: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message("Service temporarily overloaded, please retry")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     // General exception
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(Exception ex) {
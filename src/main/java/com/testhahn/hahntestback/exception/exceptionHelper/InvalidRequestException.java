@@ -0,0 +1,7 @@
+package com.testhahn.hahntestback.exception.exceptionHelper;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.testhahn.hahntestback.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true")
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${app.idempotency.ttl:24h}") Duration ttl,
+                                             @Value("${app.idempotency.max-entries:100000}") long maxEntries) {
+        return new IdempotencyStore(ttl, maxEntries);
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+                                               @Value("${app.idempotency.in-flight-wait:10s}") Duration inFlightWait,
+                                               @Value("${app.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        return new IdempotencyFilter(idempotencyStore, objectMapper, inFlightWait, Math.toIntExact(maxBodySize.toBytes()));
+    }
+
+    // Only run inside the security chain (after JWT authentication), not as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,196 @@
+package com.testhahn.hahntestback.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.exception.errorResponse.ErrorResponse;
+import com.testhahn.hahntestback.idempotency.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Honours the Idempotency-Key header on the task write endpoints (POST/PUT/PATCH/DELETE under
+ * /api/tasks). Runs after JWT authentication; keys are scoped to the authenticated user.
+ *
+ * - first request with a key runs normally and its response is recorded
+ * - a retry with the same key and same request replays the recorded response
+ *   (Idempotent-Replayed: true) without reaching the controller
+ * - a concurrent duplicate waits for the first one to finish, then replays it
+ * - the same key with a different method, path or body is rejected with 422
+ * - bodies over max-body-size are rejected with 413 before they are buffered in full
+ * - 5xx responses are not recorded, so the key can be retried
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration inFlightWait;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, Duration inFlightWait,
+                             int maxBodyBytes) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.inFlightWait = inFlightWait;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !request.getRequestURI().startsWith("/api/tasks")
+                || HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            // Let security reject it as usual
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // Content-Length is checked first; chunked bodies are cut off after maxBodyBytes + 1 bytes
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBodyBytes + " bytes");
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, maxBodyBytes);
+        if (cachedRequest.exceedsLimit()) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBodyBytes + " bytes");
+            return;
+        }
+        String fingerprint = fingerprint(cachedRequest);
+        String storeKey = authentication.getName() + ":" + idempotencyKey;
+
+        while (true) {
+            CompletableFuture<StoredResponse> claimed = new CompletableFuture<>();
+            IdempotencyStore.Entry existing = store.claim(storeKey, fingerprint, claimed);
+            if (existing == null) {
+                execute(cachedRequest, response, filterChain, storeKey, claimed);
+                return;
+            }
+
+            if (!existing.fingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+
+            StoredResponse stored;
+            try {
+                stored = existing.response().get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(ex);
+            } catch (ExecutionException ex) {
+                stored = null;
+            }
+
+            if (stored != null) {
+                log.debug("Replaying response for idempotency key {} of {}", idempotencyKey, authentication.getName());
+                replay(stored, response);
+                return;
+            }
+            // The first attempt failed and released the key; try to claim it again
+        }
+    }
+
+    private void execute(CachedBodyHttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, CompletableFuture<StoredResponse> claimed) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() < 500) {
+                String location = responseWrapper.getHeader(HttpHeaders.LOCATION);
+                stored = new StoredResponse(responseWrapper.getStatus(), responseWrapper.getContentType(),
+                        responseWrapper.getContentAsByteArray(),
+                        location != null ? Map.of(HttpHeaders.LOCATION, location) : Map.of());
+            }
+        } finally {
+            if (stored == null) {
+                store.release(storeKey);
+            }
+            claimed.complete(stored);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(CachedBodyHttpServletRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+}
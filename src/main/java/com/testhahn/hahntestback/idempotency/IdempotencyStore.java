@@ -0,0 +1,44 @@
+package com.testhahn.hahntestback.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Idempotency keys and the response recorded for each, bounded in size and expired after
+ * the TTL. An entry is created when the first request claims the key; its future completes
+ * with the response once that request finishes (or with null if it failed and released the key).
+ */
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(Duration ttl, long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // Null when the caller now owns the key; otherwise the entry of whoever claimed it first
+    public Entry claim(String key, String fingerprint, CompletableFuture<StoredResponse> response) {
+        return entries.asMap().putIfAbsent(key, new Entry(fingerprint, response));
+    }
+
+    public void release(String key) {
+        entries.invalidate(key);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {
+    }
+
+    public record StoredResponse(int status, String contentType, byte[] body, Map<String, String> headers) {
+    }
+}
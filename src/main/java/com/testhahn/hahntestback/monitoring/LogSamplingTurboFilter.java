@@ -0,0 +1,77 @@
+package com.testhahn.hahntestback.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N events at or below maxLevel for the configured logger prefixes, e.g.
+ * {@code <sample>com.testhahn.hahntestback.service:100</sample>}. Runs before the event is
+ * created, so dropped lines cost neither formatting nor a queue slot. WARN and above always pass.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private static final int NOT_SAMPLED = 1;
+
+    private final Map<String, Integer> ratesByPrefix = new LinkedHashMap<>();
+    // Logger name -> resolved rate and its own counter
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+    private Level maxLevel = Level.DEBUG;
+
+    public void addSample(String sample) {
+        int separator = sample.lastIndexOf(':');
+        if (separator < 0) {
+            addError("Expected <sample>logger.prefix:N</sample> but got: " + sample);
+            return;
+        }
+        ratesByPrefix.put(sample.substring(0, separator).trim(), Integer.parseInt(sample.substring(separator + 1).trim()));
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.DEBUG);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; only real events are sampled
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !maxLevel.isGreaterOrEqual(level)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+        if (sampler.rate <= NOT_SAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampler.counter.getAndIncrement() % sampler.rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Longest matching prefix wins
+    private Sampler samplerFor(String loggerName) {
+        String match = null;
+        for (String prefix : ratesByPrefix.keySet()) {
+            if ((loggerName.equals(prefix) || loggerName.startsWith(prefix + "."))
+                    && (match == null || prefix.length() > match.length())) {
+                match = prefix;
+            }
+        }
+        return new Sampler(match != null ? ratesByPrefix.get(match) : NOT_SAMPLED);
+    }
+
+    private static final class Sampler {
+
+        private final int rate;
+        private final AtomicLong counter = new AtomicLong();
+
+        private Sampler(int rate) {
+            this.rate = rate;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.testhahn.hahntestback.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-accounting", name = "enabled", havingValue = "true")
+public class SqlAccountingConfig {
+
+    // Wraps the application's DataSource, whatever sits underneath (Hikari, routing, bulkhead)
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof SqlAccountingDataSource) {
+                    return bean;
+                }
+                log.info("Per-request SQL accounting enabled");
+                return new SqlAccountingDataSource(dataSource);
+            }
+        };
+    }
+
+    // Ahead of Spring Security's filter chain, so authentication queries are counted too
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            @Value("${app.sql-accounting.warn-threshold:10}") int statementThreshold,
+            @Value("${app.sql-accounting.repeat-threshold:5}") int repeatThreshold,
+            @Value("${app.sql-accounting.response-headers:false}") boolean responseHeaders,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+                new SqlAccountingFilter(statementThreshold, repeatThreshold, responseHeaders, meterRegistry.getIfAvailable()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,107 @@
+package com.testhahn.hahntestback.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Opens a SqlStatementTracker scope around each request (including the security filters, so
+ * the JWT user lookup is counted), then logs the totals and warns about requests that run
+ * too many statements or the same statement too often.
+ */
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final int statementThreshold;
+    private final int repeatThreshold;
+    private final boolean responseHeaders;
+    private final MeterRegistry meterRegistry;
+
+    public SqlAccountingFilter(int statementThreshold, int repeatThreshold, boolean responseHeaders,
+                               MeterRegistry meterRegistry) {
+        this.statementThreshold = statementThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.responseHeaders = responseHeaders;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatementTracker.start();
+        try {
+            filterChain.doFilter(request, responseHeaders ? new HeaderWritingResponse(response, statistics) : response);
+        } finally {
+            SqlStatementTracker.stop();
+            // Bodiless responses (204, errors not written yet) get the headers here
+            if (responseHeaders && !response.isCommitted() && !response.containsHeader(STATEMENTS_HEADER)) {
+                writeHeaders(response, statistics);
+            }
+            report(request, response, statistics);
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, SqlStatistics statistics) {
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatements()));
+        response.setHeader(ROWS_HEADER, String.valueOf(statistics.getRows()));
+        response.setHeader(TIME_HEADER, String.valueOf(statistics.getElapsedMillis()));
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+        if (statistics.getStatements() == 0) {
+            return;
+        }
+
+        // Route template, not the raw path, to keep the uri tag low-cardinality
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        if (meterRegistry != null) {
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statistics.getStatements());
+        }
+
+        String endpoint = request.getMethod() + " " + uri;
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated().orElse(null);
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("Possible N+1 on {}: same statement ran {} times ({} total): {}",
+                    endpoint, repeated.getValue(), statistics, repeated.getKey());
+        } else if (statistics.getStatements() > statementThreshold) {
+            log.warn("{} ran {} (threshold {})", endpoint, statistics, statementThreshold);
+        } else {
+            log.debug("{} -> {} ran {}", endpoint, response.getStatus(), statistics);
+        }
+    }
+
+    // Headers must be set before the body commits the response, so they are added just before that
+    private static final class HeaderWritingResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders(this, statistics);
+        }
+    }
+}
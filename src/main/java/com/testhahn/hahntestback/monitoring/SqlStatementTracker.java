@@ -0,0 +1,70 @@
+package com.testhahn.hahntestback.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound scope that SqlAccountingDataSource reports into. Outside a scope JDBC calls
+ * are not counted.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics stop() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    // Counts the JDBC work of one call, restoring any enclosing scope afterwards
+    public static SqlStatistics track(Runnable action) {
+        return track(() -> {
+            action.run();
+            return null;
+        }).statistics();
+    }
+
+    public static <T> Tracked<T> track(Supplier<T> action) {
+        SqlStatistics outer = CURRENT.get();
+        SqlStatistics statistics = start();
+        try {
+            return new Tracked<>(action.get(), statistics);
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    static void statementExecuted(String sql, long elapsedNanos, long affectedRows) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statementExecuted(sql, elapsedNanos, affectedRows);
+        }
+    }
+
+    static void rowRead() {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rowRead();
+        }
+    }
+
+    public record Tracked<T>(T result, SqlStatistics statistics) {
+    }
+}
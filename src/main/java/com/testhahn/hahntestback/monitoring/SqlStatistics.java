@@ -0,0 +1,60 @@
+package com.testhahn.hahntestback.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC work done inside one tracked scope (usually an HTTP request): statements executed,
+ * rows read or affected, time spent in the driver, and how often each SQL string ran.
+ */
+public class SqlStatistics {
+
+    // Distinct SQL strings remembered per scope; beyond that only the totals are kept
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> executionsBySql = new LinkedHashMap<>();
+
+    void statementExecuted(String sql, long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += Math.max(0, affectedRows);
+        if (sql != null && (executionsBySql.size() < MAX_DISTINCT_STATEMENTS || executionsBySql.containsKey(sql))) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedMillis() {
+        return nanos / 1_000_000;
+    }
+
+    public Map<String, Integer> getExecutionsBySql() {
+        return Collections.unmodifiableMap(executionsBySql);
+    }
+
+    // The same SQL run over and over in one request is the usual N+1 signature
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return executionsBySql.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + getElapsedMillis() + " ms";
+    }
+}
@@ -0,0 +1,58 @@
+package com.testhahn.hahntestback.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.repository.OutboxEventRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxEventRepository outboxEventRepository, UserRepository userRepository,
+                                     ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxEventRepository, userRepository, objectMapper);
+    }
+
+    // Only needed by a relay, and only without a broker publisher bean
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+    public OutboxPublisher outboxPublisher(ObjectMapper objectMapper, @Value("${app.outbox.file:}") String file) {
+        // A relative path would land wherever each instance happens to be started from
+        if (file.isBlank() || !Path.of(file).isAbsolute()) {
+            throw new IllegalStateException("app.outbox.file must be an absolute path when no OutboxPublisher "
+                    + "bean is provided, got '" + file + "'");
+        }
+        return new FileOutboxPublisher(Path.of(file), objectMapper);
+    }
+
+    // Every instance writes the outbox; relays enabled on several instances take turns draining it
+    @Bean
+    @ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+    public OutboxRelay outboxRelay(OutboxPublisher outboxPublisher, DataSource dataSource,
+                                   ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.outbox.relay.poll-interval:500ms}") Duration pollInterval,
+                                   @Value("${app.outbox.relay.batch-size:200}") int batchSize,
+                                   @Value("${app.outbox.relay.max-backoff:30s}") Duration maxBackoff) {
+        // Sharded, each shard holds the outbox of its own users and is drained on its own
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        Map<String, DataSource> shards = sharded != null ? sharded.getShards() : Map.of("default", dataSource);
+        return new OutboxRelay(shards, outboxPublisher, meterRegistry,
+                new OutboxRelay.Settings(pollInterval, batchSize, maxBackoff));
+    }
+}
@@ -0,0 +1,14 @@
+package com.testhahn.hahntestback.outbox;
+
+import java.time.LocalDateTime;
+
+// One task change as handed to the OutboxPublisher; id grows in write order and identifies redeliveries
+public record OutboxMessage(
+        Long id,
+        Long userId,
+        Long taskId,
+        String type,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
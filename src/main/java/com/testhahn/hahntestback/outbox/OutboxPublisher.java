@@ -0,0 +1,12 @@
+package com.testhahn.hahntestback.outbox;
+
+import java.util.List;
+
+/**
+ * Sends a batch of task changes downstream (broker, search indexer, webhook...). Messages come in
+ * write order, so per user in the order the changes committed. Throwing fails the whole batch:
+ * it is sent again, so messages may arrive more than once and consumers should dedupe by id.
+ */
+public interface OutboxPublisher {
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
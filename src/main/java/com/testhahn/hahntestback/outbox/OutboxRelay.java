@@ -0,0 +1,247 @@
+package com.testhahn.hahntestback.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains task_outbox: reads the oldest batch, hands it to the OutboxPublisher and deletes it once
+ * published. No transaction is held open while publishing. Full batches are drained back to back;
+ * otherwise the relay polls every poll-interval. Sharded, each shard holds the outbox of its own
+ * users and is drained on its own, one after the other.
+ *
+ * At-least-once: a crash or failed delete after publishing sends the batch again. A failed batch
+ * is retried as a whole, with backoff up to max-backoff, and nothing after it on its shard is
+ * published first, so the order per user is kept (OutboxWriter hands out a user's ids in commit
+ * order, and a user's changes are all on one shard).
+ *
+ * One relay drains a shard at a time: it holds the row of that shard's task_outbox_relay_lock
+ * locked, on a connection of its own, for as long as it drains. A relay on another instance finds
+ * it locked (skip locked) and skips the shard that poll, so relays enabled on several instances
+ * neither double-publish nor interleave.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final int MAX_BATCHES_PER_POLL = 50;
+    private static final String LOCK_NAME = "relay";
+    private static final String LOCK_SQL = "select name from task_outbox_relay_lock where name = ? "
+            + "for update skip locked";
+    private static final String BATCH_SQL = "select id, user_id, task_id, event_type, payload, created_at "
+            + "from task_outbox order by id limit :limit";
+
+    private final List<Shard> shards;
+    private final OutboxPublisher publisher;
+    private final Settings settings;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private final Timer publishTime;
+    private final DistributionSummary batchSize;
+
+    private ScheduledExecutorService worker;
+    private Duration backoff;
+    private volatile boolean running;
+
+    /**
+     * shards are drained one by one (the single data source when not sharded).
+     */
+    public OutboxRelay(Map<String, DataSource> shards, OutboxPublisher publisher, MeterRegistry meterRegistry,
+                       Settings settings) {
+        this.shards = shards.entrySet().stream()
+                .map(shard -> new Shard(shard.getKey(), shard.getValue()))
+                .toList();
+        this.publisher = publisher;
+        this.settings = settings;
+        this.backoff = settings.pollInterval();
+        this.published = Counter.builder("task.outbox.published")
+                .description("Task events published downstream")
+                .register(meterRegistry);
+        this.failures = Counter.builder("task.outbox.failures")
+                .description("Outbox batches that failed to publish and were retried")
+                .register(meterRegistry);
+        this.lag = Timer.builder("task.outbox.lag")
+                .description("Time from a task change being written to it being published")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.publishTime = Timer.builder("task.outbox.publish")
+                .description("Time the publisher took per batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("task.outbox.batch.size")
+                .description("Events per published batch")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        createLockRows();
+        running = true;
+        worker.schedule(this::poll, settings.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started on {} shard(s): batches of {}, polling every {}",
+                shards.size(), settings.batchSize(), settings.pollInterval());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Publishes the oldest batch of every shard; returns how many events they held (0 when all are empty)
+    int drain() throws Exception {
+        int drained = 0;
+        for (Shard shard : shards) {
+            drained += drain(shard);
+        }
+        return drained;
+    }
+
+    // Drains every shard it gets the lock of; false when another relay holds all of them
+    boolean drainExclusively() throws Exception {
+        boolean drained = false;
+        for (Shard shard : shards) {
+            drained |= drainExclusively(shard);
+        }
+        return drained;
+    }
+
+    // Inserted by the first relay to start; another inserting it at the same time gets a duplicate key
+    void createLockRows() {
+        for (Shard shard : shards) {
+            try {
+                shard.jdbcTemplate.getJdbcTemplate().update("insert into task_outbox_relay_lock (name) "
+                        + "select ? where not exists (select 1 from task_outbox_relay_lock where name = ?)",
+                        LOCK_NAME, LOCK_NAME);
+            } catch (DuplicateKeyException ex) {
+                log.debug("Outbox relay lock row of shard {} created by another instance", shard.name);
+            }
+        }
+    }
+
+    private int drain(Shard shard) throws Exception {
+        List<OutboxMessage> messages = shard.jdbcTemplate.query(BATCH_SQL, Map.of("limit", settings.batchSize()),
+                (rs, rowNum) -> new OutboxMessage(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("task_id"),
+                        rs.getString("event_type"), rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        long startedAt = System.nanoTime();
+        publisher.publish(messages);
+        publishTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        List<Long> ids = messages.stream().map(OutboxMessage::id).toList();
+        shard.transactionTemplate.executeWithoutResult(status ->
+                shard.jdbcTemplate.update("delete from task_outbox where id in (:ids)", Map.of("ids", ids)));
+
+        LocalDateTime now = LocalDateTime.now();
+        messages.forEach(message -> lag.record(Duration.between(message.createdAt(), now)));
+        published.increment(messages.size());
+        batchSize.record(messages.size());
+        return messages.size();
+    }
+
+    // Drains the shard's batches back to back while they come full; false when another relay holds its lock
+    private boolean drainExclusively(Shard shard) throws Exception {
+        try (Connection connection = shard.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement lock = connection.prepareStatement(LOCK_SQL)) {
+                    lock.setString(1, LOCK_NAME);
+                    try (ResultSet row = lock.executeQuery()) {
+                        if (!row.next()) {
+                            return false;
+                        }
+                    }
+                }
+                int batches = 1;
+                while (drain(shard) == settings.batchSize() && running && batches++ < MAX_BATCHES_PER_POLL) {
+                    // Full batch: there is probably more, keep draining
+                }
+                return true;
+            } finally {
+                // Nothing was written on this connection; ending the transaction releases the lock
+                connection.rollback();
+            }
+        }
+    }
+
+    // A shard that fails is retried with backoff; the others are still drained every poll
+    private void poll() {
+        Duration next = settings.pollInterval();
+        boolean failed = false;
+        for (Shard shard : shards) {
+            try {
+                if (!drainExclusively(shard)) {
+                    log.debug("Another outbox relay is draining shard {}, skipping it this poll", shard.name);
+                }
+            } catch (Exception ex) {
+                failed = true;
+                failures.increment();
+                log.error("Publishing task events of shard {} failed, retrying in {}: {}", shard.name, backoff,
+                        ex.getMessage(), ex);
+            }
+        }
+        if (failed) {
+            next = backoff;
+            backoff = backoff.multipliedBy(2).compareTo(settings.maxBackoff()) > 0
+                    ? settings.maxBackoff()
+                    : backoff.multipliedBy(2);
+        } else {
+            backoff = settings.pollInterval();
+        }
+        if (running) {
+            worker.schedule(this::poll, next.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class Shard {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        private Shard(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+
+    public record Settings(Duration pollInterval, int batchSize, Duration maxBackoff) {
+    }
+}
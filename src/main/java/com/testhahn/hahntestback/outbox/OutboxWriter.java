@@ -0,0 +1,53 @@
+package com.testhahn.hahntestback.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.entity.OutboxEvent;
+import com.testhahn.hahntestback.repository.OutboxEventRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records every task change in task_outbox. Runs synchronously in the transaction of the change,
+ * like TaskRollupUpdater: the outbox row commits or rolls back with it, and nothing is sent
+ * from the request thread. OutboxRelay publishes the rows afterwards.
+ *
+ * Ids come from an identity column, handed out at insert and not at commit. The owner's row is
+ * locked first, until commit, so a user's next change waits for this one: one user's rows get
+ * their ids in commit order, which is the order the relay publishes them in.
+ */
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, UserRepository userRepository,
+                        ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            // Fails the task change too: an event that can't be recorded must not be lost silently
+            throw new IllegalStateException("Task event could not be serialized: " + ex.getMessage(), ex);
+        }
+        userRepository.lockForTaskChanges(event.userId());
+        outboxEventRepository.save(OutboxEvent.builder()
+                .userId(event.userId())
+                .taskId(event.taskId())
+                .eventType(event.type().name())
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimiter rateLimiter = new RateLimiter(properties.getMaxKeys(), properties.getIdleTimeout());
+        Gauge.builder("rate_limit.buckets", rateLimiter, RateLimiter::size).register(meterRegistry);
+        log.info("Rate limiting enabled: auth {}/{}, read {}/{}, write {}/{}",
+                properties.getAuth().getCapacity(), properties.getAuth().getPeriod(),
+                properties.getRead().getCapacity(), properties.getRead().getPeriod(),
+                properties.getWrite().getCapacity(), properties.getWrite().getPeriod());
+        return rateLimiter;
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties,
+                                           JwtTokenProvider jwtTokenProvider, ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(rateLimiter, properties, jwtTokenProvider, objectMapper, meterRegistry);
+    }
+
+    // Only run inside the security chain (before JWT authentication), not as a plain servlet filter
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
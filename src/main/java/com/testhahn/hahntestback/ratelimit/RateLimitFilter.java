@@ -0,0 +1,120 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.exception.errorResponse.ErrorResponse;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Runs before JwtAuthenticationFilter, so a throttled request never loads the user or touches
+ * the connection pool. /api/auth/** is limited per client IP; everything else under /api/ per
+ * user (the verified token subject), falling back to the IP for requests without a valid token.
+ * No user is exempt: any username can be registered through the public endpoint.
+ *
+ * The IP is request.getRemoteAddr(). Behind a proxy that is the proxy's address unless
+ * server.forward-headers-strategy is set (the prod profile uses native, i.e. X-Forwarded-For
+ * from internal proxies only); without it every anonymous caller would share one bucket.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, JwtTokenProvider jwtTokenProvider,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health, actuator, swagger and CORS preflights are never throttled
+        return !request.getRequestURI().startsWith("/api/") || request.getRequestURI().equals("/api/health")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String policyName;
+        RateLimitProperties.Policy policy;
+        String clientKey;
+
+        if (request.getRequestURI().startsWith("/api/auth/")) {
+            policyName = "auth";
+            policy = properties.getAuth();
+            clientKey = "ip:" + request.getRemoteAddr();
+        } else {
+            boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+            policyName = read ? "read" : "write";
+            policy = read ? properties.getRead() : properties.getWrite();
+            String username = usernameFrom(request);
+            clientKey = username != null ? "user:" + username : "ip:" + request.getRemoteAddr();
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(policyName, policy, clientKey);
+        response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(ceilSeconds(decision.reset())));
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.debug("Rate limit '{}' exceeded for {}", policyName, clientKey);
+        meterRegistry.counter("http.server.requests.rate_limited", "policy", policyName).increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ceilSeconds(decision.retryAfter())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Too many requests, retry later")
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    private String usernameFrom(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(header) || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        // Signature-checked, so a forged subject can't drain someone else's bucket
+        try {
+            return jwtTokenProvider.getUsernameFromToken(header.substring(7));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static long ceilSeconds(Duration duration) {
+        return (duration.toMillis() + 999) / 1000;
+    }
+}
@@ -0,0 +1,41 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    // Upper bound on tracked clients; idle buckets are dropped after idle-timeout
+    private long maxKeys = 1_000_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // /api/auth/** per client IP - login and registration hash passwords
+    private Policy auth = new Policy(20, Duration.ofMinutes(1));
+
+    // Read requests (GET/HEAD) under /api/** per user
+    private Policy read = new Policy(300, Duration.ofMinutes(1));
+
+    // Writes under /api/** per user
+    private Policy write = new Policy(60, Duration.ofMinutes(1));
+
+    @Data
+    public static class Policy {
+        // Burst size; the bucket refills at capacity tokens per period
+        private long capacity;
+        private Duration period;
+
+        public Policy() {
+        }
+
+        public Policy(long capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Token buckets per (policy, client key). The map is bounded: buckets idle for longer than the
+ * longest refill period are full anyway and are evicted, and max-keys caps the worst case.
+ */
+public class RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(long maxKeys, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    public Decision tryAcquire(String policyName, RateLimitProperties.Policy policy, String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(policyName + ":" + clientKey,
+                key -> new TokenBucket(policy.getCapacity(), policy.getPeriod().toNanos(), now));
+        TokenBucket.Result result = bucket.tryConsume(now);
+        return new Decision(result.allowed(), bucket.getCapacity(), result.remaining(),
+                Duration.ofNanos(result.retryAfterNanos()), Duration.ofNanos(bucket.nanosUntilFull(now)));
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    public record Decision(boolean allowed, long limit, long remaining, Duration retryAfter, Duration reset) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count and a last-refill time it keeps a single
+ * value, the instant at which the bucket will be full again (the GCRA formulation), so a
+ * take is one compare-and-set and there is nothing to refill on a timer.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, long periodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, periodNanos / capacity);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    public Result tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long debt = next - nowNanos;
+            if (debt > capacity * nanosPerToken) {
+                // Not enough tokens; one frees up when the debt is back to capacity
+                return new Result(false, 0, debt - capacity * nanosPerToken);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Result(true, capacity - ceilDiv(debt, nanosPerToken), 0);
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    // Nanos until the bucket is full again, for X-RateLimit-Reset
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, fullAt.get() - nowNanos);
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    public record Result(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.testhahn.hahntestback.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Opt-in reactive read API (app.reactive.enabled=true). Runs on its own port next to the
+ * MVC endpoints, with an R2DBC pool instead of JDBC; the /api/tasks read paths are the same.
+ * Writes stay on the MVC + JPA stack. The pool reaches a single database, so it cannot be
+ * combined with sharding.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveApiConfig {
+
+    public ReactiveApiConfig(Environment environment) {
+        if (environment.getProperty("app.sharding.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("app.reactive and app.sharding cannot be enabled together");
+        }
+    }
+
+    @Bean
+    public ReactiveApiServer reactiveApiServer(JwtTokenProvider jwtTokenProvider,
+                                               ObjectMapper objectMapper,
+                                               OccurrenceExpander occurrenceExpander,
+                                               @Value("${app.reactive.port:8081}") int port,
+                                               @Value("${app.reactive.r2dbc-url}") String url,
+                                               @Value("${spring.datasource.username}") String username,
+                                               @Value("${spring.datasource.password}") String password,
+                                               @Value("${app.reactive.pool.max-size:10}") int maxSize) {
+
+        // Deliberately not a bean: a ConnectionFactory in the context would bring in R2DBC
+        // auto-configuration (and a second transaction manager) next to JPA
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .initialSize(1)
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .name("reactive")
+                .build());
+
+        ReactiveTaskHandler handler = new ReactiveTaskHandler(
+                new ReactiveTaskRepository(DatabaseClient.create(connectionPool), occurrenceExpander), jwtTokenProvider);
+        RouterFunction<ServerResponse> routes = routes(handler);
+
+        // Same ObjectMapper as the MVC side, so both APIs serialize TaskResponse identically
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        log.info("Reactive read API enabled on port {} with up to {} R2DBC connections", port, maxSize);
+        return new ReactiveApiServer(RouterFunctions.toHttpHandler(routes, strategies), connectionPool, port);
+    }
+
+    // The /api/tasks read routes, shared with ReactiveTaskHandlerTest
+    static RouterFunction<ServerResponse> routes(ReactiveTaskHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/tasks", builder -> builder
+                        .GET("", handler::getAllTasks)
+                        .GET("/status/{status}", handler::getTasksByStatus)
+                        .GET("/priority/{priority}", handler::getTasksByPriority)
+                        .GET("/search", handler::searchTasks)
+                        .GET("/overdue", handler::getOverdueTasks)
+                        .GET("/statistics", handler::getTaskStatistics))
+                .filter(handler.authentication())
+                .onError(IllegalArgumentException.class, (ex, request) -> ServerResponse
+                        .status(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("status", HttpStatus.BAD_REQUEST.value(), "message", ex.getMessage())))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.testhahn.hahntestback.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Second HTTP server, next to Tomcat, running the reactive read API on Reactor Netty's
+ * event loop. A handful of event-loop threads serve every in-flight request.
+ */
+@Slf4j
+public class ReactiveApiServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final ConnectionPool connectionPool;
+    private final int port;
+    private volatile DisposableServer server;
+
+    public ReactiveApiServer(HttpHandler httpHandler, ConnectionPool connectionPool, int port) {
+        this.httpHandler = httpHandler;
+        this.connectionPool = connectionPool;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Reactive read API listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer running = server;
+        server = null;
+        if (running != null) {
+            running.disposeNow();
+        }
+        connectionPool.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        DisposableServer running = server;
+        return running != null ? running.port() : port;
+    }
+}
@@ -0,0 +1,140 @@
+package com.testhahn.hahntestback.reactive;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.exception.errorResponse.ErrorResponse;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Read endpoints of TaskController on the non-blocking stack.
+ *
+ * Lists are streamed: with Accept: application/x-ndjson each task is written as soon as its
+ * row arrives, and the database is only asked for more rows as the client keeps reading.
+ */
+@Slf4j
+public class ReactiveTaskHandler {
+
+    private static final String USER_ID_ATTRIBUTE = "reactive.userId";
+
+    private final ReactiveTaskRepository repository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public ReactiveTaskHandler(ReactiveTaskRepository repository, JwtTokenProvider jwtTokenProvider) {
+        this.repository = repository;
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    // Same bearer-token contract as JwtAuthenticationFilter, resolved to the user id once per request
+    public HandlerFilterFunction<ServerResponse, ServerResponse> authentication() {
+        return (request, next) -> {
+            String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+            if (header == null || !header.startsWith("Bearer ")) {
+                return error(HttpStatus.UNAUTHORIZED, "Missing bearer token");
+            }
+
+            String token = header.substring(7);
+            String username;
+            try {
+                if (!jwtTokenProvider.validateToken(token)) {
+                    return error(HttpStatus.UNAUTHORIZED, "Invalid token");
+                }
+                username = jwtTokenProvider.getUsernameFromToken(token);
+            } catch (RuntimeException ex) {
+                return error(HttpStatus.UNAUTHORIZED, "Invalid token");
+            }
+
+            return repository.findUserId(username)
+                    .flatMap(userId -> {
+                        request.attributes().put(USER_ID_ATTRIBUTE, userId);
+                        return next.handle(request);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> error(HttpStatus.UNAUTHORIZED, "Unknown user")));
+        };
+    }
+
+    public Mono<ServerResponse> getAllTasks(ServerRequest request) {
+        Long userId = userId(request);
+        return list(request, repository.findByUserId(userId), repository.findVirtualOccurrences(userId, task -> true));
+    }
+
+    // Deferred, so an unknown enum value reaches the router's IllegalArgumentException handler as a 400
+    public Mono<ServerResponse> getTasksByStatus(ServerRequest request) {
+        return Mono.defer(() -> {
+            TaskStatusEnum status = TaskStatusEnum.valueOf(request.pathVariable("status"));
+            Long userId = userId(request);
+            return list(request, repository.findByUserIdAndStatus(userId, status),
+                    repository.findVirtualOccurrences(userId, task -> task.getStatus() == status));
+        });
+    }
+
+    public Mono<ServerResponse> getTasksByPriority(ServerRequest request) {
+        return Mono.defer(() -> {
+            TaskPriorityEnum priority = TaskPriorityEnum.valueOf(request.pathVariable("priority"));
+            Long userId = userId(request);
+            return list(request, repository.findByUserIdAndPriority(userId, priority),
+                    repository.findVirtualOccurrences(userId, task -> task.getPriority() == priority));
+        });
+    }
+
+    public Mono<ServerResponse> searchTasks(ServerRequest request) {
+        Long userId = userId(request);
+        return request.queryParam("title")
+                .map(title -> list(request, repository.searchByTitle(userId, title),
+                        repository.findVirtualOccurrences(userId,
+                                task -> task.getTitle().toLowerCase().contains(title.toLowerCase()))))
+                .orElseGet(() -> error(HttpStatus.BAD_REQUEST, "Query parameter 'title' is required"));
+    }
+
+    public Mono<ServerResponse> getOverdueTasks(ServerRequest request) {
+        Long userId = userId(request);
+        return list(request, repository.findOverdue(userId), repository.findVirtualOccurrences(userId, Task::isOverdue));
+    }
+
+    public Mono<ServerResponse> getTaskStatistics(ServerRequest request) {
+        return repository.statistics(userId(request))
+                .flatMap(stats -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of(
+                        "total", stats.total(),
+                        "pending", stats.pending(),
+                        "inProgress", stats.inProgress(),
+                        "completed", stats.completed(),
+                        "overdue", stats.overdue(),
+                        "critical", stats.critical()
+                )));
+    }
+
+    // Stored tasks first, then the matching virtual occurrences, as TaskServiceImpl orders them
+    private Mono<ServerResponse> list(ServerRequest request, Flux<TaskResponse> stored, Flux<TaskResponse> occurrences) {
+        Flux<TaskResponse> tasks = Flux.concat(stored, occurrences);
+        boolean streaming = request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::isCompatibleWith);
+        MediaType contentType = streaming ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(tasks, TaskResponse.class);
+    }
+
+    private static Long userId(ServerRequest request) {
+        return (Long) request.attributes().get(USER_ID_ATTRIBUTE);
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(error);
+    }
+}
@@ -0,0 +1,218 @@
+package com.testhahn.hahntestback.reactive;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.TagSetConverter;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskStatistics;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking read queries over the same tables JPA writes to.
+ * Rows are mapped through detached Task objects and TaskResponse.fromEntity, and virtual
+ * occurrences come from the same OccurrenceExpander, so both APIs return the same tasks.
+ */
+public class ReactiveTaskRepository {
+
+    private static final String TASK_COLUMNS = "id, title, description, status, priority, due_date, "
+            + "created_at, updated_at, series_id, occurrence_date, parent_id, tags";
+    private static final String SERIES_COLUMNS = "id, title, description, priority, frequency, repeat_interval, "
+            + "start_date, until_date, created_at, updated_at";
+    private static final TagSetConverter TAGS = new TagSetConverter();
+
+    private final DatabaseClient databaseClient;
+    private final OccurrenceExpander occurrenceExpander;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient, OccurrenceExpander occurrenceExpander) {
+        this.databaseClient = databaseClient;
+        this.occurrenceExpander = occurrenceExpander;
+    }
+
+    // Not cached: a user disabled since the token was issued loses access on the next request
+    public Mono<Long> findUserId(String username) {
+        return databaseClient.sql("SELECT id FROM users WHERE username = :username AND is_enabled = TRUE")
+                .bind("username", username)
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Flux<TaskResponse> findByUserId(Long userId) {
+        return databaseClient.sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = :userId "
+                        + "ORDER BY created_at DESC")
+                .bind("userId", userId)
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    public Flux<TaskResponse> findByUserIdAndStatus(Long userId, TaskStatusEnum status) {
+        return databaseClient.sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = :userId AND status = :status")
+                .bind("userId", userId)
+                .bind("status", status.name())
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    public Flux<TaskResponse> findByUserIdAndPriority(Long userId, TaskPriorityEnum priority) {
+        return databaseClient.sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = :userId AND priority = :priority")
+                .bind("userId", userId)
+                .bind("priority", priority.name())
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    public Flux<TaskResponse> searchByTitle(Long userId, String title) {
+        return databaseClient.sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = :userId "
+                        + "AND LOWER(title) LIKE :title ESCAPE '\\'")
+                .bind("userId", userId)
+                // Literal match, as findByUserIdAndTitleContainingIgnoreCase on the MVC side
+                .bind("title", "%" + title.toLowerCase().replace("\\", "\\\\").replace("%", "\\%")
+                        .replace("_", "\\_") + "%")
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    public Flux<TaskResponse> findOverdue(Long userId) {
+        return databaseClient.sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = :userId "
+                        + "AND due_date < :today AND status IN ('PENDING', 'IN_PROGRESS')")
+                .bind("userId", userId)
+                .bind("today", LocalDate.now())
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    // Virtual occurrences of the user's recurring tasks (default window) matching the filter, ordered by date
+    public Flux<TaskResponse> findVirtualOccurrences(Long userId, Predicate<Task> filter) {
+        return virtualOccurrences(userId)
+                .flatMapIterable(occurrences -> occurrences)
+                .filter(filter)
+                .map(TaskResponse::fromEntity);
+    }
+
+    // The six statistics counts in one round trip, plus the virtual occurrences
+    public Mono<TaskStatistics> statistics(Long userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total, "
+                        + "SUM(CASE WHEN status = 'PENDING' THEN 1 ELSE 0 END) AS pending, "
+                        + "SUM(CASE WHEN status = 'IN_PROGRESS' THEN 1 ELSE 0 END) AS in_progress, "
+                        + "SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) AS completed, "
+                        + "SUM(CASE WHEN due_date < :today AND status IN ('PENDING', 'IN_PROGRESS') THEN 1 ELSE 0 END) AS overdue, "
+                        + "SUM(CASE WHEN priority IN ('HIGH', 'URGENT') THEN 1 ELSE 0 END) AS critical "
+                        + "FROM tasks WHERE user_id = :userId")
+                .bind("userId", userId)
+                .bind("today", LocalDate.now())
+                .map((row, metadata) -> new TaskStatistics(
+                        count(row, "total"),
+                        count(row, "pending"),
+                        count(row, "in_progress"),
+                        count(row, "completed"),
+                        count(row, "overdue"),
+                        count(row, "critical")))
+                .one()
+                .zipWith(virtualOccurrences(userId), ReactiveTaskRepository::withOccurrences);
+    }
+
+    // Virtual occurrences are all PENDING, as in TaskServiceImpl.getTaskStatistics
+    private static TaskStatistics withOccurrences(TaskStatistics stored, List<Task> occurrences) {
+        long overdue = occurrences.stream().filter(Task::isOverdue).count();
+        long critical = occurrences.stream().filter(Task::isCritical).count();
+        return new TaskStatistics(stored.total() + occurrences.size(), stored.pending() + occurrences.size(),
+                stored.inProgress(), stored.completed(), stored.overdue() + overdue, stored.critical() + critical);
+    }
+
+    Mono<List<Task>> virtualOccurrences(Long userId) {
+        return databaseClient.sql("SELECT " + SERIES_COLUMNS + " FROM task_series WHERE user_id = :userId "
+                        + "ORDER BY start_date")
+                .bind("userId", userId)
+                .map((row, metadata) -> toSeries(row))
+                .all()
+                .collectList()
+                .flatMap(seriesList -> seriesList.isEmpty()
+                        ? Mono.just(List.<Task>of())
+                        : withExceptions(userId, seriesList)
+                                .then(materialized(userId))
+                                .map(materialized -> occurrenceExpander.virtualOccurrences(seriesList, materialized)));
+    }
+
+    private Mono<Void> withExceptions(Long userId, List<TaskSeries> seriesList) {
+        Map<Long, TaskSeries> byId = new HashMap<>();
+        seriesList.forEach(series -> byId.put(series.getId(), series));
+        return databaseClient.sql("SELECT e.series_id, e.exception_date FROM task_series_exceptions e "
+                        + "JOIN task_series s ON s.id = e.series_id WHERE s.user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> new OccurrenceExpander.Occurrence(
+                        row.get("series_id", Long.class), row.get("exception_date", LocalDate.class)))
+                .all()
+                .doOnNext(exception -> {
+                    TaskSeries series = byId.get(exception.seriesId());
+                    if (series != null) {
+                        series.getExceptions().add(exception.date());
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Set<OccurrenceExpander.Occurrence>> materialized(Long userId) {
+        return databaseClient.sql("SELECT series_id, occurrence_date FROM tasks "
+                        + "WHERE user_id = :userId AND series_id IS NOT NULL")
+                .bind("userId", userId)
+                .map((row, metadata) -> new OccurrenceExpander.Occurrence(
+                        row.get("series_id", Long.class), row.get("occurrence_date", LocalDate.class)))
+                .all()
+                .collect(HashSet::new, Set::add);
+    }
+
+    private static long count(Row row, String column) {
+        Long value = row.get(column, Long.class);
+        return value != null ? value : 0L;
+    }
+
+    // A detached Task, so the computed fields come from TaskResponse.fromEntity as on the MVC side
+    static TaskResponse toResponse(Row row) {
+        Task task = Task.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .status(TaskStatusEnum.valueOf(row.get("status", String.class)))
+                .priority(TaskPriorityEnum.valueOf(row.get("priority", String.class)))
+                .dueDate(row.get("due_date", LocalDate.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .seriesId(row.get("series_id", Long.class))
+                .occurrenceDate(row.get("occurrence_date", LocalDate.class))
+                .parentId(row.get("parent_id", Long.class))
+                .tags(TAGS.convertToEntityAttribute(row.get("tags", String.class)))
+                .build();
+        return TaskResponse.fromEntity(task);
+    }
+
+    private static TaskSeries toSeries(Row row) {
+        Integer interval = row.get("repeat_interval", Integer.class);
+        return TaskSeries.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .priority(TaskPriorityEnum.valueOf(row.get("priority", String.class)))
+                .frequency(RecurrenceFrequencyEnum.valueOf(row.get("frequency", String.class)))
+                .interval(interval != null ? interval : 1)
+                .startDate(row.get("start_date", LocalDate.class))
+                .untilDate(row.get("until_date", LocalDate.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.testhahn.hahntestback.readmodel;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-model", name = "enabled", havingValue = "true")
+public class ReadModelConfig {
+
+    @Bean
+    public TaskReadModelProjector taskReadModelProjector(DataSource dataSource,
+                                                         ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                                         MeterRegistry meterRegistry,
+                                                         @Value("${app.read-model.flush-interval:100ms}") Duration flushInterval,
+                                                         @Value("${app.read-model.batch-size:500}") int batchSize) {
+        // Sharded, each shard holds the changes and rows of its own users and is flushed on its own
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        Map<String, DataSource> shards = sharded != null ? sharded.getShards() : Map.of("default", dataSource);
+        return new TaskReadModelProjector(dataSource, shards, meterRegistry,
+                new TaskReadModelProjector.Settings(flushInterval, batchSize));
+    }
+
+    @Bean
+    public TaskReadModelReader taskReadModelReader(DataSource dataSource,
+                                                   PlatformTransactionManager transactionManager,
+                                                   TaskReadModelProjector projector,
+                                                   OccurrenceExpander occurrenceExpander,
+                                                   MeterRegistry meterRegistry,
+                                                   @Value("${app.read-model.max-staleness:2s}") Duration maxStaleness) {
+        return new TaskReadModelReader(dataSource, transactionManager, projector, occurrenceExpander,
+                meterRegistry, maxStaleness);
+    }
+}
@@ -0,0 +1,308 @@
+package com.testhahn.hahntestback.readmodel;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps task_read_model in step with committed task changes, off the request thread.
+ *
+ * A task change records its task id in task_read_model_changes, in the transaction of the change,
+ * so every instance sees it once it commits. Every flush interval each shard's oldest changes are
+ * claimed (for update skip locked, so instances running side by side split the work), re-read from
+ * tasks, and their rows replaced and claims deleted in one transaction. A task changed again while
+ * its row was being written waits for that transaction and stays pending. On start, and on every
+ * flush until it succeeds, each shard's rows missing, orphaned or older than their task are
+ * reconciled before the read model is reported ready.
+ *
+ * Lag is the time from commit to projection (task.read_model.lag); the reader compares
+ * staleness() with its bound and falls back to the tasks table past it.
+ */
+@Slf4j
+public class TaskReadModelProjector implements SmartLifecycle {
+
+    private static final String TASK_COLUMNS = "id, user_id, title, description, status, priority, due_date, "
+            + "created_at, updated_at, series_id, occurrence_date, parent_id, tags";
+    private static final String INSERT_SQL = "insert into task_read_model (task_id, user_id, title, description, "
+            + "status, priority, due_date, created_at, updated_at, critical, can_be_edited, series_id, "
+            + "occurrence_date, parent_id, tags, projected_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CLAIM_SQL = "select task_id, changed_at, localtimestamp as claimed_at "
+            + "from task_read_model_changes order by changed_at, task_id limit :limit for update skip locked";
+    private static final String BACKLOG_SQL = "select count(*) as pending, min(changed_at) as oldest, "
+            + "localtimestamp as checked_at from task_read_model_changes";
+    // Rows missing, older than their task, or with a parent or series changed by a bulk update
+    // (reparentChildren, detachFromSeries) whose projection was missed
+    private static final String ENQUEUE_STALE_SQL = "insert into task_read_model_changes "
+            + "(task_id, user_id, changed_at) select t.id, t.user_id, localtimestamp "
+            + "from tasks t left join task_read_model r on r.task_id = t.id "
+            + "where r.task_id is null or r.updated_at <> t.updated_at "
+            + "or coalesce(r.parent_id, -1) <> coalesce(t.parent_id, -1) "
+            + "or coalesce(r.series_id, -1) <> coalesce(t.series_id, -1) on conflict do nothing";
+    // Subtasks of deleted tasks, moved up by a bulk update that published no event for them
+    private static final String ENQUEUE_CHILDREN_SQL = "insert into task_read_model_changes "
+            + "(task_id, user_id, changed_at) select task_id, user_id, localtimestamp from task_read_model "
+            + "where parent_id in (:deleted) and task_id not in (:ids) on conflict do nothing";
+    private static final String ORPHANS_SQL = "delete from task_read_model where not exists "
+            + "(select 1 from tasks t where t.id = task_read_model.task_id)";
+
+    private final JdbcTemplate changeJdbcTemplate;
+    private final List<Shard> shards;
+    private final Settings settings;
+    private final Timer lagTimer;
+    private final Counter failures;
+
+    private ScheduledExecutorService worker;
+    private volatile boolean running;
+    private volatile boolean ready;
+
+    /**
+     * dataSource takes the change records, in the caller's transaction; shards are flushed and
+     * reconciled one by one (the same data source when not sharded).
+     */
+    public TaskReadModelProjector(DataSource dataSource, Map<String, DataSource> shards,
+                                  MeterRegistry meterRegistry, Settings settings) {
+        this.changeJdbcTemplate = new JdbcTemplate(dataSource);
+        this.shards = shards.entrySet().stream()
+                .map(shard -> new Shard(shard.getKey(), shard.getValue()))
+                .toList();
+        this.settings = settings;
+        this.lagTimer = Timer.builder("task.read_model.lag")
+                .description("Time from a task change committing to its read model row being written")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.failures = Counter.builder("task.read_model.failures")
+                .description("Projection batches that failed and were retried")
+                .register(meterRegistry);
+        Gauge.builder("task.read_model.pending", this, TaskReadModelProjector::pending)
+                .description("Committed task changes not projected yet, as of the last flush")
+                .register(meterRegistry);
+        Gauge.builder("task.read_model.staleness", this, projector -> projector.staleness().toMillis() / 1000.0)
+                .description("Age in seconds of the oldest change not projected yet")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-read-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        worker.scheduleWithFixedDelay(this::flush, 0, settings.flushInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        ready = false;
+        if (worker != null) {
+            worker.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // In the transaction of the change: the record commits or rolls back with it
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        markPending(event.taskId(), event.userId());
+    }
+
+    // Upper bound on how far the read model is behind: the oldest change left by the last flush of
+    // each shard, plus the time since that flush (changes committed meanwhile can't be older)
+    public Duration staleness() {
+        long now = System.nanoTime();
+        Duration staleness = Duration.ZERO;
+        for (Shard shard : shards) {
+            Backlog backlog = shard.backlog;
+            Duration shardStaleness = backlog.oldestAge().plusNanos(Math.max(0, now - backlog.checkedAtNanos()));
+            if (shardStaleness.compareTo(staleness) > 0) {
+                staleness = shardStaleness;
+            }
+        }
+        return staleness;
+    }
+
+    void markPending(Long taskId, Long userId) {
+        // Waits for a flush that has claimed the previous change of this task, so it stays pending
+        changeJdbcTemplate.update("delete from task_read_model_changes where task_id = ?", taskId);
+        changeJdbcTemplate.update("insert into task_read_model_changes (task_id, user_id, changed_at) "
+                + "values (?, ?, localtimestamp)", taskId, userId);
+    }
+
+    void flush() {
+        if (!ready) {
+            reconcileAndMarkReady();
+        }
+        for (Shard shard : shards) {
+            try {
+                List<Claim> projected = shard.transactionTemplate.execute(status -> projectClaimed(shard));
+                if (projected != null) {
+                    projected.forEach(claim -> lagTimer.record(nonNegative(claim.changedAt(), claim.claimedAt())));
+                }
+            } catch (RuntimeException ex) {
+                // Rolled back and still recorded: retried on the next flush, and reads fall back once too old
+                failures.increment();
+                log.error("Projecting task changes on shard {} failed: {}", shard.name, ex.getMessage(), ex);
+            }
+            try {
+                shard.backlog = shard.jdbcTemplate.queryForObject(BACKLOG_SQL, Map.of(), (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest");
+                    Duration age = oldest == null ? Duration.ZERO
+                            : nonNegative(oldest.toLocalDateTime(), rs.getTimestamp("checked_at").toLocalDateTime());
+                    return new Backlog(rs.getLong("pending"), age, System.nanoTime());
+                });
+            } catch (RuntimeException ex) {
+                // The previous backlog keeps aging, so reads fall back if this persists
+                log.error("Reading the read model backlog of shard {} failed: {}", shard.name, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    // Startup catch-up for changes that were never projected (crash, projector disabled for a while):
+    // the tasks concerned are recorded as changed, and projected by the next flushes
+    void reconcile() {
+        for (Shard shard : shards) {
+            int[] counts = shard.transactionTemplate.execute(status -> new int[]{
+                    shard.jdbcTemplate.getJdbcTemplate().update(ENQUEUE_STALE_SQL),
+                    shard.jdbcTemplate.getJdbcTemplate().update(ORPHANS_SQL)});
+            log.info("Read model of shard {} reconciled: {} rows queued for rewrite, {} orphaned rows removed",
+                    shard.name, counts[0], counts[1]);
+        }
+    }
+
+    // Replaces the rows of these tasks with their current state; rows of deleted tasks are dropped
+    private void project(Shard shard, Set<Long> ids) {
+        List<Object[]> rows = readTasks(shard.jdbcTemplate, ids);
+        if (rows.size() < ids.size()) {
+            Set<Long> deleted = new HashSet<>(ids);
+            rows.forEach(row -> deleted.remove((Long) row[0]));
+            shard.jdbcTemplate.update(ENQUEUE_CHILDREN_SQL, Map.of("deleted", deleted, "ids", ids));
+        }
+        shard.jdbcTemplate.update("delete from task_read_model where task_id in (:ids)", Map.of("ids", ids));
+        shard.jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, rows);
+    }
+
+    // One transaction: claims the oldest changes, rewrites their rows and deletes the claims
+    private List<Claim> projectClaimed(Shard shard) {
+        List<Claim> claims = shard.jdbcTemplate.query(CLAIM_SQL, Map.of("limit", settings.batchSize()),
+                (rs, rowNum) -> new Claim(rs.getLong("task_id"), rs.getTimestamp("changed_at").toLocalDateTime(),
+                        rs.getTimestamp("claimed_at").toLocalDateTime()));
+        if (claims.isEmpty()) {
+            return claims;
+        }
+        Set<Long> ids = new HashSet<>();
+        claims.forEach(claim -> ids.add(claim.taskId()));
+        project(shard, ids);
+        shard.jdbcTemplate.update("delete from task_read_model_changes where task_id in (:ids)", Map.of("ids", ids));
+        return claims;
+    }
+
+    private void reconcileAndMarkReady() {
+        try {
+            reconcile();
+            ready = true;
+        } catch (RuntimeException ex) {
+            // Not ready: every read keeps going to the tasks table, and the next flush tries again
+            log.error("Read model reconciliation failed, serving reads from the tasks table: {}",
+                    ex.getMessage(), ex);
+        }
+    }
+
+    // Both read from the database clock; writers and the flush may see slightly different ones
+    private static Duration nonNegative(LocalDateTime from, LocalDateTime to) {
+        Duration duration = Duration.between(from, to);
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private long pending() {
+        return shards.stream().mapToLong(shard -> shard.backlog.pending()).sum();
+    }
+
+    // Task columns plus the derived ones, in INSERT_SQL order
+    private static List<Object[]> readTasks(NamedParameterJdbcTemplate jdbcTemplate, Collection<Long> ids) {
+        LocalDateTime projectedAt = LocalDateTime.now();
+        return new ArrayList<>(jdbcTemplate.query("select " + TASK_COLUMNS + " from tasks where id in (:ids)",
+                Map.of("ids", ids), (rs, rowNum) -> {
+                    TaskStatusEnum status = TaskStatusEnum.valueOf(rs.getString("status"));
+                    TaskPriorityEnum priority = TaskPriorityEnum.valueOf(rs.getString("priority"));
+                    return new Object[]{
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            rs.getString("title"),
+                            rs.getString("description"),
+                            status.name(),
+                            priority.name(),
+                            rs.getObject("due_date"),
+                            rs.getObject("created_at"),
+                            rs.getObject("updated_at"),
+                            priority.isCritical(),
+                            status.isEditable(),
+                            rs.getObject("series_id"),
+                            rs.getObject("occurrence_date"),
+                            rs.getObject("parent_id"),
+                            rs.getString("tags"),
+                            projectedAt
+                    };
+                }));
+    }
+
+    private static final class Shard {
+
+        private final String name;
+        private final NamedParameterJdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+        private volatile Backlog backlog = new Backlog(0, Duration.ZERO, System.nanoTime());
+
+        private Shard(String name, DataSource dataSource) {
+            this.name = name;
+            this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+
+    private record Claim(Long taskId, LocalDateTime changedAt, LocalDateTime claimedAt) {
+    }
+
+    // Changes left after a flush, the age of the oldest by the database clock, and when it was read
+    private record Backlog(long pending, Duration oldestAge, long checkedAtNanos) {
+    }
+
+    public record Settings(Duration flushInterval, int batchSize) {
+    }
+}
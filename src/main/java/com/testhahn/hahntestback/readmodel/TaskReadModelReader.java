@@ -0,0 +1,161 @@
+package com.testhahn.hahntestback.readmodel;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * The TaskController list reads, served from task_read_model: one indexed query per list and
+ * no entity mapping. Each method returns empty when the read model can't be trusted for that
+ * user, and the caller reads the tasks table instead: while the projector isn't ready, while
+ * one of the user's own changes, made through any instance, is still recorded in
+ * task_read_model_changes (read-your-writes), and when the oldest pending change is older than
+ * app.read-model.max-staleness.
+ *
+ * Results match TaskService: same rows, overdue computed for today, and the virtual
+ * occurrences of recurring tasks appended.
+ */
+@Slf4j
+public class TaskReadModelReader {
+
+    private static final String COLUMNS = "select task_id, title, description, status, priority, due_date, "
+            + "created_at, updated_at, critical, can_be_edited, series_id, occurrence_date, parent_id, tags "
+            + "from task_read_model where user_id = :userId";
+    private static final String NEWEST_FIRST = " order by created_at desc";
+    private static final String USER_PENDING_SQL = "select count(*) from task_read_model_changes "
+            + "where user_id = :userId";
+
+    private static final RowMapper<TaskResponse> ROW_MAPPER = (rs, rowNum) -> {
+        TaskStatusEnum status = TaskStatusEnum.valueOf(rs.getString("status"));
+        Date dueDate = rs.getDate("due_date");
+        Date occurrenceDate = rs.getDate("occurrence_date");
+        String tags = rs.getString("tags");
+        LocalDate due = dueDate != null ? dueDate.toLocalDate() : null;
+
+        return TaskResponse.builder()
+                .id(rs.getLong("task_id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .status(status)
+                .priority(TaskPriorityEnum.valueOf(rs.getString("priority")))
+                .dueDate(due)
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                // The one date-dependent field, so it's not stored
+                .overdue(due != null && due.isBefore(LocalDate.now()) && status.isActive())
+                .critical(rs.getBoolean("critical"))
+                .canBeEdited(rs.getBoolean("can_be_edited"))
+                .seriesId(rs.getObject("series_id", Long.class))
+                .occurrenceDate(occurrenceDate != null ? occurrenceDate.toLocalDate() : null)
+                .parentId(rs.getObject("parent_id", Long.class))
+                .tags(tags == null || tags.isEmpty() ? List.of() : Arrays.asList(tags.split(",")))
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskReadModelProjector projector;
+    private final OccurrenceExpander occurrenceExpander;
+    private final Duration maxStaleness;
+    private final Counter servedReads;
+    private final Counter fallbackReads;
+
+    public TaskReadModelReader(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               TaskReadModelProjector projector, OccurrenceExpander occurrenceExpander,
+                               MeterRegistry meterRegistry, Duration maxStaleness) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        // Read-only, so it goes to a replica when read routing is enabled
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.projector = projector;
+        this.occurrenceExpander = occurrenceExpander;
+        this.maxStaleness = maxStaleness;
+        this.servedReads = meterRegistry.counter("task.read_model.reads", "source", "read_model");
+        this.fallbackReads = meterRegistry.counter("task.read_model.reads", "source", "tasks");
+    }
+
+    public Optional<List<TaskResponse>> findAll(Long userId) {
+        return read(userId, COLUMNS + NEWEST_FIRST, Map.of("userId", userId), task -> true);
+    }
+
+    public Optional<List<TaskResponse>> findByStatus(Long userId, TaskStatusEnum status) {
+        return read(userId, COLUMNS + " and status = :status" + NEWEST_FIRST,
+                Map.of("userId", userId, "status", status.name()), task -> task.getStatus() == status);
+    }
+
+    public Optional<List<TaskResponse>> findByPriority(Long userId, TaskPriorityEnum priority) {
+        return read(userId, COLUMNS + " and priority = :priority" + NEWEST_FIRST,
+                Map.of("userId", userId, "priority", priority.name()), task -> task.getPriority() == priority);
+    }
+
+    public Optional<List<TaskResponse>> searchByTitle(Long userId, String title) {
+        String needle = title.toLowerCase();
+        String pattern = "%" + needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return read(userId, COLUMNS + " and lower(title) like :title escape '\\'" + NEWEST_FIRST,
+                Map.of("userId", userId, "title", pattern), task -> task.getTitle().toLowerCase().contains(needle));
+    }
+
+    public Optional<List<TaskResponse>> findOverdue(Long userId) {
+        return read(userId, COLUMNS + " and due_date < :today and status in ('PENDING', 'IN_PROGRESS')" + NEWEST_FIRST,
+                Map.of("userId", userId, "today", LocalDate.now()), Task::isOverdue);
+    }
+
+    private Optional<List<TaskResponse>> read(Long userId, String sql, Map<String, Object> params,
+                                              Predicate<Task> occurrenceFilter) {
+        if (!projector.isReady() || projector.staleness().compareTo(maxStaleness) > 0) {
+            return fallback(userId);
+        }
+        List<TaskResponse> result = readOnlyTransaction.execute(status -> {
+            // Checked in the same transaction as the read: a change projected since then is in the rows
+            Integer pending = jdbcTemplate.queryForObject(USER_PENDING_SQL, Map.of("userId", userId), Integer.class);
+            if (pending == null || pending > 0) {
+                return null;
+            }
+            List<TaskResponse> tasks = jdbcTemplate.query(sql, params, ROW_MAPPER);
+            List<Task> occurrences = occurrenceExpander.virtualOccurrences(userId);
+            if (occurrences.isEmpty()) {
+                return tasks;
+            }
+            List<TaskResponse> withOccurrences = new ArrayList<>(tasks);
+            occurrences.stream().filter(occurrenceFilter).map(TaskResponse::fromEntity).forEach(withOccurrences::add);
+            return withOccurrences;
+        });
+        if (result == null) {
+            return fallback(userId);
+        }
+        servedReads.increment();
+        return Optional.of(result);
+    }
+
+    private Optional<List<TaskResponse>> fallback(Long userId) {
+        fallbackReads.increment();
+        log.debug("Read model can't serve user ID: {}, reading tasks", userId);
+        return Optional.empty();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
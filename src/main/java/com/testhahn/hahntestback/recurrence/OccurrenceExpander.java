@@ -0,0 +1,102 @@
+package com.testhahn.hahntestback.recurrence;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.TaskSeriesRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands a user's recurring tasks into virtual occurrences for a date window. A virtual
+ * occurrence is an unsaved PENDING Task (id null, seriesId and occurrenceDate set) due on its
+ * date; occurrences already materialized as stored tasks are left out, the stored task stands
+ * in for them.
+ *
+ * Reads without an explicit window (lists, filters, overdue, statistics) use
+ * [today - lookback-days, today + lookahead-days].
+ */
+@Component
+public class OccurrenceExpander {
+
+    private final TaskSeriesRepository taskSeriesRepository;
+    private final TaskRepository taskRepository;
+    private final int lookbackDays;
+    private final int lookaheadDays;
+
+    public OccurrenceExpander(TaskSeriesRepository taskSeriesRepository,
+                              TaskRepository taskRepository,
+                              @Value("${app.recurrence.lookback-days:30}") int lookbackDays,
+                              @Value("${app.recurrence.lookahead-days:30}") int lookaheadDays) {
+        this.taskSeriesRepository = taskSeriesRepository;
+        this.taskRepository = taskRepository;
+        this.lookbackDays = lookbackDays;
+        this.lookaheadDays = lookaheadDays;
+    }
+
+    public List<Task> virtualOccurrences(Long userId) {
+        LocalDate today = LocalDate.now();
+        return virtualOccurrences(userId, today.minusDays(lookbackDays), today.plusDays(lookaheadDays));
+    }
+
+    // Ordered by date
+    public List<Task> virtualOccurrences(Long userId, LocalDate from, LocalDate to) {
+        List<TaskSeries> seriesList = taskSeriesRepository.findByUserIdOrderByStartDateAsc(userId);
+        if (seriesList.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Occurrence> materialized = new HashSet<>();
+        List<Long> seriesIds = seriesList.stream().map(TaskSeries::getId).toList();
+        for (Object[] row : taskRepository.findMaterializedOccurrences(seriesIds, from, to)) {
+            materialized.add(new Occurrence((Long) row[0], (LocalDate) row[1]));
+        }
+        return expand(seriesList, materialized, from, to);
+    }
+
+    // Default window over series and materialized occurrences the caller loaded itself (reactive API)
+    public List<Task> virtualOccurrences(List<TaskSeries> seriesList, Set<Occurrence> materialized) {
+        LocalDate today = LocalDate.now();
+        return expand(seriesList, materialized, today.minusDays(lookbackDays), today.plusDays(lookaheadDays));
+    }
+
+    private static List<Task> expand(List<TaskSeries> seriesList, Set<Occurrence> materialized,
+                                     LocalDate from, LocalDate to) {
+        List<Task> occurrences = new ArrayList<>();
+        for (TaskSeries series : seriesList) {
+            for (LocalDate date : series.rule().occurrencesBetween(from, to)) {
+                if (!materialized.contains(new Occurrence(series.getId(), date))) {
+                    occurrences.add(occurrence(series, date));
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(Task::getDueDate));
+        return occurrences;
+    }
+
+    public static Task occurrence(TaskSeries series, LocalDate date) {
+        return Task.builder()
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .status(TaskStatusEnum.PENDING)
+                .priority(series.getPriority())
+                .dueDate(date)
+                .user(series.getUser())
+                .seriesId(series.getId())
+                .occurrenceDate(date)
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .build();
+    }
+
+    public record Occurrence(Long seriesId, LocalDate date) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.testhahn.hahntestback.recurrence;
+
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Occurrence dates of a series. The n-th occurrence is always computed from the start date
+ * (start + n * interval units), so monthly series clamped to a short month don't drift.
+ */
+public record RecurrenceRule(RecurrenceFrequencyEnum frequency, int interval, LocalDate start, LocalDate until,
+                             Set<LocalDate> exceptions) {
+
+    // Occurrences in [from, to], skipping exceptions; jumps straight to the first one in the window
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        List<LocalDate> dates = new ArrayList<>();
+        if (last.isBefore(start) || last.isBefore(from)) {
+            return dates;
+        }
+        for (long n = firstIndexOnOrAfter(from); ; n++) {
+            LocalDate date = occurrence(n);
+            if (date.isAfter(last)) {
+                return dates;
+            }
+            if (!exceptions.contains(date)) {
+                dates.add(date);
+            }
+        }
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return !occurrencesBetween(date, date).isEmpty();
+    }
+
+    private long firstIndexOnOrAfter(LocalDate from) {
+        if (!from.isAfter(start)) {
+            return 0;
+        }
+        // A lower bound: clamping can only put occurrences earlier than the unit count suggests
+        long n = frequency.getUnit().between(start, from) / interval;
+        while (occurrence(n).isBefore(from)) {
+            n++;
+        }
+        return n;
+    }
+
+    private LocalDate occurrence(long n) {
+        return start.plus(n * interval, frequency.getUnit());
+    }
+}
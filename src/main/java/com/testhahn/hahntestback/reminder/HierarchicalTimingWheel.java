@@ -0,0 +1,155 @@
+package com.testhahn.hahntestback.reminder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel (Varghese & Lauck, as in Kafka's purgatory). Level 0 has wheelSize
+ * buckets of tickMillis each; every further level is wheelSize times coarser and is created only
+ * when a timer falls beyond the levels below. Adding and cancelling are O(1); a timer moves down
+ * one level each time its bucket expires, until it expires in level 0.
+ *
+ * Only non-empty buckets are queued, so advancing over idle time costs nothing. Not thread-safe.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final int wheelSize;
+    private final Level level0;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private final PriorityQueue<Bucket<K>> dueBuckets =
+            new PriorityQueue<>(Comparator.comparingLong((Bucket<K> bucket) -> bucket.expiration));
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.wheelSize = wheelSize;
+        this.level0 = new Level(tickMillis, startMillis);
+    }
+
+    // False when the expiration is already within the current tick: the caller should fire it now
+    public boolean schedule(K key, long expirationMillis) {
+        cancel(key);
+        Timer<K> timer = new Timer<>(key, expirationMillis);
+        if (!level0.add(timer)) {
+            return false;
+        }
+        timers.put(key, timer);
+        return true;
+    }
+
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        if (timer.bucket != null) {
+            timer.bucket.timers.remove(timer);
+            timer.bucket = null;
+        }
+        return true;
+    }
+
+    // Moves the clock to nowMillis and returns the keys that expired, in expiration order of their buckets
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        Bucket<K> bucket;
+        while ((bucket = dueBuckets.peek()) != null && bucket.expiration <= nowMillis) {
+            dueBuckets.poll();
+            level0.advanceClock(bucket.expiration);
+            for (Timer<K> timer : bucket.flush()) {
+                // Re-inserting cascades the timer into a finer level, or reports it as expired
+                if (!level0.add(timer)) {
+                    timers.remove(timer.key);
+                    expired.add(timer.key);
+                }
+            }
+        }
+        level0.advanceClock(nowMillis);
+        return expired;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    private final class Level {
+        private final long tickMillis;
+        private final long intervalMillis;
+        private final List<Bucket<K>> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long tickMillis, long startMillis) {
+            this.tickMillis = tickMillis;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.currentTime = startMillis - (startMillis % tickMillis);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+        }
+
+        private boolean add(Timer<K> timer) {
+            if (timer.expiration < currentTime + tickMillis) {
+                return false;
+            }
+            if (timer.expiration < currentTime + intervalMillis) {
+                long virtualId = timer.expiration / tickMillis;
+                Bucket<K> bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.timers.add(timer);
+                timer.bucket = bucket;
+                // A bucket is reused once per rotation; queue it again when it starts a new one
+                if (bucket.expiration != virtualId * tickMillis) {
+                    bucket.expiration = virtualId * tickMillis;
+                    dueBuckets.add(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(intervalMillis, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        private void advanceClock(long timeMillis) {
+            if (timeMillis >= currentTime + tickMillis) {
+                currentTime = timeMillis - (timeMillis % tickMillis);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket<K> {
+        private final Set<Timer<K>> timers = new LinkedHashSet<>();
+        private long expiration = -1;
+
+        private List<Timer<K>> flush() {
+            List<Timer<K>> flushed = new ArrayList<>(timers);
+            timers.clear();
+            expiration = -1;
+            flushed.forEach(timer -> timer.bucket = null);
+            return flushed;
+        }
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private final long expiration;
+        private Bucket<K> bucket;
+
+        private Timer(K key, long expiration) {
+            this.key = key;
+            this.expiration = expiration;
+        }
+    }
+}
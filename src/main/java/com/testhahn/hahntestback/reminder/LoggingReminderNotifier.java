@@ -0,0 +1,13 @@
+package com.testhahn.hahntestback.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Local stand-in until a mail/push notifier bean is provided
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+
+    @Override
+    public void notify(Reminder reminder) {
+        log.info("Reminder: task {} of user {} is due on {}", reminder.taskId(), reminder.userId(), reminder.dueDate());
+    }
+}
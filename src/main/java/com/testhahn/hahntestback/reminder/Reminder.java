@@ -0,0 +1,7 @@
+package com.testhahn.hahntestback.reminder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record Reminder(Long taskId, Long userId, LocalDate dueDate, LocalDateTime remindAt) {
+}
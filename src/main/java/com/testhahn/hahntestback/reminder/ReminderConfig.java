@@ -0,0 +1,47 @@
+package com.testhahn.hahntestback.reminder;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.repository.ReminderCheckpointRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.reminders", name = "enabled", havingValue = "true")
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReminderNotifier reminderNotifier() {
+        return new LoggingReminderNotifier();
+    }
+
+    @Bean
+    public ReminderScheduler reminderScheduler(TaskRepository taskRepository,
+                                               ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                               ReminderCheckpointRepository checkpointRepository,
+                                               ReminderNotifier reminderNotifier,
+                                               @Value("${app.reminders.lead:24h}") Duration lead,
+                                               @Value("${app.reminders.due-time:09:00}") LocalTime dueTime,
+                                               @Value("${app.reminders.horizon:6h}") Duration horizon,
+                                               @Value("${app.reminders.tick:1s}") Duration tick,
+                                               @Value("${app.reminders.wheel-size:60}") int wheelSize,
+                                               @Value("${app.reminders.checkpoint-interval:1m}") Duration checkpointInterval) {
+        // Sharded, each shard holds the tasks of its own users and is queried on its own
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        Collection<String> shards = sharded != null ? sharded.getShards().keySet() : Set.of("default");
+        return new ReminderScheduler(taskRepository, shards, checkpointRepository, reminderNotifier,
+                new ReminderScheduler.Settings(lead, dueTime, horizon, tick, wheelSize, checkpointInterval),
+                Clock.systemDefaultZone());
+    }
+}
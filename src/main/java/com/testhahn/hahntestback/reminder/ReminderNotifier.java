@@ -0,0 +1,9 @@
+package com.testhahn.hahntestback.reminder;
+
+/**
+ * Delivers due-date reminders. Called on the scheduler thread; an implementation doing slow
+ * I/O (mail, push) should hand the reminder off rather than block the next tick.
+ */
+public interface ReminderNotifier {
+    void notify(Reminder reminder);
+}
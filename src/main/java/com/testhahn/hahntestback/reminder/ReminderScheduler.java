@@ -0,0 +1,248 @@
+package com.testhahn.hahntestback.reminder;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.entity.ReminderCheckpoint;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.ReminderCheckpointRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Due-date reminders without polling the tasks table. A task is reminded `lead` before
+ * dueDate at `dueTime`. Only reminders within the next `horizon` are held, in a hierarchical
+ * timing wheel; the window is extended with one indexed due-date query every horizon / 2.
+ * Task changes are queued after commit and applied to the wheel by the tick thread, so a
+ * committing request never waits for a window load or a notification. Sharded, the window is
+ * loaded from every shard; the checkpoint stays on the home shard.
+ *
+ * The delivered-until time is checkpointed, so a restart only loads reminders after it:
+ * those missed while down are sent at once (if the task isn't due yet), the rest are scheduled.
+ * Delivery is at-least-once around a crash.
+ *
+ * Nothing coordinates instances (no lease on the checkpoint), so every instance with
+ * app.reminders.enabled would send every reminder; it is off by default and must be turned on
+ * for exactly one instance. Only stored tasks are covered: virtual occurrences of a recurring
+ * task have no row to query and get a reminder only once materialized.
+ */
+@Slf4j
+public class ReminderScheduler implements SmartLifecycle {
+
+    static final String CHECKPOINT = "due-date-reminders";
+    private static final List<TaskStatusEnum> ACTIVE = List.of(TaskStatusEnum.PENDING, TaskStatusEnum.IN_PROGRESS);
+
+    private final TaskRepository taskRepository;
+    private final Collection<String> shards;
+    private final ReminderCheckpointRepository checkpointRepository;
+    private final ReminderNotifier notifier;
+    private final Settings settings;
+    private final Clock clock;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private final Map<Long, Reminder> pending = new HashMap<>();
+    // Filled by committing request threads, drained by the tick thread
+    private final Queue<TaskLifecycleEvent> changes = new ConcurrentLinkedQueue<>();
+    private LocalDateTime loadedUntil;
+    private LocalDateTime lastCheckpoint;
+    private ScheduledExecutorService ticker;
+    private volatile boolean running;
+
+    /**
+     * shards are queried one by one for each window (the single data source when not sharded).
+     */
+    public ReminderScheduler(TaskRepository taskRepository, Collection<String> shards,
+                             ReminderCheckpointRepository checkpointRepository, ReminderNotifier notifier,
+                             Settings settings, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.shards = shards;
+        this.checkpointRepository = checkpointRepository;
+        this.notifier = notifier;
+        this.settings = settings;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void start() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        wheel = new HierarchicalTimingWheel<>(settings.tick().toMillis(), settings.wheelSize(), toMillis(now));
+        LocalDateTime resumeFrom = checkpointRepository.findById(CHECKPOINT)
+                .map(ReminderCheckpoint::getDeliveredUntil)
+                .orElse(now);
+
+        loadedUntil = resumeFrom;
+        int missed = load(now.plus(settings.horizon()), now);
+        saveCheckpoint(now);
+        log.info("Reminder scheduler started: resumed from {}, {} missed reminders sent, {} scheduled until {}",
+                resumeFrom, missed, wheel.size(), loadedUntil);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = settings.tick().toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        changes.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    synchronized void tick() {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            // Queued changes first; the window load below then reads rows committed after them
+            TaskLifecycleEvent change;
+            while ((change = changes.poll()) != null) {
+                apply(change, now);
+            }
+            for (Long taskId : wheel.advance(toMillis(now))) {
+                deliver(pending.remove(taskId));
+            }
+            if (!now.plus(settings.horizon().dividedBy(2)).isBefore(loadedUntil)) {
+                load(now.plus(settings.horizon()), now);
+            }
+            if (Duration.between(lastCheckpoint, now).compareTo(settings.checkpointInterval()) >= 0) {
+                saveCheckpoint(now);
+            }
+        } catch (RuntimeException ex) {
+            // Keep ticking; the next tick retries the load and the checkpoint
+            log.error("Reminder tick failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    // Task changes are applied only once committed, on the next tick
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        if (running) {
+            changes.add(event);
+        }
+    }
+
+    public synchronized int scheduledCount() {
+        return wheel != null ? wheel.size() : 0;
+    }
+
+    private void apply(TaskLifecycleEvent event, LocalDateTime now) {
+        if (event.type() == TaskLifecycleEvent.Type.DELETED || event.dueDate() == null || !event.status().isActive()) {
+            unschedule(event.taskId());
+            return;
+        }
+
+        Reminder reminder = reminderFor(event.taskId(), event.userId(), event.dueDate());
+        if (reminder.remindAt().isAfter(loadedUntil)) {
+            // Beyond the loaded window; the window query picks it up later
+            unschedule(event.taskId());
+        } else if (!reminder.remindAt().isAfter(now)) {
+            unschedule(event.taskId());
+            // A new task already inside its reminder period is reminded right away, an edited one is not again
+            if (event.type() == TaskLifecycleEvent.Type.CREATED && !event.dueDate().isBefore(now.toLocalDate())) {
+                deliver(reminder);
+            }
+        } else {
+            schedule(reminder, now);
+        }
+    }
+
+    // Loads reminders in (loadedUntil, until]; the ones already due are delivered. Returns how many were due.
+    private int load(LocalDateTime until, LocalDateTime now) {
+        LocalDateTime from = loadedUntil;
+        LocalDate dueFrom = from.plus(settings.lead()).toLocalDate().minusDays(1);
+        LocalDate dueTo = until.plus(settings.lead()).toLocalDate().plusDays(1);
+        // Reminders for tasks that are already due are not worth sending after a long outage
+        if (dueFrom.isBefore(now.toLocalDate())) {
+            dueFrom = now.toLocalDate();
+        }
+
+        int due = 0;
+        for (String shard : shards) {
+            LocalDate windowFrom = dueFrom;
+            for (Object[] row : ShardContext.callOnShard(shard,
+                    () -> taskRepository.findReminderCandidates(windowFrom, dueTo, ACTIVE))) {
+                Reminder reminder = reminderFor((Long) row[0], (Long) row[1], (LocalDate) row[2]);
+                if (!reminder.remindAt().isAfter(from) || reminder.remindAt().isAfter(until)) {
+                    continue;
+                }
+                if (reminder.remindAt().isAfter(now)) {
+                    schedule(reminder, now);
+                } else {
+                    deliver(reminder);
+                    due++;
+                }
+            }
+        }
+        loadedUntil = until;
+        log.debug("Reminder window extended to {} ({} scheduled)", until, wheel.size());
+        return due;
+    }
+
+    private void schedule(Reminder reminder, LocalDateTime now) {
+        if (wheel.schedule(reminder.taskId(), toMillis(reminder.remindAt()))) {
+            pending.put(reminder.taskId(), reminder);
+        } else {
+            pending.remove(reminder.taskId());
+            deliver(reminder);
+        }
+    }
+
+    private void unschedule(Long taskId) {
+        wheel.cancel(taskId);
+        pending.remove(taskId);
+    }
+
+    private void deliver(Reminder reminder) {
+        if (reminder == null) {
+            return;
+        }
+        try {
+            notifier.notify(reminder);
+        } catch (RuntimeException ex) {
+            log.error("Reminder for task {} could not be delivered: {}", reminder.taskId(), ex.getMessage());
+        }
+    }
+
+    private void saveCheckpoint(LocalDateTime deliveredUntil) {
+        checkpointRepository.save(new ReminderCheckpoint(CHECKPOINT, deliveredUntil));
+        lastCheckpoint = deliveredUntil;
+    }
+
+    private Reminder reminderFor(Long taskId, Long userId, LocalDate dueDate) {
+        return new Reminder(taskId, userId, dueDate, dueDate.atTime(settings.dueTime()).minus(settings.lead()));
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    public record Settings(Duration lead, LocalTime dueTime, Duration horizon, Duration tick, int wheelSize,
+                           Duration checkpointInterval) {
+    }
+}
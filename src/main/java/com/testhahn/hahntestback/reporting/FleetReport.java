@@ -0,0 +1,22 @@
+package com.testhahn.hahntestback.reporting;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Written as JSON to app.reporting.output-dir and returned by GET /actuator/reports
+public record FleetReport(
+        LocalDateTime generatedAt,
+        long durationMillis,
+        long tasks,
+        int partitions,
+        Map<String, Long> tasksByStatus,
+        Map<String, Long> tasksByPriority,
+        Map<String, Long> overdueByDaysLate,
+        List<HeavyUser> heaviestUsers
+) {
+
+    // tasks may overestimate by at most maxError (Space-Saving sketch)
+    public record HeavyUser(long userId, String username, long tasks, long maxError) {
+    }
+}
@@ -0,0 +1,333 @@
+package com.testhahn.hahntestback.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fleet-wide task report without loading the table: the id range of tasks is split into
+ * partitions, each streamed with a forward-only cursor in its own read-only transaction and
+ * folded into a TaskAccumulator on a dedicated fork-join pool, and the partial results are
+ * merged as the fork-join tree unwinds.
+ *
+ * Memory is bounded by (parallelism x partition size) for the per-partition user counts plus
+ * the fixed-size top-K sketch. The pool never grows past its parallelism, so at most that many
+ * connections are in use. Read-only transactions go to a replica when read routing is enabled.
+ *
+ * Sharded, each shard's id range is partitioned and scanned on its own, and the shards' totals
+ * are merged; usernames are looked up on the home shard, which keeps every users row.
+ */
+@Slf4j
+public class FleetReportJob {
+
+    private static final String PARTITION_SQL =
+            "select user_id, status, priority, due_date from tasks where id >= ? and id < ?";
+
+    private final JdbcTemplate usersJdbcTemplate;
+    private final List<Shard> shards;
+    private final ObjectMapper objectMapper;
+    private final Settings settings;
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fleet-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Run current;
+    private volatile FleetReport lastReport;
+
+    public FleetReportJob(DataSource dataSource, PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper, Settings settings) {
+        this(dataSource, Map.of("default", new ShardSource(dataSource, transactionManager)), objectMapper, settings);
+    }
+
+    /**
+     * dataSource resolves usernames; shards are scanned one by one, each in transactions of its own
+     * manager (the single data source when not sharded).
+     */
+    public FleetReportJob(DataSource dataSource, Map<String, ShardSource> shards, ObjectMapper objectMapper,
+                          Settings settings) {
+        this.usersJdbcTemplate = new JdbcTemplate(dataSource);
+        this.shards = shards.entrySet().stream()
+                .map(shard -> new Shard(shard.getKey(), shard.getValue(), settings.fetchSize()))
+                .toList();
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+    }
+
+    // Starts a run in the background unless one is already running
+    public synchronized Progress start() {
+        Run run = current;
+        if (run != null && run.state == State.RUNNING) {
+            return run.progress();
+        }
+        Run started = new Run();
+        current = started;
+        launcher.execute(() -> execute(started));
+        return started.progress();
+    }
+
+    public boolean cancel() {
+        Run run = current;
+        if (run == null || run.state != State.RUNNING) {
+            return false;
+        }
+        run.cancelled = true;
+        log.info("Fleet report cancellation requested");
+        return true;
+    }
+
+    public Progress progress() {
+        Run run = current;
+        return run != null ? run.progress() : null;
+    }
+
+    public FleetReport getLastReport() {
+        return lastReport;
+    }
+
+    // Synchronous run, on the calling thread
+    public FleetReport run() {
+        Run run = new Run();
+        current = run;
+        execute(run);
+        if (run.state != State.COMPLETED) {
+            throw new IllegalStateException("Fleet report " + run.state.name().toLowerCase() + ": " + run.error);
+        }
+        return lastReport;
+    }
+
+    public void shutdown() {
+        cancel();
+        launcher.shutdownNow();
+    }
+
+    private void execute(Run run) {
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(settings.parallelism(), ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null, false, settings.parallelism(), settings.parallelism(), 1, p -> true, 60, TimeUnit.SECONDS);
+        try {
+            Map<Shard, long[]> ranges = new LinkedHashMap<>();
+            int partitions = 0;
+            for (Shard shard : shards) {
+                Map<String, Object> bounds = shard.jdbcTemplate.queryForMap(
+                        "select min(id) as min_id, max(id) as max_id from tasks");
+                Number minId = (Number) bounds.get("min_id");
+                Number maxId = (Number) bounds.get("max_id");
+                long from = minId != null ? minId.longValue() : 0;
+                long to = maxId != null ? maxId.longValue() + 1 : 0;
+                ranges.put(shard, new long[]{from, to});
+                partitions += (int) Math.max(0, (to - from + settings.partitionSize() - 1) / settings.partitionSize());
+                log.debug("Fleet report covers ids {} to {} of shard {}", from, to - 1, shard.name);
+            }
+            run.totalPartitions = partitions;
+            log.info("Fleet report started: {} partitions on {} shard(s), parallelism {}",
+                    run.totalPartitions, shards.size(), settings.parallelism());
+
+            SpaceSavingTopK topUsers = new SpaceSavingTopK(settings.topUsers() * 50);
+            LocalDate today = LocalDate.now();
+            TaskAccumulator total = new TaskAccumulator();
+            for (Map.Entry<Shard, long[]> range : ranges.entrySet()) {
+                long from = range.getValue()[0];
+                long to = range.getValue()[1];
+                if (to > from) {
+                    total.merge(pool.invoke(new PartitionTask(run, range.getKey(), topUsers, today, from, to)));
+                }
+            }
+
+            FleetReport report = buildReport(total, topUsers, run.totalPartitions,
+                    (System.nanoTime() - started) / 1_000_000);
+            run.reportFile = write(report);
+            lastReport = report;
+            run.state = State.COMPLETED;
+            log.info("Fleet report completed: {} tasks in {} ms, written to {}",
+                    report.tasks(), report.durationMillis(), run.reportFile);
+        } catch (CancellationException ex) {
+            run.state = State.CANCELLED;
+            log.info("Fleet report cancelled after {} of {} partitions", run.partitionsDone.get(), run.totalPartitions);
+        } catch (RuntimeException ex) {
+            run.state = State.FAILED;
+            run.error = ex.getMessage();
+            log.error("Fleet report failed: {}", ex.getMessage(), ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private TaskAccumulator scan(Run run, Shard shard, SpaceSavingTopK topUsers, LocalDate today,
+                                 long fromId, long toId) {
+        if (run.cancelled) {
+            throw new CancellationException();
+        }
+        TaskAccumulator accumulator = new TaskAccumulator();
+        shard.readOnlyTransaction.executeWithoutResult(status -> shard.jdbcTemplate.query(PARTITION_SQL, rs -> {
+            if (run.cancelled) {
+                throw new CancellationException();
+            }
+            Date dueDate = rs.getDate(4);
+            accumulator.accept(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    dueDate != null ? dueDate.toLocalDate() : null, today);
+            run.rows.incrementAndGet();
+        }, fromId, toId));
+        accumulator.forEachUser(topUsers::offer);
+        accumulator.releaseUsers();
+        run.partitionsDone.incrementAndGet();
+        return accumulator;
+    }
+
+    private FleetReport buildReport(TaskAccumulator total, SpaceSavingTopK topUsers, int partitions, long millis) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (TaskStatusEnum status : TaskStatusEnum.values()) {
+            byStatus.put(status.name(), total.byStatus[status.ordinal()]);
+        }
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (TaskPriorityEnum priority : TaskPriorityEnum.values()) {
+            byPriority.put(priority.name(), total.byPriority[priority.ordinal()]);
+        }
+        Map<String, Long> overdue = new LinkedHashMap<>();
+        for (int i = 0; i < TaskAccumulator.OVERDUE_BUCKET_LABELS.length; i++) {
+            overdue.put(TaskAccumulator.OVERDUE_BUCKET_LABELS[i], total.overdue[i]);
+        }
+
+        List<SpaceSavingTopK.Entry> top = topUsers.top(settings.topUsers());
+        Map<Long, String> usernames = new HashMap<>();
+        if (!top.isEmpty()) {
+            new NamedParameterJdbcTemplate(usersJdbcTemplate).query("select id, username from users where id in (:ids)",
+                    new MapSqlParameterSource("ids", top.stream().map(SpaceSavingTopK.Entry::key).toList()),
+                    rs -> {
+                        usernames.put(rs.getLong(1), rs.getString(2));
+                    });
+        }
+        List<FleetReport.HeavyUser> heaviest = top.stream()
+                .map(entry -> new FleetReport.HeavyUser(entry.key(), usernames.get(entry.key()), entry.count(), entry.error()))
+                .toList();
+
+        return new FleetReport(LocalDateTime.now(), millis, total.rows, partitions, byStatus, byPriority, overdue, heaviest);
+    }
+
+    private Path write(FleetReport report) {
+        if (settings.outputDir() == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(settings.outputDir());
+            Path file = settings.outputDir().resolve("fleet-report-"
+                    + report.generatedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            return file;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not write fleet report: " + ex.getMessage(), ex);
+        }
+    }
+
+    // Splits the id range in halves down to one partition; results merge on the way back up
+    private class PartitionTask extends RecursiveTask<TaskAccumulator> {
+
+        private final Run run;
+        private final Shard shard;
+        private final SpaceSavingTopK topUsers;
+        private final LocalDate today;
+        private final long fromId;
+        private final long toId;
+
+        PartitionTask(Run run, Shard shard, SpaceSavingTopK topUsers, LocalDate today, long fromId, long toId) {
+            this.run = run;
+            this.shard = shard;
+            this.topUsers = topUsers;
+            this.today = today;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected TaskAccumulator compute() {
+            long partitions = (toId - fromId + settings.partitionSize() - 1) / settings.partitionSize();
+            if (partitions <= 1) {
+                return scan(run, shard, topUsers, today, fromId, toId);
+            }
+            long middle = fromId + (partitions / 2) * settings.partitionSize();
+            PartitionTask left = new PartitionTask(run, shard, topUsers, today, fromId, middle);
+            left.fork();
+            TaskAccumulator right = new PartitionTask(run, shard, topUsers, today, middle, toId).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    // Where a shard's tasks are read, and the manager of its read-only transactions
+    public record ShardSource(DataSource dataSource, PlatformTransactionManager transactionManager) {
+    }
+
+    public record Settings(int partitionSize, int parallelism, int fetchSize, int topUsers, Path outputDir) {
+    }
+
+    public record Progress(State state, LocalDateTime startedAt, int partitionsDone, int totalPartitions,
+                           long rows, String reportFile, String error) {
+    }
+
+    private static final class Shard {
+
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate readOnlyTransaction;
+
+        private Shard(String name, ShardSource source, int fetchSize) {
+            this.name = name;
+            this.jdbcTemplate = new JdbcTemplate(source.dataSource());
+            this.jdbcTemplate.setFetchSize(fetchSize);
+            this.readOnlyTransaction = new TransactionTemplate(source.transactionManager());
+            this.readOnlyTransaction.setReadOnly(true);
+            this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+    }
+
+    private static final class Run {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger partitionsDone = new AtomicInteger();
+        private final AtomicLong rows = new AtomicLong();
+        private volatile int totalPartitions;
+        private volatile boolean cancelled;
+        private volatile State state = State.RUNNING;
+        private volatile Path reportFile;
+        private volatile String error;
+
+        private Progress progress() {
+            return new Progress(state, startedAt, partitionsDone.get(), totalPartitions, rows.get(),
+                    reportFile != null ? reportFile.toString() : null, error);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.testhahn.hahntestback.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.reporting", name = "enabled", havingValue = "true")
+public class ReportingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public FleetReportJob fleetReportJob(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                         ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                                         ObjectMapper objectMapper,
+                                         @Value("${app.reporting.partition-size:50000}") int partitionSize,
+                                         @Value("${app.reporting.parallelism:3}") int parallelism,
+                                         @Value("${app.reporting.fetch-size:1000}") int fetchSize,
+                                         @Value("${app.reporting.top-users:20}") int topUsers,
+                                         @Value("${app.reporting.output-dir:}") String outputDir) {
+        // Optional; a relative path would land wherever each instance happens to be started from
+        Path reportDir = outputDir.isBlank() ? null : Path.of(outputDir);
+        if (reportDir != null && !reportDir.isAbsolute()) {
+            throw new IllegalStateException("app.reporting.output-dir must be an absolute path, got '" + outputDir + "'");
+        }
+        FleetReportJob.Settings settings = new FleetReportJob.Settings(partitionSize, parallelism, fetchSize,
+                topUsers, reportDir);
+        ShardRoutingDataSource sharded = shardRoutingDataSource.getIfAvailable();
+        if (sharded == null) {
+            return new FleetReportJob(dataSource, transactionManager, objectMapper, settings);
+        }
+        // Sharded, each shard holds the tasks of its own users and is scanned on its own
+        Map<String, FleetReportJob.ShardSource> shards = new LinkedHashMap<>();
+        sharded.getShards().forEach((name, shard) ->
+                shards.put(name, new FleetReportJob.ShardSource(shard, new DataSourceTransactionManager(shard))));
+        return new FleetReportJob(dataSource, shards, objectMapper, settings);
+    }
+
+    @Bean
+    public ReportsEndpoint reportsEndpoint(FleetReportJob fleetReportJob) {
+        return new ReportsEndpoint(fleetReportJob);
+    }
+}
@@ -0,0 +1,41 @@
+package com.testhahn.hahntestback.reporting;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fleet report job control: POST /actuator/reports starts a run, GET shows its progress and
+ * the last report, DELETE cancels it (expose it with management.endpoints.web.exposure.include).
+ */
+@Endpoint(id = "reports")
+public class ReportsEndpoint {
+
+    private final FleetReportJob job;
+
+    public ReportsEndpoint(FleetReportJob job) {
+        this.job = job;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("progress", job.progress());
+        status.put("lastReport", job.getLastReport());
+        return status;
+    }
+
+    @WriteOperation
+    public FleetReportJob.Progress start() {
+        return job.start();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel() {
+        return Map.of("cancelled", job.cancel());
+    }
+}
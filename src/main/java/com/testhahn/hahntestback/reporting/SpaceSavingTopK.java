@@ -0,0 +1,71 @@
+package com.testhahn.hahntestback.reporting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters over weighted updates, in memory bounded by capacity whatever
+ * the number of distinct users. A tracked count overestimates the true one by at most its
+ * error; any user with more than total/capacity tasks is guaranteed to be tracked.
+ */
+class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(
+            Comparator.comparingLong((Counter counter) -> counter.count).thenComparingLong(counter -> counter.key));
+
+    SpaceSavingTopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized void offer(long key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+            byCount.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, weight, 0);
+        } else {
+            // Replace the smallest counter; its count becomes the newcomer's error bound
+            Counter smallest = byCount.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + weight, smallest.count);
+        }
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    synchronized List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(k);
+        for (Counter counter : byCount.descendingSet()) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(new Entry(counter.key, counter.count, counter.error));
+        }
+        return top;
+    }
+
+    record Entry(long key, long count, long error) {
+    }
+
+    private static final class Counter {
+        private final long key;
+        private long count;
+        private final long error;
+
+        private Counter(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.testhahn.hahntestback.reporting;
+
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Counters of one partition, in primitive arrays indexed by enum ordinal / overdue bucket, plus
+ * exact per-user task counts in an open-addressing long-to-long table. Partitions are merged
+ * pairwise; user counts are not merged but handed to the shared top-K sketch per partition.
+ */
+class TaskAccumulator {
+
+    // Upper bounds (inclusive) of the overdue buckets, in days past due
+    static final int[] OVERDUE_BUCKET_LIMITS = {1, 7, 30, 90, Integer.MAX_VALUE};
+    static final String[] OVERDUE_BUCKET_LABELS = {"1 day", "2-7 days", "8-30 days", "31-90 days", "over 90 days"};
+
+    private static final TaskStatusEnum[] STATUSES = TaskStatusEnum.values();
+    private static final TaskPriorityEnum[] PRIORITIES = TaskPriorityEnum.values();
+
+    final long[] byStatus = new long[STATUSES.length];
+    final long[] byPriority = new long[PRIORITIES.length];
+    final long[] overdue = new long[OVERDUE_BUCKET_LIMITS.length];
+    long rows;
+
+    private long[] userIds = new long[64];
+    private long[] userCounts = new long[64];
+    private int users;
+
+    void accept(long userId, String status, String priority, LocalDate dueDate, LocalDate today) {
+        rows++;
+        TaskStatusEnum taskStatus = TaskStatusEnum.valueOf(status);
+        byStatus[taskStatus.ordinal()]++;
+        byPriority[TaskPriorityEnum.valueOf(priority).ordinal()]++;
+        if (dueDate != null && taskStatus.isActive() && dueDate.isBefore(today)) {
+            long daysLate = ChronoUnit.DAYS.between(dueDate, today);
+            int bucket = 0;
+            while (daysLate > OVERDUE_BUCKET_LIMITS[bucket]) {
+                bucket++;
+            }
+            overdue[bucket]++;
+        }
+        incrementUser(userId);
+    }
+
+    TaskAccumulator merge(TaskAccumulator other) {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] += other.byStatus[i];
+        }
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] += other.byPriority[i];
+        }
+        for (int i = 0; i < overdue.length; i++) {
+            overdue[i] += other.overdue[i];
+        }
+        rows += other.rows;
+        return this;
+    }
+
+    // User ids are positive, so 0 marks a free slot
+    void forEachUser(UserCountConsumer consumer) {
+        for (int i = 0; i < userIds.length; i++) {
+            if (userIds[i] != 0) {
+                consumer.accept(userIds[i], userCounts[i]);
+            }
+        }
+    }
+
+    // Partition done: user counts have been handed over, free them early
+    void releaseUsers() {
+        userIds = new long[0];
+        userCounts = new long[0];
+        users = 0;
+    }
+
+    private void incrementUser(long userId) {
+        if ((users + 1) * 2 > userIds.length) {
+            resize();
+        }
+        int slot = slot(userIds, userId);
+        if (userIds[slot] == 0) {
+            userIds[slot] = userId;
+            users++;
+        }
+        userCounts[slot]++;
+    }
+
+    private void resize() {
+        long[] oldIds = userIds;
+        long[] oldCounts = userCounts;
+        userIds = new long[oldIds.length * 2];
+        userCounts = new long[oldIds.length * 2];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = slot(userIds, oldIds[i]);
+                userIds[slot] = oldIds[i];
+                userCounts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int slot(long[] ids, long userId) {
+        int mask = ids.length - 1;
+        int slot = Long.hashCode(userId * 0x9E3779B97F4A7C15L) & mask;
+        while (ids[slot] != 0 && ids[slot] != userId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    @FunctionalInterface
+    interface UserCountConsumer {
+        void accept(long userId, long count);
+    }
+}
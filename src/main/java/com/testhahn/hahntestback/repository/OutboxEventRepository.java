@@ -0,0 +1,9 @@
+package com.testhahn.hahntestback.repository;
+
+import com.testhahn.hahntestback.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+}
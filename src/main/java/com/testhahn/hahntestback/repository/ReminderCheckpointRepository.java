@@ -0,0 +1,9 @@
+package com.testhahn.hahntestback.repository;
+
+import com.testhahn.hahntestback.entity.ReminderCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReminderCheckpointRepository extends JpaRepository<ReminderCheckpoint, String> {
+}
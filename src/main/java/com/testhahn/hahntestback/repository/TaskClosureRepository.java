@@ -0,0 +1,83 @@
+package com.testhahn.hahntestback.repository;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskClosure;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, TaskClosure.Key> {
+
+    // Reads - one query each, scoped to the user (a whole tree always belongs to one user)
+
+    // The task and everything below it, breadth-first
+    @Query("select t from TaskClosure c join Task t on t.id = c.descendantId "
+            + "where c.ancestorId = :taskId and t.user.id = :userId order by c.depth, t.id")
+    List<Task> findSubtree(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    // Root first, ending with the task itself
+    @Query("select t from TaskClosure c join Task t on t.id = c.ancestorId "
+            + "where c.descendantId = :taskId and t.user.id = :userId order by c.depth desc")
+    List<Task> findAncestorPath(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    // {rows, subtasks not cancelled, subtasks completed, task itself completed}; rows = 0 when not found
+    @Query("select count(c), "
+            + "coalesce(sum(case when c.depth > 0 and t.status <> :cancelled then 1 else 0 end), 0), "
+            + "coalesce(sum(case when c.depth > 0 and t.status = :completed then 1 else 0 end), 0), "
+            + "coalesce(sum(case when c.depth = 0 and t.status = :completed then 1 else 0 end), 0) "
+            + "from TaskClosure c join Task t on t.id = c.descendantId "
+            + "where c.ancestorId = :taskId and t.user.id = :userId")
+    List<Object[]> rollUpCompletion(@Param("taskId") Long taskId, @Param("userId") Long userId,
+                                    @Param("completed") TaskStatusEnum completed,
+                                    @Param("cancelled") TaskStatusEnum cancelled);
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    // Writes - each a single statement, whatever the size of the subtree
+
+    @Modifying
+    @Query(value = "insert into task_closure (ancestor_id, descendant_id, depth) values (:taskId, :taskId, 0)",
+            nativeQuery = true)
+    void insertSelf(@Param("taskId") Long taskId);
+
+    // Links every ancestor of parentId (itself included) to every node of the subtree under taskId
+    @Modifying
+    @Query(value = "insert into task_closure (ancestor_id, descendant_id, depth) "
+            + "select a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+            + "from task_closure a cross join task_closure d "
+            + "where a.descendant_id = :parentId and d.ancestor_id = :taskId", nativeQuery = true)
+    int attachSubtree(@Param("taskId") Long taskId, @Param("parentId") Long parentId);
+
+    // Removes the links between the subtree under taskId and everything above it
+    @Modifying
+    @Query(value = "delete from task_closure "
+            + "where descendant_id in (select descendant_id from task_closure where ancestor_id = :taskId) "
+            + "and ancestor_id not in (select descendant_id from task_closure where ancestor_id = :taskId)",
+            nativeQuery = true)
+    int detachSubtree(@Param("taskId") Long taskId);
+
+    // Removing a task from the middle of a tree: paths that went through it get one level shorter
+    @Modifying
+    @Query(value = "update task_closure set depth = depth - 1 "
+            + "where ancestor_id in (select ancestor_id from task_closure where descendant_id = :taskId and depth > 0) "
+            + "and descendant_id in (select descendant_id from task_closure where ancestor_id = :taskId and depth > 0)",
+            nativeQuery = true)
+    int shortenPathsThrough(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("delete from TaskClosure c where c.ancestorId = :taskId or c.descendantId = :taskId")
+    int deleteLinks(@Param("taskId") Long taskId);
+
+    // Tasks from before the hierarchy existed are all roots
+    @Modifying
+    @Query(value = "insert into task_closure (ancestor_id, descendant_id, depth) select t.id, t.id, 0 from tasks t "
+            + "where not exists (select 1 from task_closure c where c.ancestor_id = t.id and c.descendant_id = t.id)",
+            nativeQuery = true)
+    int insertMissingSelfLinks();
+}
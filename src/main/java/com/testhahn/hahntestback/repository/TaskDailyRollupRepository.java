@@ -0,0 +1,42 @@
+package com.testhahn.hahntestback.repository;
+
+import com.testhahn.hahntestback.entity.TaskDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, Long> {
+
+    List<TaskDailyRollup> findByUserIdAndDateBetweenOrderByDate(Long userId, LocalDate from, LocalDate to);
+
+    // Concurrent first writes of a day must not fail the task change they belong to
+    @Modifying
+    @Query(value = "insert into task_daily_rollups (user_id, rollup_date, created_count, completed_count, "
+            + "completion_seconds, overdue_count) values (:userId, :date, 0, 0, 0, 0) "
+            + "on conflict do nothing", nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Modifying
+    @Query("update TaskDailyRollup r set r.createdCount = r.createdCount + :created, "
+            + "r.completedCount = r.completedCount + :completed, "
+            + "r.completionSeconds = r.completionSeconds + :seconds "
+            + "where r.userId = :userId and r.date = :date")
+    int increment(@Param("userId") Long userId, @Param("date") LocalDate date,
+                  @Param("created") long created, @Param("completed") long completed, @Param("seconds") long seconds);
+
+    @Modifying
+    @Query("update TaskDailyRollup r set r.overdueCount = :overdue where r.userId = :userId and r.date = :date")
+    int setOverdue(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("overdue") long overdue);
+
+    // Backfill recomputes these from the tasks table; overdue snapshots are kept
+    @Modifying
+    @Query("update TaskDailyRollup r set r.createdCount = 0, r.completedCount = 0, r.completionSeconds = 0 "
+            + "where r.date between :from and :to")
+    int resetActivity(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
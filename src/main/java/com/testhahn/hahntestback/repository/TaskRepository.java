@@ -5,7 +5,12 @@ import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -40,4 +45,67 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     long countByUserIdAndStatus(Long userId, TaskStatusEnum status);
     long countByUserIdAndDueDateBeforeAndStatusIn(Long userId, LocalDate currentDate, List<TaskStatusEnum> activeStatuses);
     long countByUserIdAndPriorityIn(Long userId, List<TaskPriorityEnum> criticalPriorities);
+
+    // Rollup backfill and the overdue snapshot - aggregated in the database, one row per user and day
+    @Query("select t.user.id, cast(t.createdAt as LocalDate), count(t) from Task t "
+            + "where t.createdAt >= :from and t.createdAt < :to group by t.user.id, cast(t.createdAt as LocalDate)")
+    List<Object[]> countCreatedPerUserAndDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select t.user.id, cast(t.completedAt as LocalDate), count(t), "
+            + "sum(extract(epoch from t.completedAt) - extract(epoch from t.createdAt)) from Task t "
+            + "where t.completedAt >= :from and t.completedAt < :to group by t.user.id, cast(t.completedAt as LocalDate)")
+    List<Object[]> countCompletedPerUserAndDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select t.user.id, count(t) from Task t where t.dueDate < :currentDate and t.status in :activeStatuses "
+            + "group by t.user.id")
+    List<Object[]> countOverduePerUser(@Param("currentDate") LocalDate currentDate,
+                                       @Param("activeStatuses") List<TaskStatusEnum> activeStatuses);
+
+    @Query("select min(t.createdAt) from Task t")
+    Optional<LocalDateTime> findEarliestCreatedAt();
+
+    // Tasks completed before completed_at existed: their last update is the best estimate
+    @Modifying
+    @Query("update Task t set t.completedAt = t.updatedAt where t.status = :status and t.completedAt is null")
+    int fillMissingCompletedAt(@Param("status") TaskStatusEnum status);
+
+    // Reminder scheduler: open tasks due in a date window (idx_tasks_due_date)
+    @Query("select t.id, t.user.id, t.dueDate from Task t "
+            + "where t.dueDate between :from and :to and t.status in :activeStatuses")
+    List<Object[]> findReminderCandidates(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                          @Param("activeStatuses") List<TaskStatusEnum> activeStatuses);
+
+    // Date window of stored tasks, merged with virtual occurrences of recurring tasks
+    List<Task> findByUserIdAndDueDateBetweenOrderByDueDateAsc(Long userId, LocalDate from, LocalDate to);
+
+    // Recurring tasks: occurrences already stored as tasks, which replace their virtual occurrence
+    @Query("select t.seriesId, t.occurrenceDate from Task t "
+            + "where t.seriesId in :seriesIds and t.occurrenceDate between :from and :to")
+    List<Object[]> findMaterializedOccurrences(@Param("seriesIds") List<Long> seriesIds,
+                                               @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+
+    List<Task> findBySeriesId(Long seriesId);
+
+    // A deleted series leaves its materialized occurrences as ordinary tasks. Bulk updates skip
+    // @UpdateTimestamp: updatedAt is bumped here, or caches keyed on it serve the old seriesId
+    @Modifying
+    @Query("update Task t set t.seriesId = null, t.updatedAt = current_timestamp where t.seriesId = :seriesId")
+    int detachFromSeries(@Param("seriesId") Long seriesId);
+
+    // Hierarchy: the moved task and its new parent (id order), locked so no other write of these rows
+    // interleaves; cycles are prevented by the owner lock (UserRepository.lockForTaskChanges)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id in :ids and t.user.id = :userId order by t.id")
+    List<Task> lockForMove(@Param("ids") List<Long> ids, @Param("userId") Long userId);
+
+    // Children of a deleted task move up to its parent (updatedAt bumped, as in detachFromSeries)
+    @Modifying
+    @Query("update Task t set t.parentId = :newParentId, t.updatedAt = current_timestamp where t.parentId = :taskId")
+    int reparentChildren(@Param("taskId") Long taskId, @Param("newParentId") Long newParentId);
+
+    // Tag index build: {id, status, priority, tags} of all the user's tasks, in id order
+    @Query("select t.id, t.status, t.priority, t.tags from Task t where t.user.id = :userId order by t.id")
+    List<Object[]> findTagIndexEntries(@Param("userId") Long userId);
 }
@@ -0,0 +1,17 @@
+package com.testhahn.hahntestback.repository;
+
+import com.testhahn.hahntestback.entity.TaskSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskSeriesRepository extends JpaRepository<TaskSeries, Long> {
+
+    List<TaskSeries> findByUserIdOrderByStartDateAsc(Long userId);
+
+    // Security: Find series by ID AND user (prevent unauthorized access)
+    Optional<TaskSeries> findByIdAndUserId(Long id, Long userId);
+}
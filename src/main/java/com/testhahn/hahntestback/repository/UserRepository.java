@@ -1,7 +1,11 @@
 package com.testhahn.hahntestback.repository;
 
 import com.testhahn.hahntestback.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +21,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // For registration validation
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Serializes one user's task changes for the rest of the transaction: hierarchy changes (moves,
+    // deletes) and outbox writes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :userId")
+    Optional<User> lockForTaskChanges(@Param("userId") Long userId);
 }
@@ -2,7 +2,11 @@ package com.testhahn.hahntestback.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,14 +20,23 @@ public class JwtTokenProvider {
     private final SecretKey key;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final MeterRegistry meterRegistry;
 
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String jwtSecret,
             @Value("${jwt.expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-expiration}") long refreshTokenExpiration,
+            MeterRegistry meterRegistry) {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Outside the application context (tests, benchmarks): metrics go to the global registry
+    public JwtTokenProvider(String jwtSecret, long accessTokenExpiration, long refreshTokenExpiration) {
+        this(jwtSecret, accessTokenExpiration, refreshTokenExpiration, Metrics.globalRegistry);
     }
 
     public String generateAccessToken(String username) {
@@ -60,23 +73,39 @@ public class JwtTokenProvider {
         return claims.getSubject();
     }
 
+    // Timed as jwt.validation, tagged with the outcome (valid or the failure reason)
     public boolean validateToken(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        // Anything not classified below, e.g. an unexpected runtime failure
+        String outcome = "error";
         try {
             Jwts.parser()
                     .verifyWith(key)
                     .build()
                     .parseSignedClaims(token);
+            outcome = "valid";
             return true;
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            // jjwt's SignatureException is not a java.lang.SecurityException and still reaches the caller
+            outcome = "invalid_signature";
+            throw ex;
         } catch (SecurityException ex) {
+            outcome = "invalid_signature";
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
+            outcome = "malformed";
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
+            outcome = "expired";
             log.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
+            outcome = "unsupported";
             log.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
+            outcome = "empty";
             log.error("JWT claims string is empty");
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.validation", "outcome", outcome));
         }
         return false;
     }
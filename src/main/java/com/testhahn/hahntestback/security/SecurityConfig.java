@@ -1,6 +1,10 @@
 package com.testhahn.hahntestback.security;
 
+import com.testhahn.hahntestback.datasource.sharding.ShardContextFilter;
+import com.testhahn.hahntestback.idempotency.IdempotencyFilter;
+import com.testhahn.hahntestback.ratelimit.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -51,7 +55,10 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(
             HttpSecurity http,
             DaoAuthenticationProvider authenticationProvider,
-            JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+            JwtAuthenticationFilter jwtAuthenticationFilter,
+            ObjectProvider<ShardContextFilter> shardContextFilter,
+            ObjectProvider<IdempotencyFilter> idempotencyFilter,
+            ObjectProvider<RateLimitFilter> rateLimitFilter) throws Exception {
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -60,7 +67,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
+                        // Metrics carry per-user and per-route series: /actuator/prometheus needs a token
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                         .requestMatchers("/api/health").permitAll()
                         .requestMatchers("/error").permitAll()
                         // Swagger endpoints
@@ -71,6 +79,24 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Throttle before authentication, so rejected requests never load the user
+        RateLimitFilter rateLimit = rateLimitFilter.getIfAvailable();
+        if (rateLimit != null) {
+            http.addFilterBefore(rateLimit, JwtAuthenticationFilter.class);
+        }
+
+        // Sharded mode: route the request's transactions to the authenticated user's shard
+        ShardContextFilter shardFilter = shardContextFilter.getIfAvailable();
+        if (shardFilter != null) {
+            http.addFilterAfter(shardFilter, JwtAuthenticationFilter.class);
+        }
+
+        // Retried task writes replay their first response; keys are per authenticated user
+        IdempotencyFilter idempotency = idempotencyFilter.getIfAvailable();
+        if (idempotency != null) {
+            http.addFilterAfter(idempotency, JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
@@ -81,7 +107,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization",
+                "X-RateLimit-Limit", "X-RateLimit-Remaining", "X-RateLimit-Reset", "Retry-After", "X-Total-Count"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,10 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.dto.analytics.Granularity;
+import com.testhahn.hahntestback.dto.analytics.ProductivityResponse;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+    ProductivityResponse getProductivity(Long userId, LocalDate from, LocalDate to, Granularity granularity);
+}
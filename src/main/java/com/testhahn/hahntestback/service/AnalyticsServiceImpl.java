@@ -0,0 +1,106 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.dto.analytics.Granularity;
+import com.testhahn.hahntestback.dto.analytics.ProductivityBucket;
+import com.testhahn.hahntestback.dto.analytics.ProductivityResponse;
+import com.testhahn.hahntestback.entity.TaskDailyRollup;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    // Two years of daily rows is still a single small index range scan
+    private static final long MAX_RANGE_DAYS = 731;
+
+    private final TaskDailyRollupRepository rollupRepository;
+
+    public AnalyticsServiceImpl(TaskDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    // Answered from the daily rollups only - at most one row per day of the range
+    public ProductivityResponse getProductivity(Long userId, LocalDate from, LocalDate to, Granularity granularity) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidRequestException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        log.debug("Productivity for user ID: {} from {} to {} by {}", userId, from, to, granularity);
+
+        Map<LocalDate, TaskDailyRollup> byDate = new HashMap<>();
+        for (TaskDailyRollup rollup : rollupRepository.findByUserIdAndDateBetweenOrderByDate(userId, from, to)) {
+            byDate.put(rollup.getDate(), rollup);
+        }
+
+        List<ProductivityBucket> buckets = new ArrayList<>();
+        long totalCreated = 0;
+        long totalCompleted = 0;
+        long totalSeconds = 0;
+        LocalDate periodStart = from;
+        while (!periodStart.isAfter(to)) {
+            LocalDate periodEnd = granularity == Granularity.WEEK
+                    ? periodStart.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+                    : periodStart;
+            if (periodEnd.isAfter(to)) {
+                periodEnd = to;
+            }
+
+            long created = 0;
+            long completed = 0;
+            long seconds = 0;
+            long overdue = 0;
+            for (LocalDate day = periodStart; !day.isAfter(periodEnd); day = day.plusDays(1)) {
+                TaskDailyRollup rollup = byDate.get(day);
+                if (rollup != null) {
+                    created += rollup.getCreatedCount();
+                    completed += rollup.getCompletedCount();
+                    seconds += rollup.getCompletionSeconds();
+                    overdue = rollup.getOverdueCount();
+                }
+            }
+
+            buckets.add(ProductivityBucket.builder()
+                    .periodStart(periodStart)
+                    .periodEnd(periodEnd)
+                    .created(created)
+                    .completed(completed)
+                    .averageHoursToComplete(averageHours(seconds, completed))
+                    .overdue(overdue)
+                    .build());
+            totalCreated += created;
+            totalCompleted += completed;
+            totalSeconds += seconds;
+            periodStart = periodEnd.plusDays(1);
+        }
+
+        return ProductivityResponse.builder()
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .totalCreated(totalCreated)
+                .totalCompleted(totalCompleted)
+                .averageHoursToComplete(averageHours(totalSeconds, totalCompleted))
+                .buckets(buckets)
+                .build();
+    }
+
+    private static Double averageHours(long seconds, long completed) {
+        return completed > 0 ? Math.round(seconds / 3600.0 / completed * 100) / 100.0 : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringTaskService {
+    TaskSeries createRecurringTask(String title, String description, TaskPriorityEnum priority,
+                                   RecurrenceFrequencyEnum frequency, int interval, LocalDate startDate,
+                                   LocalDate untilDate, User currentUser);
+    List<TaskSeries> getRecurringTasks(Long userId);
+    void deleteRecurringTask(Long seriesId, Long userId);
+    Task completeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId);
+    Task updateOccurrence(Long seriesId, LocalDate occurrenceDate, String title, String description,
+                          TaskStatusEnum status, TaskPriorityEnum priority, LocalDate dueDate, Long userId);
+    void skipOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId);
+}
@@ -0,0 +1,134 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
+import com.testhahn.hahntestback.exception.exceptionHelper.TaskNotFoundException;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.TaskSeriesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Recurring tasks are stored once; touching an occurrence materializes it through TaskService
+// (own transaction, so lifecycle events and coalescing see it as an ordinary task write)
+@Slf4j
+@Service
+public class RecurringTaskServiceImpl implements RecurringTaskService {
+
+    private final TaskSeriesRepository taskSeriesRepository;
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecurringTaskServiceImpl(TaskSeriesRepository taskSeriesRepository, TaskRepository taskRepository,
+                                    TaskService taskService, ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.taskSeriesRepository = taskSeriesRepository;
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public TaskSeries createRecurringTask(String title, String description, TaskPriorityEnum priority,
+                                          RecurrenceFrequencyEnum frequency, int interval, LocalDate startDate,
+                                          LocalDate untilDate, User currentUser) {
+        log.debug("Creating {} recurring task '{}' for user: {}", frequency, title, currentUser.getUsername());
+        if (untilDate != null && untilDate.isBefore(startDate)) {
+            throw new InvalidRequestException("'untilDate' must not be before 'startDate'");
+        }
+
+        TaskSeries series = taskSeriesRepository.save(TaskSeries.builder()
+                .title(title)
+                .description(description)
+                .priority(priority != null ? priority : TaskPriorityEnum.MEDIUM)
+                .frequency(frequency)
+                .interval(interval)
+                .startDate(startDate)
+                .untilDate(untilDate)
+                .user(currentUser)
+                .build());
+        log.info("Created recurring task with ID: {} for user: {}", series.getId(), currentUser.getUsername());
+        return series;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskSeries> getRecurringTasks(Long userId) {
+        log.debug("Fetching recurring tasks for user ID: {}", userId);
+        List<TaskSeries> seriesList = taskSeriesRepository.findByUserIdOrderByStartDateAsc(userId);
+        // Initialize the (batch-fetched) exception dates for the response
+        seriesList.forEach(series -> series.getExceptions().size());
+        return seriesList;
+    }
+
+    // Stored occurrences stay, as ordinary tasks
+    @Transactional
+    public void deleteRecurringTask(Long seriesId, Long userId) {
+        log.debug("Deleting recurring task ID: {} for user ID: {}", seriesId, userId);
+        TaskSeries series = getSeries(seriesId, userId);
+        List<Task> occurrences = taskRepository.findBySeriesId(seriesId);
+        taskRepository.detachFromSeries(seriesId);
+        taskSeriesRepository.delete(series);
+        // The bulk update bypasses TaskServiceImpl: announce each detached task like any other change,
+        // so the read model, caches and outbox see it
+        occurrences.forEach(task -> eventPublisher.publishEvent(
+                TaskLifecycleEvent.of(TaskLifecycleEvent.Type.UPDATED, task, userId, null)));
+        log.info("Deleted recurring task ID: {} for user ID: {}", seriesId, userId);
+    }
+
+    public Task completeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        Task task = materialize(seriesId, occurrenceDate, userId);
+        return taskService.markAsCompleted(task.getId(), userId);
+    }
+
+    public Task updateOccurrence(Long seriesId, LocalDate occurrenceDate, String title, String description,
+                                 TaskStatusEnum status, TaskPriorityEnum priority, LocalDate dueDate, Long userId) {
+        Task task = materialize(seriesId, occurrenceDate, userId);
+        return taskService.updateTask(task.getId(), title, description, status, priority, dueDate, userId);
+    }
+
+    // Adds an exception date; an occurrence already stored is deleted with it
+    public void skipOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        log.debug("Skipping occurrence {} of recurring task ID: {} for user ID: {}", occurrenceDate, seriesId, userId);
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskSeries series = getSeries(seriesId, userId);
+            if (!series.rule().occursOn(occurrenceDate)) {
+                throw new TaskNotFoundException("Recurring task " + seriesId + " has no occurrence on " + occurrenceDate);
+            }
+            series.getExceptions().add(occurrenceDate);
+        });
+        taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate)
+                .ifPresent(task -> taskService.deleteTask(task.getId(), userId));
+    }
+
+    // Two requests touching the same virtual occurrence race to store it; the loser hits
+    // uk_tasks_series_occurrence (its transaction is rolled back) and uses the winner's row
+    private Task materialize(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        try {
+            return taskService.materializeOccurrence(seriesId, occurrenceDate, userId);
+        } catch (DataIntegrityViolationException ex) {
+            return taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate)
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    private TaskSeries getSeries(Long seriesId, Long userId) {
+        return taskSeriesRepository.findByIdAndUserId(seriesId, userId)
+                .orElseThrow(() -> new TaskNotFoundException("Recurring task not found with id: " + seriesId));
+    }
+}
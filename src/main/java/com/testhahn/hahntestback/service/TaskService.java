@@ -4,16 +4,21 @@ import com.testhahn.hahntestback.entity.Task;
 import com.testhahn.hahntestback.entity.User;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskFilterResult;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskProgress;
 import com.testhahn.hahntestback.service.TaskServiceImpl.TaskStatistics;
+import com.testhahn.hahntestback.tagging.TaskFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
     Task createTask(String title, String description, TaskStatusEnum status,
-                    TaskPriorityEnum priority, LocalDate dueDate, User currentUser);
+                    TaskPriorityEnum priority, LocalDate dueDate, Long parentId, User currentUser);
     List<Task> getAllUserTasks(Long userId);
     Page<Task> getAllUserTasks(Long userId, Pageable pageable);
     Task getTaskById(Long taskId, Long userId);
@@ -27,4 +32,13 @@ public interface TaskService {
     Task markAsCompleted(Long taskId, Long userId);
     Task markAsInProgress(Long taskId, Long userId);
     TaskStatistics getTaskStatistics(Long userId);
+    List<Task> getTasksBetween(Long userId, LocalDate from, LocalDate to);
+    Task materializeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId);
+    Task moveTask(Long taskId, Long parentId, Long userId);
+    List<Task> getSubtree(Long taskId, Long userId);
+    List<Task> getAncestorPath(Long taskId, Long userId);
+    TaskProgress getProgress(Long taskId, Long userId);
+    Task setTags(Long taskId, Collection<String> tags, Long userId);
+    TaskFilterResult filterTasks(Long userId, TaskFilter filter, int limit);
+    Map<String, Integer> getTagCounts(Long userId);
 }
@@ -1,20 +1,44 @@
 package com.testhahn.hahntestback.service;
 
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
 import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
 import com.testhahn.hahntestback.entity.User;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
 import com.testhahn.hahntestback.exception.exceptionHelper.TaskNotFoundException;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.repository.TaskClosureRepository;
 import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.TaskSeriesRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import com.testhahn.hahntestback.tagging.TaskBitmapIndex;
+import com.testhahn.hahntestback.tagging.TaskFilter;
+import com.testhahn.hahntestback.tagging.TaskTagIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -22,28 +46,60 @@ import java.util.List;
 @Transactional
 public class TaskServiceImpl implements TaskService{
 
+    // Longest window getTasksBetween expands recurring tasks for
+    private static final int MAX_WINDOW_DAYS = 366;
+
+    private static final int MAX_TAGS = 20;
+    private static final Pattern TAG = Pattern.compile("[a-z0-9][a-z0-9_:-]{0,29}");
+
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSeriesRepository taskSeriesRepository;
+    private final OccurrenceExpander occurrenceExpander;
+    private final TaskClosureRepository taskClosureRepository;
+    private final TaskTagIndex taskTagIndex;
+    private final UserRepository userRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, ApplicationEventPublisher eventPublisher,
+                           TaskSeriesRepository taskSeriesRepository, OccurrenceExpander occurrenceExpander,
+                           TaskClosureRepository taskClosureRepository, TaskTagIndex taskTagIndex,
+                           UserRepository userRepository) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.taskSeriesRepository = taskSeriesRepository;
+        this.occurrenceExpander = occurrenceExpander;
+        this.taskClosureRepository = taskClosureRepository;
+        this.taskTagIndex = taskTagIndex;
+        this.userRepository = userRepository;
     }
 
     // Create new task for current user
     // If the user decides to let the
     public Task createTask(String title, String description, TaskStatusEnum status,
-                           TaskPriorityEnum priority, LocalDate dueDate, User currentUser) {
+                           TaskPriorityEnum priority, LocalDate dueDate, Long parentId, User currentUser) {
         log.debug("Creating task '{}' for user: {}", title, currentUser.getUsername());
+        if (parentId != null) {
+            // Serialized with moves and deletes: the parent can't be deleted or moved under us before commit
+            userRepository.lockForTaskChanges(currentUser.getId());
+            getTaskById(parentId, currentUser.getId()); // Parent must be one of the user's tasks
+        }
 
         Task task = Task.builder()
                 .title(title)
                 .description(description)
-                .status(status != null ? status : TaskStatusEnum.PENDING)
                 .priority(priority != null ? priority : TaskPriorityEnum.MEDIUM)
                 .dueDate(dueDate)
+                .parentId(parentId)
                 .user(currentUser)
                 .build();
+        task.changeStatus(status != null ? status : TaskStatusEnum.PENDING);
 
         Task savedTask = taskRepository.save(task);
+        addToHierarchy(savedTask.getId(), parentId);
+        publish(TaskLifecycleEvent.Type.CREATED, savedTask, currentUser.getId(), null);
+        if (savedTask.getCompletedAt() != null) {
+            publish(TaskLifecycleEvent.Type.COMPLETED, savedTask, currentUser.getId(), savedTask.getCompletedAt());
+        }
         log.info("Created task with ID: {} for user: {}", savedTask.getId(), currentUser.getUsername());
         return savedTask;
     }
@@ -52,10 +108,10 @@ public class TaskServiceImpl implements TaskService{
     @Transactional(readOnly = true)
     public List<Task> getAllUserTasks(Long userId) {
         log.debug("Fetching all tasks for user ID: {}", userId);
-        return taskRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return withOccurrences(taskRepository.findByUserIdOrderByCreatedAtDesc(userId), userId, task -> true);
     }
 
-    // Get tasks with pagination
+    // Get tasks with pagination (stored tasks only, virtual occurrences are not paged)
     @Transactional(readOnly = true)
     public Page<Task> getAllUserTasks(Long userId, Pageable pageable) {
         log.debug("Fetching tasks for user ID: {} with pagination", userId);
@@ -76,14 +132,17 @@ public class TaskServiceImpl implements TaskService{
         log.debug("Updating task ID: {} for user ID: {}", taskId, userId);
 
         Task existingTask = getTaskById(taskId, userId); // This includes security check
+        LocalDateTime previousCompletedAt = existingTask.getCompletedAt();
 
         existingTask.setTitle(title);
         existingTask.setDescription(description);
-        existingTask.setStatus(status);
+        existingTask.changeStatus(status);
         existingTask.setPriority(priority);
         existingTask.setDueDate(dueDate);
 
         Task updatedTask = taskRepository.save(existingTask);
+        publish(TaskLifecycleEvent.Type.UPDATED, updatedTask, userId, null);
+        publishCompletionChange(updatedTask, userId, previousCompletedAt);
         log.info("Updated task ID: {} for user ID: {}", taskId, userId);
         return updatedTask;
     }
@@ -93,7 +152,13 @@ public class TaskServiceImpl implements TaskService{
         log.debug("Deleting task ID: {} for user ID: {}", taskId, userId);
 
         Task task = getTaskById(taskId, userId); // This includes security check
+        // Subtasks are kept, one level up; rewrites closure paths, so it is serialized like a move
+        userRepository.lockForTaskChanges(userId);
+        taskRepository.reparentChildren(taskId, task.getParentId());
+        taskClosureRepository.shortenPathsThrough(taskId);
+        taskClosureRepository.deleteLinks(taskId);
         taskRepository.delete(task);
+        publish(TaskLifecycleEvent.Type.DELETED, task, userId, task.getCompletedAt());
         log.info("Deleted task ID: {} for user ID: {}", taskId, userId);
     }
 
@@ -101,21 +166,25 @@ public class TaskServiceImpl implements TaskService{
     @Transactional(readOnly = true)
     public List<Task> getTasksByStatus(Long userId, TaskStatusEnum status) {
         log.debug("Fetching tasks with status: {} for user ID: {}", status, userId);
-        return taskRepository.findByUserIdAndStatus(userId, status);
+        return withOccurrences(taskRepository.findByUserIdAndStatus(userId, status), userId,
+                task -> task.getStatus() == status);
     }
 
     // Filter by priority
     @Transactional(readOnly = true)
     public List<Task> getTasksByPriority(Long userId, TaskPriorityEnum priority) {
         log.debug("Fetching tasks with priority: {} for user ID: {}", priority, userId);
-        return taskRepository.findByUserIdAndPriority(userId, priority);
+        return withOccurrences(taskRepository.findByUserIdAndPriority(userId, priority), userId,
+                task -> task.getPriority() == priority);
     }
 
     // Search by title
     @Transactional(readOnly = true)
     public List<Task> searchTasksByTitle(Long userId, String title) {
         log.debug("Searching tasks with title '{}' for user ID: {}", title, userId);
-        return taskRepository.findByUserIdAndTitleContainingIgnoreCase(userId, title);
+        String needle = title.toLowerCase();
+        return withOccurrences(taskRepository.findByUserIdAndTitleContainingIgnoreCase(userId, title), userId,
+                task -> task.getTitle().toLowerCase().contains(needle));
     }
 
     // Get overdue tasks
@@ -123,22 +192,235 @@ public class TaskServiceImpl implements TaskService{
     public List<Task> getOverdueTasks(Long userId) {
         log.debug("Fetching overdue tasks for user ID: {}", userId);
         List<TaskStatusEnum> activeStatuses = List.of(TaskStatusEnum.PENDING, TaskStatusEnum.IN_PROGRESS);
-        return taskRepository.findByUserIdAndDueDateBeforeAndStatusIn(userId, LocalDate.now(), activeStatuses);
+        return withOccurrences(taskRepository.findByUserIdAndDueDateBeforeAndStatusIn(userId, LocalDate.now(), activeStatuses),
+                userId, Task::isOverdue);
+    }
+
+    // Stored tasks due in [from, to] and the virtual occurrences of recurring tasks in that window
+    @Transactional(readOnly = true)
+    public List<Task> getTasksBetween(Long userId, LocalDate from, LocalDate to) {
+        log.debug("Fetching tasks due between {} and {} for user ID: {}", from, to, userId);
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' must not be after 'to'");
+        }
+        if (from.plusDays(MAX_WINDOW_DAYS).isBefore(to)) {
+            throw new InvalidRequestException("Date range cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+        List<Task> tasks = new ArrayList<>(taskRepository.findByUserIdAndDueDateBetweenOrderByDueDateAsc(userId, from, to));
+        tasks.addAll(occurrenceExpander.virtualOccurrences(userId, from, to));
+        tasks.sort(Comparator.comparing(Task::getDueDate));
+        return tasks;
+    }
+
+    // Stores an occurrence of a recurring task as a task of its own, once; later changes go through it
+    public Task materializeOccurrence(Long seriesId, LocalDate occurrenceDate, Long userId) {
+        TaskSeries series = taskSeriesRepository.findByIdAndUserId(seriesId, userId)
+                .orElseThrow(() -> new TaskNotFoundException("Recurring task not found with id: " + seriesId));
+
+        return taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate).orElseGet(() -> {
+            if (!series.rule().occursOn(occurrenceDate)) {
+                throw new TaskNotFoundException("Recurring task " + seriesId + " has no occurrence on " + occurrenceDate);
+            }
+            Task task = taskRepository.save(OccurrenceExpander.occurrence(series, occurrenceDate));
+            addToHierarchy(task.getId(), null);
+            publish(TaskLifecycleEvent.Type.CREATED, task, userId, null);
+            log.info("Materialized occurrence {} of recurring task ID: {} as task ID: {}",
+                    occurrenceDate, seriesId, task.getId());
+            return task;
+        });
+    }
+
+    // Moves a task with its whole subtree under another task, or to the top level (parentId null).
+    // Moves of one user run one at a time: two moves of disjoint tasks (A under B, B under A) would
+    // each pass the cycle check against a closure table the other hasn't changed yet.
+    public Task moveTask(Long taskId, Long parentId, Long userId) {
+        log.debug("Moving task ID: {} under {} for user ID: {}", taskId, parentId, userId);
+        userRepository.lockForTaskChanges(userId);
+        List<Long> ids = parentId != null ? List.of(taskId, parentId) : List.of(taskId);
+        List<Task> locked = taskRepository.lockForMove(ids, userId);
+        Task task = locked.stream().filter(t -> t.getId().equals(taskId)).findFirst()
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        if (parentId != null && locked.stream().noneMatch(t -> t.getId().equals(parentId))) {
+            throw new TaskNotFoundException("Task not found with id: " + parentId);
+        }
+        if (parentId != null && taskClosureRepository.existsByAncestorIdAndDescendantId(taskId, parentId)) {
+            throw new InvalidRequestException("A task cannot be moved under itself or one of its subtasks");
+        }
+
+        taskClosureRepository.detachSubtree(taskId);
+        if (parentId != null) {
+            taskClosureRepository.attachSubtree(taskId, parentId);
+        }
+        task.setParentId(parentId);
+        Task movedTask = taskRepository.save(task);
+        publish(TaskLifecycleEvent.Type.UPDATED, movedTask, userId, null);
+        log.info("Moved task ID: {} under {} for user ID: {}", taskId, parentId, userId);
+        return movedTask;
+    }
+
+    // The task and all its subtasks, level by level
+    @Transactional(readOnly = true)
+    public List<Task> getSubtree(Long taskId, Long userId) {
+        log.debug("Fetching subtree of task ID: {} for user ID: {}", taskId, userId);
+        return requireFound(taskClosureRepository.findSubtree(taskId, userId), taskId);
+    }
+
+    // From the top-level task down to the task itself
+    @Transactional(readOnly = true)
+    public List<Task> getAncestorPath(Long taskId, Long userId) {
+        log.debug("Fetching ancestor path of task ID: {} for user ID: {}", taskId, userId);
+        return requireFound(taskClosureRepository.findAncestorPath(taskId, userId), taskId);
+    }
+
+    // Completed share of all (not cancelled) subtasks at any depth; a task without subtasks is 0 or 100
+    @Transactional(readOnly = true)
+    public TaskProgress getProgress(Long taskId, Long userId) {
+        log.debug("Calculating progress of task ID: {} for user ID: {}", taskId, userId);
+        Object[] row = taskClosureRepository.rollUpCompletion(taskId, userId,
+                TaskStatusEnum.COMPLETED, TaskStatusEnum.CANCELLED).get(0);
+        if (((Number) row[0]).longValue() == 0) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+        long subtasks = ((Number) row[1]).longValue();
+        long completed = ((Number) row[2]).longValue();
+        double percent = subtasks > 0
+                ? completed * 100.0 / subtasks
+                : ((Number) row[3]).longValue() > 0 ? 100.0 : 0.0;
+        return new TaskProgress(taskId, subtasks, completed, Math.round(percent * 10) / 10.0);
+    }
+
+    // Replaces the task's tags (lower-cased; letters, digits, '_', ':' and '-', up to 30 characters)
+    public Task setTags(Long taskId, Collection<String> tags, Long userId) {
+        log.debug("Setting tags {} on task ID: {} for user ID: {}", tags, taskId, userId);
+        Set<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            String value = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+            if (!TAG.matcher(value).matches()) {
+                throw new InvalidRequestException("Invalid tag: '" + tag + "'");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > MAX_TAGS) {
+            throw new InvalidRequestException("A task cannot have more than " + MAX_TAGS + " tags");
+        }
+
+        Task task = getTaskById(taskId, userId);
+        task.setTags(normalized);
+        Task savedTask = taskRepository.save(task);
+        publish(TaskLifecycleEvent.Type.UPDATED, savedTask, userId, null);
+        return savedTask;
+    }
+
+    // Evaluated on the user's bitmap index. Matches are loaded newest first, only as many at a time
+    // as are still missing, and re-checked against the rows (the index may lag a commit) until
+    // `limit` hold. The total is the index count less the stale matches met on the way
+    @Transactional(readOnly = true)
+    public TaskFilterResult filterTasks(Long userId, TaskFilter filter, int limit) {
+        log.debug("Filtering tasks with {} for user ID: {}", filter, userId);
+        TaskFilter normalized = normalize(filter);
+        TaskBitmapIndex index = taskTagIndex.forUser(userId);
+
+        List<Task> verified = new ArrayList<>();
+        int total = -1;
+        int stale = 0;
+        int before = Integer.MAX_VALUE;
+        while (verified.size() < limit && before > 0) {
+            TaskBitmapIndex.Matches matches = index.match(normalized, before, limit - verified.size());
+            if (total < 0) {
+                total = matches.total();
+            }
+            if (matches.taskIds().isEmpty()) {
+                break;
+            }
+            Map<Long, Task> loaded = taskRepository.findAllById(matches.taskIds()).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            for (Long taskId : matches.taskIds()) {
+                Task task = loaded.get(taskId);
+                if (task != null && normalized.matches(task)) {
+                    verified.add(task);
+                } else {
+                    stale++;
+                }
+            }
+            before = matches.next();
+        }
+        return new TaskFilterResult(verified, Math.max(verified.size(), total - stale));
+    }
+
+    // Number of tasks per tag, by tag
+    @Transactional(readOnly = true)
+    public Map<String, Integer> getTagCounts(Long userId) {
+        return new TreeMap<>(taskTagIndex.forUser(userId).tagCounts());
     }
 
     // Quick status updates
     public Task markAsCompleted(Long taskId, Long userId) {
         log.debug("Marking task ID: {} as completed for user ID: {}", taskId, userId);
         Task task = getTaskById(taskId, userId);
+        LocalDateTime previousCompletedAt = task.getCompletedAt();
         task.markAsCompleted();
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        publish(TaskLifecycleEvent.Type.UPDATED, savedTask, userId, null);
+        publishCompletionChange(savedTask, userId, previousCompletedAt);
+        return savedTask;
     }
 
     public Task markAsInProgress(Long taskId, Long userId) {
         log.debug("Marking task ID: {} as in progress for user ID: {}", taskId, userId);
         Task task = getTaskById(taskId, userId);
+        LocalDateTime previousCompletedAt = task.getCompletedAt();
         task.markAsInProgress();
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        publish(TaskLifecycleEvent.Type.UPDATED, savedTask, userId, null);
+        publishCompletionChange(savedTask, userId, previousCompletedAt);
+        return savedTask;
+    }
+
+    // Entering or leaving COMPLETED; feeds the completion rollups
+    private void publishCompletionChange(Task task, Long userId, LocalDateTime previousCompletedAt) {
+        if (previousCompletedAt == null && task.getCompletedAt() != null) {
+            publish(TaskLifecycleEvent.Type.COMPLETED, task, userId, task.getCompletedAt());
+        } else if (previousCompletedAt != null && task.getCompletedAt() == null) {
+            publish(TaskLifecycleEvent.Type.REOPENED, task, userId, previousCompletedAt);
+        }
+    }
+
+    private void addToHierarchy(Long taskId, Long parentId) {
+        taskClosureRepository.insertSelf(taskId);
+        if (parentId != null) {
+            taskClosureRepository.attachSubtree(taskId, parentId);
+        }
+    }
+
+    private static TaskFilter normalize(TaskFilter filter) {
+        return new TaskFilter(lowerCase(filter.allTags()), lowerCase(filter.anyTags()), lowerCase(filter.noneTags()),
+                filter.statuses(), filter.priorities());
+    }
+
+    private static Set<String> lowerCase(Set<String> tags) {
+        return tags.stream().map(tag -> tag.trim().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+
+    private static List<Task> requireFound(List<Task> tasks, Long taskId) {
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+        return tasks;
+    }
+
+    // Virtual occurrences of recurring tasks (default window) matching the same filter, after the stored tasks
+    private List<Task> withOccurrences(List<Task> stored, Long userId, Predicate<Task> filter) {
+        List<Task> occurrences = occurrenceExpander.virtualOccurrences(userId);
+        if (occurrences.isEmpty()) {
+            return stored;
+        }
+        List<Task> tasks = new ArrayList<>(stored);
+        occurrences.stream().filter(filter).forEach(tasks::add);
+        return tasks;
+    }
+
+    private void publish(TaskLifecycleEvent.Type type, Task task, Long userId, LocalDateTime completedAt) {
+        eventPublisher.publishEvent(TaskLifecycleEvent.of(type, task, userId, completedAt));
     }
 
     // Get task statistics for current user
@@ -159,6 +441,14 @@ public class TaskServiceImpl implements TaskService{
         List<TaskPriorityEnum> criticalPriorities = List.of(TaskPriorityEnum.HIGH, TaskPriorityEnum.URGENT);
         long critical = taskRepository.countByUserIdAndPriorityIn(userId, criticalPriorities);
 
+        // Virtual occurrences are all PENDING
+        for (Task occurrence : occurrenceExpander.virtualOccurrences(userId)) {
+            total++;
+            pending++;
+            overdue += occurrence.isOverdue() ? 1 : 0;
+            critical += occurrence.isCritical() ? 1 : 0;
+        }
+
         return new TaskStatistics(total, pending, inProgress, completed, overdue, critical);
     }
 
@@ -171,4 +461,16 @@ public class TaskServiceImpl implements TaskService{
             long overdue,
             long critical
     ) {}
+
+    public record TaskProgress(
+            long taskId,
+            long subtasks,
+            long completedSubtasks,
+            double percentComplete
+    ) {}
+
+    public record TaskFilterResult(
+            List<Task> tasks,
+            int total
+    ) {}
 }
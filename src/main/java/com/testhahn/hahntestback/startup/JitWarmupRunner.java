@@ -0,0 +1,206 @@
+package com.testhahn.hahntestback.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.UserRepository;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import com.testhahn.hahntestback.service.TaskService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.management.ObjectName;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the hot read paths (task service, JPA, entity mapping, Jackson, JWT parsing) before the
+ * application reports ready. ApplicationRunners complete before Boot switches readiness to
+ * ACCEPTING_TRAFFIC, so /actuator/health/readiness stays down until they have been through the JIT.
+ *
+ * Each worker creates a sandbox user and its tasks inside one transaction that is always rolled
+ * back: nothing is committed, so after-commit listeners (read model, reminders, cache bus) never
+ * see the data and in-transaction writes (rollups, outbox) are discarded with it. The servlet and
+ * security layers are not exercised. Results are logged and reported under "warmup" at /actuator/info.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class JitWarmupRunner implements ApplicationRunner, InfoContributor {
+
+    private final TaskService taskService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate rolledBackTransaction;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final String username;
+    private final int iterations;
+    private final int threads;
+    private final int sandboxTasks;
+    private final Duration maxDuration;
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    public JitWarmupRunner(TaskService taskService,
+                           UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           JwtTokenProvider jwtTokenProvider,
+                           ObjectMapper objectMapper,
+                           @Value("${app.warmup.username:warmup_sandbox}") String username,
+                           @Value("${app.warmup.iterations:2000}") int iterations,
+                           @Value("${app.warmup.threads:4}") int threads,
+                           @Value("${app.warmup.sandbox-tasks:50}") int sandboxTasks,
+                           @Value("${app.warmup.max-duration:30s}") Duration maxDuration) {
+        this.taskService = taskService;
+        this.userRepository = userRepository;
+        this.rolledBackTransaction = new TransactionTemplate(transactionManager);
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.username = username;
+        this.iterations = iterations;
+        this.threads = threads;
+        this.sandboxTasks = sandboxTasks;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        long compiledBefore = compiledMethodCount();
+        long compileTimeBefore = compiler.isCompilationTimeMonitoringSupported() ? compiler.getTotalCompilationTime() : 0;
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    warmUp(worker, deadline, calls, failures);
+                } catch (RuntimeException ex) {
+                    // Never keep the instance out of rotation because warm-up broke
+                    log.warn("JIT warm-up worker {} aborted: {}", worker, ex.getMessage());
+                }
+            }, "jit-warmup-" + t);
+            workers.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        long compiledAfter = compiledMethodCount();
+        report.put("durationMs", durationMs);
+        report.put("calls", calls.get());
+        report.put("failedCalls", failures.get());
+        report.put("compiledMethodsBefore", compiledBefore);
+        report.put("compiledMethodsAfter", compiledAfter);
+        if (compiler.isCompilationTimeMonitoringSupported()) {
+            report.put("jitTimeMs", compiler.getTotalCompilationTime() - compileTimeBefore);
+        }
+        log.info("JIT warm-up finished in {} ms: {} calls ({} failed), compiled methods {} -> {}",
+                durationMs, calls.get(), failures.get(), compiledBefore, compiledAfter);
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("warmup", report);
+    }
+
+    // One transaction per worker, marked rollback-only before anything is written
+    void warmUp(int worker, long deadline, AtomicInteger calls, AtomicInteger failures) {
+        rolledBackTransaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            User user = userRepository.save(sandboxUser(worker));
+            for (int i = 0; i < sandboxTasks; i++) {
+                taskService.createTask("Warm-up task " + i, "Synthetic task used to warm up the JIT",
+                        TaskStatusEnum.PENDING, i % 4 == 0 ? TaskPriorityEnum.HIGH : TaskPriorityEnum.MEDIUM,
+                        LocalDate.now().plusDays(i % 20 - 5), null, user);
+            }
+            String token = jwtTokenProvider.generateAccessToken(user.getUsername());
+
+            for (int i = 0; i < iterations / threads && System.nanoTime() < deadline; i++) {
+                try {
+                    call(i, user.getId(), token);
+                } catch (RuntimeException | JsonProcessingException ex) {
+                    failures.incrementAndGet();
+                }
+                calls.incrementAndGet();
+            }
+        });
+    }
+
+    // The same work as the task list, statistics, filter, paginated, overdue and auth paths
+    private void call(int i, Long userId, String token) throws JsonProcessingException {
+        switch (i % 6) {
+            case 0 -> objectMapper.writeValueAsBytes(taskService.getAllUserTasks(userId).stream()
+                    .map(TaskResponse::fromEntity).toList());
+            case 1 -> objectMapper.writeValueAsBytes(taskService.getTaskStatistics(userId));
+            case 2 -> objectMapper.writeValueAsBytes(taskService.getTasksByStatus(userId, TaskStatusEnum.PENDING)
+                    .stream().map(TaskResponse::fromEntity).toList());
+            case 3 -> objectMapper.writeValueAsBytes(taskService.getAllUserTasks(userId, PageRequest.of(0, 20))
+                    .map(TaskResponse::fromEntity));
+            case 4 -> objectMapper.writeValueAsBytes(taskService.getOverdueTasks(userId).stream()
+                    .map(TaskResponse::fromEntity).toList());
+            default -> {
+                if (!jwtTokenProvider.validateToken(token)) {
+                    throw new IllegalStateException("warm-up token rejected");
+                }
+                jwtTokenProvider.getUsernameFromToken(token);
+            }
+        }
+    }
+
+    // Random name per start and worker: never clashes with a real account, and the row is rolled back anyway
+    private User sandboxUser(int worker) {
+        byte[] suffix = new byte[8];
+        new SecureRandom().nextBytes(suffix);
+        String name = username + "-" + HexFormat.of().formatHex(suffix) + "-" + worker;
+        return User.builder()
+                .username(name)
+                .email(name + "@warmup.invalid")
+                .password(HexFormat.of().formatHex(suffix))
+                .firstName("Warmup")
+                .lastName("Sandbox")
+                .build();
+    }
+
+    // Number of methods currently in the code cache, via the same command as jcmd Compiler.codelist
+    private static long compiledMethodCount() {
+        try {
+            Object output = ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "compilerCodelist", new Object[]{null}, new String[]{String[].class.getName()});
+            return output.toString().lines().filter(line -> !line.isBlank()).count();
+        } catch (Exception ex) {
+            return -1;
+        }
+    }
+}
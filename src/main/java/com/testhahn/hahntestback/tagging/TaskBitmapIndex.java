@@ -0,0 +1,135 @@
+package com.testhahn.hahntestback.tagging;
+
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One user's tasks as bitmaps: every task gets an ordinal (its position in id order, then
+ * append order), and each tag, status and priority value is the set of ordinals that have it.
+ * A filter is a handful of AND / OR / ANDNOT operations over bitmaps of at most a few
+ * thousand bits, with no database access.
+ *
+ * Ordinals of deleted tasks are only cleared from `live`; the index is rebuilt from the
+ * database now and then (TaskTagIndex), which compacts them. Thread-safe.
+ */
+public class TaskBitmapIndex {
+
+    private final List<Long> taskIds = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, BitSet> tags = new HashMap<>();
+    private final BitSet[] statuses = newBitmaps(TaskStatusEnum.values().length);
+    private final BitSet[] priorities = newBitmaps(TaskPriorityEnum.values().length);
+
+    // Adds the task, or replaces what is indexed for it
+    public synchronized void put(Long taskId, TaskStatusEnum status, TaskPriorityEnum priority, Set<String> taskTags) {
+        Integer ordinal = ordinals.get(taskId);
+        if (ordinal == null) {
+            ordinal = taskIds.size();
+            taskIds.add(taskId);
+            ordinals.put(taskId, ordinal);
+        } else {
+            clear(ordinal);
+        }
+        live.set(ordinal);
+        statuses[status.ordinal()].set(ordinal);
+        priorities[priority.ordinal()].set(ordinal);
+        for (String tag : taskTags) {
+            tags.computeIfAbsent(tag, key -> new BitSet()).set(ordinal);
+        }
+    }
+
+    public synchronized void remove(Long taskId) {
+        Integer ordinal = ordinals.remove(taskId);
+        if (ordinal != null) {
+            clear(ordinal);
+        }
+    }
+
+    // Matching task ids, newest (highest ordinal) first, at most limit of them; total is the full count
+    public Matches match(TaskFilter filter, int limit) {
+        return match(filter, Integer.MAX_VALUE, limit);
+    }
+
+    // The same, from below ordinal `before` on: pass the previous Matches.next() to read the next page
+    public synchronized Matches match(TaskFilter filter, int before, int limit) {
+        BitSet result = (BitSet) live.clone();
+        if (!filter.anyTags().isEmpty()) {
+            BitSet any = new BitSet();
+            filter.anyTags().forEach(tag -> any.or(tag(tag)));
+            result.and(any);
+        }
+        filter.allTags().forEach(tag -> result.and(tag(tag)));
+        filter.noneTags().forEach(tag -> result.andNot(tag(tag)));
+        if (!filter.statuses().isEmpty()) {
+            BitSet any = new BitSet();
+            filter.statuses().forEach(status -> any.or(statuses[status.ordinal()]));
+            result.and(any);
+        }
+        if (!filter.priorities().isEmpty()) {
+            BitSet any = new BitSet();
+            filter.priorities().forEach(priority -> any.or(priorities[priority.ordinal()]));
+            result.and(any);
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, result.cardinality()));
+        int ordinal = result.previousSetBit(Math.min(before, result.length()) - 1);
+        while (ordinal >= 0 && ids.size() < limit) {
+            ids.add(taskIds.get(ordinal));
+            ordinal = result.previousSetBit(ordinal - 1);
+        }
+        // Ordinals are never reused within one index, so the next page starts right after this one
+        return new Matches(ids, result.cardinality(), ordinal + 1);
+    }
+
+    // Number of (live) tasks per tag
+    public synchronized Map<String, Integer> tagCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        tags.forEach((tag, bitmap) -> {
+            int count = bitmap.cardinality();
+            if (count > 0) {
+                counts.put(tag, count);
+            }
+        });
+        return counts;
+    }
+
+    public synchronized int size() {
+        return ordinals.size();
+    }
+
+    private void clear(int ordinal) {
+        live.clear(ordinal);
+        for (BitSet bitmap : statuses) {
+            bitmap.clear(ordinal);
+        }
+        for (BitSet bitmap : priorities) {
+            bitmap.clear(ordinal);
+        }
+        tags.values().forEach(bitmap -> bitmap.clear(ordinal));
+    }
+
+    private BitSet tag(String tag) {
+        BitSet bitmap = tags.get(tag);
+        return bitmap != null ? bitmap : new BitSet();
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    // next: the `before` of the following page, 0 once every match was returned
+    public record Matches(List<Long> taskIds, int total, int next) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.testhahn.hahntestback.tagging;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+
+import java.util.Set;
+
+/**
+ * Tag filter, combined with status and priority:
+ * every tag in allTags (AND), at least one of anyTags (OR), none of noneTags (NOT), and one of
+ * the statuses and priorities. Empty sets don't restrict.
+ */
+public record TaskFilter(Set<String> allTags, Set<String> anyTags, Set<String> noneTags,
+                         Set<TaskStatusEnum> statuses, Set<TaskPriorityEnum> priorities) {
+
+    // The same filter on a loaded task, to drop rows the index matched but that changed since
+    public boolean matches(Task task) {
+        Set<String> tags = task.getTags();
+        return tags.containsAll(allTags)
+                && (anyTags.isEmpty() || anyTags.stream().anyMatch(tags::contains))
+                && noneTags.stream().noneMatch(tags::contains)
+                && (statuses.isEmpty() || statuses.contains(task.getStatus()))
+                && (priorities.isEmpty() || priorities.contains(task.getPriority()));
+    }
+}
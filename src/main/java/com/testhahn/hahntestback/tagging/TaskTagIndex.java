@@ -0,0 +1,98 @@
+package com.testhahn.hahntestback.tagging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.cache.CacheInvalidationBus;
+import com.testhahn.hahntestback.cache.Invalidation;
+import com.testhahn.hahntestback.cache.InvalidationListener;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Per-user TaskBitmapIndex, built on first use with one query over the user's tasks and kept
+ * current from committed task changes. An index is rebuilt once it is older than
+ * app.tags.index.rebuild-after: that compacts deleted ordinals and picks up changes made
+ * through other instances. With the cache invalidation bus, those changes drop the user's
+ * index right away, and rebuild-after shrinks to the bus fallback TTL while the bus is
+ * unhealthy. Idle users are evicted.
+ */
+@Slf4j
+@Component
+public class TaskTagIndex implements InvalidationListener {
+
+    private final TaskRepository taskRepository;
+    // Present when app.cache-bus.enabled=true
+    private final ObjectProvider<CacheInvalidationBus> invalidationBus;
+    private final Cache<Long, Entry> indexes;
+    private final Duration rebuildAfter;
+
+    public TaskTagIndex(TaskRepository taskRepository,
+                        ObjectProvider<CacheInvalidationBus> invalidationBus,
+                        @Value("${app.tags.index.max-users:10000}") long maxUsers,
+                        @Value("${app.tags.index.idle-timeout:30m}") Duration idleTimeout,
+                        @Value("${app.tags.index.rebuild-after:10m}") Duration rebuildAfter) {
+        this.taskRepository = taskRepository;
+        this.invalidationBus = invalidationBus;
+        this.rebuildAfter = rebuildAfter;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    public TaskBitmapIndex forUser(Long userId) {
+        Entry entry = indexes.get(userId, this::build);
+        CacheInvalidationBus bus = invalidationBus.getIfAvailable();
+        Duration maxAge = bus != null ? bus.maxAge(rebuildAfter) : rebuildAfter;
+        if (System.nanoTime() - entry.builtAtNanos() > maxAge.toNanos()) {
+            indexes.asMap().remove(userId, entry);
+            entry = indexes.get(userId, this::build);
+        }
+        return entry.index();
+    }
+
+    // After commit only: a rolled-back change never reaches the index. An update racing a build of
+    // the same user's index waits for it (same cache entry), so it is applied on top of it.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        indexes.asMap().computeIfPresent(event.userId(), (userId, entry) -> {
+            if (event.type() == TaskLifecycleEvent.Type.DELETED) {
+                entry.index().remove(event.taskId());
+            } else {
+                entry.index().put(event.taskId(), event.status(), event.priority(), event.tags());
+            }
+            return entry;
+        });
+    }
+
+    // A change committed through another instance: rebuilt on next use
+    @Override
+    public void onInvalidation(Invalidation invalidation) {
+        if (invalidation.entity() == Invalidation.Entity.TASKS) {
+            indexes.invalidate(invalidation.userId());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry build(Long userId) {
+        TaskBitmapIndex index = new TaskBitmapIndex();
+        for (Object[] row : taskRepository.findTagIndexEntries(userId)) {
+            index.put((Long) row[0], (TaskStatusEnum) row[1], (TaskPriorityEnum) row[2], (Set<String>) row[3]);
+        }
+        log.debug("Built tag index of user ID: {} over {} tasks", userId, index.size());
+        return new Entry(index, System.nanoTime());
+    }
+
+    private record Entry(TaskBitmapIndex index, long builtAtNanos) {
+    }
+}
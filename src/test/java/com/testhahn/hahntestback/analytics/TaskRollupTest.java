@@ -0,0 +1,129 @@
+package com.testhahn.hahntestback.analytics;
+
+import com.testhahn.hahntestback.dto.analytics.Granularity;
+import com.testhahn.hahntestback.dto.analytics.ProductivityResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskDailyRollup;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import com.testhahn.hahntestback.service.AnalyticsServiceImpl;
+import com.testhahn.hahntestback.service.TaskServiceImpl;
+import com.testhahn.hahntestback.tagging.TaskTagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2 in PostgreSQL mode: the rollup upsert uses INSERT ... ON CONFLICT DO NOTHING
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollups;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskServiceImpl.class, OccurrenceExpander.class, TaskTagIndex.class, TaskRollupUpdater.class,
+        RollupBackfill.class, AnalyticsServiceImpl.class})
+class TaskRollupTest {
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private RollupBackfill backfill;
+
+    @Autowired
+    private AnalyticsServiceImpl analyticsService;
+
+    @Autowired
+    private TaskDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .username("rollups")
+                .email("rollups@example.com")
+                .password("password123")
+                .firstName("Roll")
+                .lastName("Up")
+                .build());
+    }
+
+    @Test
+    void testLifecycleEventsUpdateTodaysRollup() {
+        // Given
+        Task first = taskService.createTask("First", null, null, null, null, null, user);
+        Task second = taskService.createTask("Second", null, null, null, null, null, user);
+
+        // When
+        taskService.markAsCompleted(first.getId(), user.getId());
+        taskService.markAsCompleted(second.getId(), user.getId());
+        taskService.markAsInProgress(second.getId(), user.getId());
+
+        // Then
+        TaskDailyRollup rollup = todaysRollup();
+        assertEquals(2, rollup.getCreatedCount());
+        assertEquals(1, rollup.getCompletedCount());
+    }
+
+    @Test
+    void testBackfillMatchesIncrementalCounts() {
+        // Given
+        Task task = taskService.createTask("Done", null, TaskStatusEnum.COMPLETED, null, null, null, user);
+        taskService.createTask("Open", null, null, null, null, null, user);
+        entityManager.flush();
+        TaskDailyRollup incremental = todaysRollup();
+        long created = incremental.getCreatedCount();
+        long completed = incremental.getCompletedCount();
+        assertNotNull(task.getCompletedAt());
+
+        // When
+        backfill.backfill(LocalDate.now().minusDays(40), LocalDate.now());
+
+        // Then
+        TaskDailyRollup rebuilt = todaysRollup();
+        assertEquals(created, rebuilt.getCreatedCount());
+        assertEquals(completed, rebuilt.getCompletedCount());
+    }
+
+    @Test
+    void testWeeklyBucketsCoverTheRange() {
+        // Given
+        taskService.createTask("Task", null, null, null, null, null, user);
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(20);
+
+        // When
+        ProductivityResponse response = analyticsService.getProductivity(user.getId(), from, to, Granularity.WEEK);
+
+        // Then
+        assertEquals(from, response.getBuckets().get(0).getPeriodStart());
+        assertEquals(to, response.getBuckets().get(response.getBuckets().size() - 1).getPeriodEnd());
+        assertEquals(1, response.getTotalCreated());
+        assertNull(response.getAverageHoursToComplete());
+    }
+
+    private TaskDailyRollup todaysRollup() {
+        entityManager.clear();
+        List<TaskDailyRollup> rollups = rollupRepository.findByUserIdAndDateBetweenOrderByDate(
+                user.getId(), LocalDate.now(), LocalDate.now());
+        assertEquals(1, rollups.size());
+        return rollups.get(0);
+    }
+}
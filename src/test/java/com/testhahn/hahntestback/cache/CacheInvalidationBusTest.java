@@ -0,0 +1,131 @@
+package com.testhahn.hahntestback.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationBusTest {
+
+    // Flushed by the tests themselves, never by the flusher thread
+    private static final CacheInvalidationBus.Settings SETTINGS = new CacheInvalidationBus.Settings(
+            Duration.ofHours(1), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+    private final List<CacheInvalidationBus> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        started.forEach(CacheInvalidationBus::stop);
+    }
+
+    @Test
+    void testCoalescedInvalidationsReachPeersOverUdp() throws Exception {
+        // Given: two instances on one machine
+        int portA = freePort();
+        int portB = freePort();
+        List<Invalidation> receivedByB = new CopyOnWriteArrayList<>();
+        CacheInvalidationBus busA = start(portA, portB, invalidation -> { });
+        CacheInvalidationBus busB = start(portB, portA, receivedByB::add);
+
+        // When: three changes of user 7 and one of user 8 within one flush interval
+        busA.announce(7L, Invalidation.Entity.TASKS);
+        busA.announce(7L, Invalidation.Entity.TASKS);
+        busA.announce(8L, Invalidation.Entity.TASKS);
+        busA.announce(7L, Invalidation.Entity.TASKS);
+        busA.flush();
+        awaitSize(receivedByB, 2);
+
+        // Then
+        assertEquals(List.of(7L, 8L), receivedByB.stream().map(Invalidation::userId).sorted().toList());
+        assertTrue(busB.isHealthy());
+    }
+
+    @Test
+    void testFallsBackToShortTtlWhileAPeerIsSilent() {
+        // Given
+        CacheInvalidationBus bus = new CacheInvalidationBus(new SilentTransport(1), List::of,
+                new SimpleMeterRegistry(), SETTINGS);
+        Duration configured = Duration.ofMinutes(10);
+
+        // When / Then: nothing heard yet
+        assertFalse(bus.isHealthy());
+        assertEquals(Duration.ofSeconds(5), bus.maxAge(configured));
+
+        // When: the peer's heartbeat arrives
+        bus.receive(new InvalidationPacket(UUID.randomUUID(), List.of()).encode());
+
+        // Then
+        assertTrue(bus.isHealthy());
+        assertEquals(configured, bus.maxAge(configured));
+    }
+
+    @Test
+    void testOwnAndMalformedPacketsAreIgnored() {
+        // Given
+        List<Invalidation> received = new ArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus(new SilentTransport(1), () -> List.of(received::add),
+                new SimpleMeterRegistry(), SETTINGS);
+        bus.start();
+        started.add(bus);
+        Invalidation invalidation = new Invalidation(7L, Invalidation.Entity.TASKS, System.currentTimeMillis());
+
+        // When
+        bus.receive(new InvalidationPacket(bus.getNodeId(), List.of(invalidation)).encode());
+        bus.receive(new byte[]{1, 2, 3});
+
+        // Then
+        assertTrue(received.isEmpty());
+        assertFalse(bus.isHealthy());
+    }
+
+    private CacheInvalidationBus start(int port, int peerPort, InvalidationListener listener) {
+        UdpInvalidationTransport transport = new UdpInvalidationTransport(
+                new InetSocketAddress("127.0.0.1", port), List.of(new InetSocketAddress("127.0.0.1", peerPort)));
+        CacheInvalidationBus bus = new CacheInvalidationBus(transport, () -> List.of(listener),
+                new SimpleMeterRegistry(), SETTINGS);
+        bus.start();
+        started.add(bus);
+        return bus;
+    }
+
+    private static int freePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitSize(List<?> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, list.size());
+    }
+
+    // Expects peers but never hears from them
+    private record SilentTransport(int peerCount) implements InvalidationTransport {
+
+        @Override
+        public void start(Consumer<byte[]> receiver) {
+        }
+
+        @Override
+        public void send(byte[] packet) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
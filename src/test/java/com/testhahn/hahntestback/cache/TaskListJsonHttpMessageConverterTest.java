@@ -0,0 +1,91 @@
+package com.testhahn.hahntestback.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListJsonHttpMessageConverterTest {
+
+    private static final Type TASK_LIST = new TypeReference<List<TaskResponse>>() { }.getType();
+
+    private ObjectMapper objectMapper;
+    private TaskFragmentCache cache;
+    private TaskListJsonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new TaskFragmentCache(objectMapper, 100);
+        converter = new TaskListJsonHttpMessageConverter(objectMapper, cache);
+    }
+
+    @Test
+    void testOutputMatchesJacksonAndReusesFragments() throws Exception {
+        // Given
+        List<TaskResponse> tasks = List.of(task(1L, false), task(2L, true));
+
+        // When
+        String first = write(tasks);
+        String second = write(tasks);
+
+        // Then
+        assertEquals(objectMapper.writeValueAsString(tasks), first);
+        assertEquals(first, second);
+        assertEquals(2, cache.getFragments().stats().hitCount());
+    }
+
+    @Test
+    void testOverdueFlipIsNeverServedStale() throws Exception {
+        // Given
+        write(List.of(task(1L, false)));
+
+        // When - same task, same updatedAt, but the day rolled over
+        String output = write(List.of(task(1L, true)));
+
+        // Then
+        assertTrue(output.contains("\"overdue\":true"));
+    }
+
+    @Test
+    void testOnlyWritesTaskResponseListsAsJson() {
+        assertTrue(converter.canWrite(TASK_LIST, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(TASK_LIST, List.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(new TypeReference<List<String>>() { }.getType(), List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(TASK_LIST, null, MediaType.APPLICATION_JSON));
+    }
+
+    private String write(List<TaskResponse> tasks) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(tasks, TASK_LIST, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    private static TaskResponse task(Long id, boolean overdue) {
+        return TaskResponse.builder()
+                .id(id)
+                .title("Task " + id)
+                .status(TaskStatusEnum.PENDING)
+                .priority(TaskPriorityEnum.MEDIUM)
+                .dueDate(LocalDate.of(2024, 6, 1))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .overdue(overdue)
+                .canBeEdited(true)
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.testhahn.hahntestback.coalescing;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.exception.exceptionHelper.TaskNotFoundException;
+import com.testhahn.hahntestback.service.RecurringTaskService;
+import com.testhahn.hahntestback.service.TaskService;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingTaskServiceTest {
+
+    @Mock
+    private TaskService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CoalescingTaskService taskService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskService = new CoalescingTaskService(delegate, meterRegistry);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExecution() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        TaskStatistics statistics = new TaskStatistics(3, 1, 1, 1, 0, 0);
+        when(delegate.getTaskStatistics(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return statistics;
+        });
+
+        // When
+        List<Future<TaskStatistics>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> taskService.getTaskStatistics(1L)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<TaskStatistics> result : results) {
+            assertSame(statistics, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getTaskStatistics(1L);
+        assertEquals(3, meterRegistry.counter("task.service.coalescing.calls",
+                "method", "getTaskStatistics", "outcome", "coalesced").count());
+    }
+
+    @Test
+    void testDifferentUsersAreNotCoalesced() {
+        // Given
+        when(delegate.getAllUserTasks(anyLong())).thenReturn(List.of());
+
+        // When
+        taskService.getAllUserTasks(1L);
+        taskService.getAllUserTasks(2L);
+
+        // Then
+        verify(delegate).getAllUserTasks(1L);
+        verify(delegate).getAllUserTasks(2L);
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getTaskById(5L, 1L))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new TaskNotFoundException("Task not found with id: 5");
+                })
+                .thenReturn(Task.builder().id(5L).title("Back").build());
+
+        // When
+        Future<Task> first = executor.submit(() -> taskService.getTaskById(5L, 1L));
+        Future<Task> second = executor.submit(() -> taskService.getTaskById(5L, 1L));
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<Task> result : List.of(first, second)) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TaskNotFoundException.class, ex.getCause());
+        }
+        assertEquals("Back", taskService.getTaskById(5L, 1L).getTitle());
+        verify(delegate, times(2)).getTaskById(5L, 1L);
+    }
+
+    @Test
+    void testWriteDetachesInFlightReadsOfThatUser() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getAllUserTasks(1L))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .thenReturn(List.of(Task.builder().id(9L).build()));
+        Future<List<Task>> before = executor.submit(() -> taskService.getAllUserTasks(1L));
+        Thread.sleep(200);
+
+        // When
+        taskService.deleteTask(3L, 1L);
+        List<Task> after = taskService.getAllUserTasks(1L);
+        release.countDown();
+
+        // Then
+        assertEquals(1, after.size());
+        assertTrue(before.get(5, TimeUnit.SECONDS).isEmpty());
+        verify(delegate, times(2)).getAllUserTasks(1L);
+    }
+
+    @Test
+    void testEveryCallerGetsItsOwnDetachedCopy() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Task managed = Task.builder().id(5L).title("Shared").user(User.builder().id(1L).username("john").build())
+                .tags(new TreeSet<>(Set.of("work"))).build();
+        when(delegate.getAllUserTasks(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(managed);
+        });
+
+        // When
+        Future<List<Task>> first = executor.submit(() -> taskService.getAllUserTasks(1L));
+        Future<List<Task>> second = executor.submit(() -> taskService.getAllUserTasks(1L));
+        Thread.sleep(200);
+        release.countDown();
+        Task firstTask = first.get(5, TimeUnit.SECONDS).get(0);
+        Task secondTask = second.get(5, TimeUnit.SECONDS).get(0);
+
+        // Then
+        verify(delegate, times(1)).getAllUserTasks(1L);
+        assertEquals(managed, firstTask);
+        assertNotSame(managed, firstTask);
+        assertNotSame(firstTask, secondTask);
+        assertNotSame(firstTask.getTags(), secondTask.getTags());
+        assertEquals(1L, firstTask.getUser().getId());
+        assertNull(firstTask.getUser().getUsername());
+    }
+
+    @Test
+    void testSeriesWriteDetachesInFlightReadsOfThatUser() throws Exception {
+        // Given
+        RecurringTaskService recurringTaskService = new CoalescingRecurringTaskService(
+                mock(RecurringTaskService.class), taskService);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getAllUserTasks(1L))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .thenReturn(List.of(Task.builder().id(9L).build()));
+        Future<List<Task>> before = executor.submit(() -> taskService.getAllUserTasks(1L));
+        Thread.sleep(200);
+
+        // When
+        recurringTaskService.deleteRecurringTask(4L, 1L);
+        List<Task> after = taskService.getAllUserTasks(1L);
+        release.countDown();
+
+        // Then
+        assertEquals(1, after.size());
+        assertTrue(before.get(5, TimeUnit.SECONDS).isEmpty());
+        verify(delegate, times(2)).getAllUserTasks(1L);
+    }
+}
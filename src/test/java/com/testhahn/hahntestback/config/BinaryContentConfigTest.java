@@ -0,0 +1,94 @@
+package com.testhahn.hahntestback.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryContentConfigTest {
+
+    @Test
+    void testBinaryEncodingsRoundTripAndAreSmallerThanJson() throws Exception {
+        // Given
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            tasks.add(TaskResponse.builder()
+                    .id(i)
+                    .title("Task " + i)
+                    .description("Description " + i)
+                    .status(TaskStatusEnum.PENDING)
+                    .priority(TaskPriorityEnum.HIGH)
+                    .dueDate(LocalDate.of(2024, 6, 1))
+                    .createdAt(LocalDateTime.of(2024, 1, 1, 9, 30))
+                    .updatedAt(LocalDateTime.of(2024, 1, 2, 10, 0))
+                    .critical(true)
+                    .canBeEdited(true)
+                    .build());
+        }
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        int jsonSize = json.writeValueAsBytes(tasks).length;
+
+        for (ObjectMapper binary : List.of(
+                BinaryContentConfig.cborMapper(Jackson2ObjectMapperBuilder.json()),
+                BinaryContentConfig.smileMapper(Jackson2ObjectMapperBuilder.json()))) {
+            // When
+            byte[] encoded = binary.writeValueAsBytes(tasks);
+            TaskResponse[] decoded = binary.readValue(encoded, TaskResponse[].class);
+
+            // Then
+            assertEquals(tasks, List.of(decoded));
+            assertTrue(encoded.length < jsonSize);
+        }
+    }
+
+    @Test
+    void testV1MediaTypesSendExactlyTheV1Fields() throws Exception {
+        // Given - every field set, including those added after v1
+        TaskResponse task = TaskResponse.builder()
+                .id(1L)
+                .title("Task")
+                .description("Description")
+                .status(TaskStatusEnum.PENDING)
+                .priority(TaskPriorityEnum.HIGH)
+                .dueDate(LocalDate.of(2024, 6, 1))
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 30))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 10, 0))
+                .seriesId(5L)
+                .occurrenceDate(LocalDate.of(2024, 6, 1))
+                .parentId(3L)
+                .tags(List.of("home"))
+                .build();
+        List<String> v1Fields = List.of("id", "title", "description", "status", "priority", "dueDate",
+                "createdAt", "updatedAt", "overdue", "critical", "canBeEdited");
+
+        for (ObjectMapper current : List.of(
+                BinaryContentConfig.cborMapper(Jackson2ObjectMapperBuilder.json()),
+                BinaryContentConfig.smileMapper(Jackson2ObjectMapperBuilder.json()))) {
+            ObjectMapper v1 = BinaryContentConfig.v1(current.copy());
+
+            // When
+            Map<String, Object> v1Payload = v1.readValue(v1.writeValueAsBytes(task), new TypeReference<>() {
+            });
+            Map<String, Object> currentPayload = current.readValue(current.writeValueAsBytes(task),
+                    new TypeReference<>() {
+                    });
+
+            // Then - same names, same order, dates as integer arrays
+            assertEquals(v1Fields, new ArrayList<>(v1Payload.keySet()));
+            assertEquals(List.of(2024, 6, 1), v1Payload.get("dueDate"));
+            assertEquals(List.of(2024, 1, 1, 9, 30), v1Payload.get("createdAt"));
+            assertTrue(currentPayload.keySet().containsAll(List.of("seriesId", "occurrenceDate", "parentId", "tags")));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.testhahn.hahntestback.config;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import com.testhahn.hahntestback.repository.TaskClosureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskHierarchyConfigTest {
+
+    @Test
+    void testClosureIsInitializedOnEveryShardThatHasNone() throws Exception {
+        // Given: shard-a has no closure rows yet, shard-b has
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-a", dataSource);
+        shards.put("shard-b", dataSource);
+        ShardRoutingDataSource sharded = mock(ShardRoutingDataSource.class);
+        when(sharded.getShards()).thenReturn(shards);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("shardRoutingDataSource", sharded);
+
+        TaskClosureRepository repository = mock(TaskClosureRepository.class);
+        List<String> linkedOn = new ArrayList<>();
+        when(repository.count()).thenAnswer(invocation -> "shard-a".equals(ShardContext.currentShard()) ? 0L : 5L);
+        when(repository.insertMissingSelfLinks()).thenAnswer(invocation -> {
+            linkedOn.add(ShardContext.currentShard());
+            return 3;
+        });
+
+        // When
+        new TaskHierarchyConfig().taskClosureBackfillRunner(repository, new DataSourceTransactionManager(dataSource),
+                beans.getBeanProvider(ShardRoutingDataSource.class)).run(null);
+
+        // Then
+        verify(repository, times(2)).count();
+        assertEquals(List.of("shard-a"), linkedOn);
+    }
+}
@@ -6,6 +6,7 @@ import com.testhahn.hahntestback.entity.Task;
 import com.testhahn.hahntestback.entity.User;
 import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.readmodel.TaskReadModelReader;
 import com.testhahn.hahntestback.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -20,6 +22,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +34,9 @@ class TaskControllerSimpleTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private ObjectProvider<TaskReadModelReader> readModel;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -75,6 +81,38 @@ class TaskControllerSimpleTest {
         verify(taskService).getAllUserTasks(1L);
     }
 
+    @Test
+    void testGetAllTasksFromReadModel() {
+        // Given
+        TaskReadModelReader reader = mock(TaskReadModelReader.class);
+        when(readModel.getIfAvailable()).thenReturn(reader);
+        when(reader.findAll(1L)).thenReturn(Optional.of(List.of(TaskResponse.fromEntity(testTask))));
+
+        // When
+        ResponseEntity<List<TaskResponse>> response = taskController.getAllTasks(testUser);
+
+        // Then
+        assertEquals(1, response.getBody().size());
+        assertEquals("Test Task", response.getBody().get(0).getTitle());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void testGetAllTasksFallsBackWhenReadModelIsStale() {
+        // Given
+        TaskReadModelReader reader = mock(TaskReadModelReader.class);
+        when(readModel.getIfAvailable()).thenReturn(reader);
+        when(reader.findAll(1L)).thenReturn(Optional.empty());
+        when(taskService.getAllUserTasks(1L)).thenReturn(List.of(testTask));
+
+        // When
+        ResponseEntity<List<TaskResponse>> response = taskController.getAllTasks(testUser);
+
+        // Then
+        assertEquals(1, response.getBody().size());
+        verify(taskService).getAllUserTasks(1L);
+    }
+
     @Test
     void testCreateTask() {
         // Given
@@ -91,6 +129,7 @@ class TaskControllerSimpleTest {
                 eq(TaskStatusEnum.PENDING),
                 eq(TaskPriorityEnum.HIGH),
                 any(LocalDate.class),
+                isNull(),
                 eq(testUser)
         )).thenReturn(testTask);
 
@@ -107,6 +146,7 @@ class TaskControllerSimpleTest {
                 eq(TaskStatusEnum.PENDING),
                 eq(TaskPriorityEnum.HIGH),
                 any(LocalDate.class),
+                isNull(),
                 eq(testUser)
         );
     }
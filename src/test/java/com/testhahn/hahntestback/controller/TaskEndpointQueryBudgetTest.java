@@ -0,0 +1,110 @@
+package com.testhahn.hahntestback.controller;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.monitoring.SqlAccountingFilter;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Query budgets per endpoint, authentication included; raising one of these numbers should be a deliberate change
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint_budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.sql-accounting.enabled=true",
+        "app.sql-accounting.response-headers=true",
+        "app.read-model.enabled=false",
+        "app.outbox.enabled=false",
+        "app.request-coalescing.enabled=false",
+        "app.reminders.enabled=false",
+        "app.reporting.enabled=false"
+})
+@AutoConfigureMockMvc
+class TaskEndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String token;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        User user = userRepository.save(User.builder()
+                .username("budget")
+                .email("budget@example.com")
+                .password("password123")
+                .firstName("Query")
+                .lastName("Budget")
+                .build());
+        for (int i = 0; i < 10; i++) {
+            Task task = taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .status(i % 2 == 0 ? TaskStatusEnum.PENDING : TaskStatusEnum.COMPLETED)
+                    .priority(i % 3 == 0 ? TaskPriorityEnum.HIGH : TaskPriorityEnum.LOW)
+                    .dueDate(LocalDate.now().minusDays(i))
+                    .user(user)
+                    .build());
+            taskId = task.getId();
+        }
+        token = jwtTokenProvider.generateAccessToken("budget");
+    }
+
+    // User lookup by the JWT filter, the tasks, the user's recurring tasks
+    @Test
+    void testListTasksBudget() throws Exception {
+        assertMaxStatements(3, get("/api/tasks"));
+    }
+
+    @Test
+    void testTaskByIdBudget() throws Exception {
+        assertMaxStatements(2, get("/api/tasks/" + taskId));
+    }
+
+    @Test
+    void testStatisticsBudget() throws Exception {
+        assertMaxStatements(8, get("/api/tasks/statistics"));
+    }
+
+    private void assertMaxStatements(int max, MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String statements = result.getResponse().getHeader(SqlAccountingFilter.STATEMENTS_HEADER);
+        assertNotNull(statements, "SQL accounting headers missing");
+        assertTrue(Integer.parseInt(statements) <= max,
+                "Expected at most " + max + " SQL statements but " + statements + " ran");
+    }
+}
@@ -0,0 +1,55 @@
+package com.testhahn.hahntestback.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadDataSourceTest {
+
+    private JdbcDataSource target;
+
+    @BeforeEach
+    void setUp() {
+        target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:bulkhead;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void testRejectsWhenNoPermitAndNoWaitingSlot() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 0, Duration.ofMillis(50));
+
+        try (Connection ignored = bulkhead.getConnection()) {
+            assertThrows(BulkheadDataSource.BulkheadFullException.class, bulkhead::getConnection);
+            assertEquals(1, bulkhead.getRejected());
+        }
+    }
+
+    @Test
+    void testTimesOutWaitingForPermit() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 5, Duration.ofMillis(50));
+
+        try (Connection ignored = bulkhead.getConnection()) {
+            assertThrows(BulkheadDataSource.BulkheadFullException.class, bulkhead::getConnection);
+            assertEquals(0, bulkhead.getWaiting());
+        }
+    }
+
+    @Test
+    void testClosingConnectionReleasesPermitOnce() throws SQLException {
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 0, Duration.ofMillis(50));
+
+        Connection connection = bulkhead.getConnection();
+        assertEquals(0, bulkhead.getAvailablePermits());
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+}
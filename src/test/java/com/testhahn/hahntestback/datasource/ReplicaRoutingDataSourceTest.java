@@ -0,0 +1,97 @@
+package com.testhahn.hahntestback.datasource;
+
+import com.testhahn.hahntestback.entity.User;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // Two embedded databases standing in for primary and replica
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(new ReplicaNode("replica-0", replica)), tracker);
+
+        assertEquals("routing_primary", databaseOf(routing));
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() throws SQLException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(new ReplicaNode("replica-0", replica)), tracker);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("routing_replica", databaseOf(routing));
+    }
+
+    @Test
+    void testFailingReplicaFallsBackToPrimary() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaNode brokenNode = new ReplicaNode("replica-0", broken);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(brokenNode), tracker);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("routing_primary", databaseOf(routing));
+        assertFalse(brokenNode.isHealthy());
+    }
+
+    @Test
+    void testRecentWriterReadsFromPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, List.of(new ReplicaNode("replica-0", replica)), tracker);
+
+        User user = User.builder().id(7L).username("writer").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        tracker.recordWrite(7L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("routing_primary", databaseOf(routing));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static String databaseOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getCatalog().toLowerCase();
+        }
+    }
+}
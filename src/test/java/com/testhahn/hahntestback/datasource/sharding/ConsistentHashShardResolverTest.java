@@ -0,0 +1,51 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashShardResolverTest {
+
+    @Test
+    void testSameUserAlwaysMapsToSameShard() {
+        ConsistentHashShardResolver resolver = new ConsistentHashShardResolver(List.of("shard-0", "shard-1"), 128);
+
+        assertEquals(resolver.shardFor(42L), resolver.shardFor(42L));
+    }
+
+    @Test
+    void testUsersAreSpreadAcrossShards() {
+        ConsistentHashShardResolver resolver =
+                new ConsistentHashShardResolver(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= 30_000; userId++) {
+            counts.merge(resolver.shardFor(userId), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 7_000, "uneven distribution: " + counts));
+    }
+
+    @Test
+    void testAddingShardOnlyMovesAFractionOfUsers() {
+        ConsistentHashShardResolver before = new ConsistentHashShardResolver(List.of("shard-0", "shard-1"), 128);
+        ConsistentHashShardResolver after =
+                new ConsistentHashShardResolver(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= 10_000; userId++) {
+            String newShard = after.shardFor(userId);
+            if (!newShard.equals(before.shardFor(userId))) {
+                moved++;
+                assertEquals("shard-2", newShard);
+            }
+        }
+
+        assertTrue(moved < 5_000, "too many users moved: " + moved);
+    }
+}
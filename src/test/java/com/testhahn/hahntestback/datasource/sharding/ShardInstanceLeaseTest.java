@@ -0,0 +1,52 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardInstanceLeaseTest {
+
+    private JdbcDataSource home;
+
+    @BeforeEach
+    void setUp() {
+        home = new JdbcDataSource();
+        home.setURL("jdbc:h2:mem:shard_lease;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(home).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testSecondInstanceFailsWhileLeaseIsHeld() {
+        ShardInstanceLease first = new ShardInstanceLease(home, Duration.ofMinutes(1));
+        ShardInstanceLease second = new ShardInstanceLease(home, Duration.ofMinutes(1));
+        first.start();
+        try {
+            assertThrows(IllegalStateException.class, second::start);
+        } finally {
+            first.stop();
+        }
+
+        // Released on stop
+        second.start();
+        assertTrue(second.isRunning());
+        second.stop();
+    }
+
+    @Test
+    void testExpiredLeaseIsTakenOver() {
+        ShardInstanceLease crashed = new ShardInstanceLease(home, Duration.ofMinutes(1));
+        crashed.start();
+        new JdbcTemplate(home).update("UPDATE shard_instance_lease SET renewed_at = TIMESTAMP '2020-01-01 00:00:00'");
+
+        ShardInstanceLease replacement = new ShardInstanceLease(home, Duration.ofMinutes(1));
+        replacement.start();
+        assertTrue(replacement.isRunning());
+        assertFalse(crashed.tryAcquire());
+        replacement.stop();
+    }
+}
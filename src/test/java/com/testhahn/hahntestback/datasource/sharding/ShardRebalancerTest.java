@@ -0,0 +1,121 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRebalancerTest {
+
+    private JdbcTemplate home;
+    private JdbcTemplate other;
+    private DirectoryShardResolver directory;
+    private ShardRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        // Several embedded databases standing in for the shards
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-0", h2("rebalance_shard_0"));
+        shards.put("shard-1", h2("rebalance_shard_1"));
+        home = new JdbcTemplate(shards.get("shard-0"));
+        other = new JdbcTemplate(shards.get("shard-1"));
+        createSchema(home);
+        createSchema(other);
+
+        directory = new DirectoryShardResolver(userId -> "shard-0", shards.get("shard-0"));
+        directory.load();
+        ShardUserReplicator replicator = new ShardUserReplicator(shards, "shard-0", directory);
+        rebalancer = new ShardRebalancer(shards, "shard-0", directory, replicator, new ShardMoveLocks());
+
+        home.update("INSERT INTO users (id, username, email, password, first_name, last_name, is_enabled) "
+                + "VALUES (1, 'mover', 'mover@example.com', 'secret', 'Mo', 'Ver', TRUE)");
+        home.update("INSERT INTO tasks (id, title, status, priority, user_id) VALUES (10, 'A', 'PENDING', 'LOW', 1)");
+        home.update("INSERT INTO tasks (id, title, status, priority, user_id) VALUES (11, 'B', 'COMPLETED', 'HIGH', 1)");
+    }
+
+    @Test
+    void testMoveUserCopiesRowsAndUpdatesDirectory() throws InterruptedException {
+        ShardRebalancer.MoveResult result = rebalancer.moveUser(1L, "shard-1");
+
+        assertEquals(2, result.rowsMoved());
+        assertEquals("shard-1", directory.shardFor(1L));
+        assertEquals(2, count(other, "SELECT COUNT(*) FROM tasks WHERE user_id = 1"));
+        assertEquals(0, count(home, "SELECT COUNT(*) FROM tasks WHERE user_id = 1"));
+        // The full users table stays on the home shard, a copy follows the tasks
+        assertEquals(1, count(home, "SELECT COUNT(*) FROM users WHERE id = 1"));
+        assertEquals(1, count(other, "SELECT COUNT(*) FROM users WHERE id = 1"));
+    }
+
+    @Test
+    void testMoveUserCarriesEveryUserScopedTable() throws InterruptedException {
+        // Given
+        home.update("INSERT INTO task_series (id, title, user_id) VALUES (5, 'Weekly', 1)");
+        home.update("INSERT INTO task_series_exceptions (series_id, exception_date) VALUES (5, DATE '2024-01-08')");
+        home.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) VALUES (10, 10, 0)");
+        home.update("INSERT INTO task_closure (ancestor_id, descendant_id, depth) VALUES (10, 11, 1)");
+        home.update("INSERT INTO task_daily_rollups (id, user_id, rollup_date) VALUES (7, 1, DATE '2024-01-08')");
+        home.update("INSERT INTO task_read_model (task_id, user_id, title) VALUES (10, 1, 'A')");
+        home.update("INSERT INTO task_read_model_changes (task_id, user_id, changed_at) "
+                + "VALUES (11, 1, TIMESTAMP '2024-01-08 10:00:00')");
+        home.update("INSERT INTO task_outbox (id, user_id, task_id, event_type) VALUES (3, 1, 10, 'CREATED')");
+
+        // When
+        ShardRebalancer.MoveResult result = rebalancer.moveUser(1L, "shard-1");
+
+        // Then
+        assertEquals(10, result.rowsMoved());
+        for (UserScopedTables.Table table : UserScopedTables.ALL) {
+            String sql = "SELECT COUNT(*) FROM " + table.name() + " WHERE " + table.userFilter();
+            assertTrue(count(other, sql.replace("?", "1")) > 0, table.name() + " was not copied");
+            assertEquals(0, count(home, sql.replace("?", "1")), table.name() + " was left on the source");
+        }
+    }
+
+    @Test
+    void testMoveToCurrentShardIsNoOp() throws InterruptedException {
+        ShardRebalancer.MoveResult result = rebalancer.moveUser(1L, "shard-0");
+
+        assertEquals(0, result.rowsMoved());
+        assertEquals(2, count(home, "SELECT COUNT(*) FROM tasks WHERE user_id = 1"));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static void createSchema(JdbcTemplate jdbc) {
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(255), "
+                + "password VARCHAR(255), first_name VARCHAR(50), last_name VARCHAR(50), is_enabled BOOLEAN, "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(100), description VARCHAR(500), "
+                + "status VARCHAR(20), priority VARCHAR(20), due_date DATE, user_id BIGINT REFERENCES users(id), "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE task_series (id BIGINT PRIMARY KEY, title VARCHAR(100), "
+                + "user_id BIGINT REFERENCES users(id))");
+        jdbc.execute("CREATE TABLE task_series_exceptions (series_id BIGINT REFERENCES task_series(id), "
+                + "exception_date DATE)");
+        jdbc.execute("CREATE TABLE task_closure (ancestor_id BIGINT, descendant_id BIGINT, depth INT, "
+                + "PRIMARY KEY (ancestor_id, descendant_id))");
+        jdbc.execute("CREATE TABLE task_daily_rollups (id BIGINT PRIMARY KEY, user_id BIGINT, rollup_date DATE)");
+        jdbc.execute("CREATE TABLE task_read_model (task_id BIGINT PRIMARY KEY, user_id BIGINT, title VARCHAR(100))");
+        jdbc.execute("CREATE TABLE task_read_model_changes (task_id BIGINT PRIMARY KEY, user_id BIGINT, "
+                + "changed_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE task_outbox (id BIGINT PRIMARY KEY, user_id BIGINT, task_id BIGINT, "
+                + "event_type VARCHAR(20))");
+    }
+
+    private static int count(JdbcTemplate jdbc, String sql) {
+        Integer count = jdbc.queryForObject(sql, Integer.class);
+        return count != null ? count : 0;
+    }
+}
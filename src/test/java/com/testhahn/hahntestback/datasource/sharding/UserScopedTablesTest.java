@@ -0,0 +1,34 @@
+package com.testhahn.hahntestback.datasource.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserScopedTablesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testEveryEntityTableIsUserScopedOrGlobal() {
+        // Given
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+
+        // Then
+        assertFalse(tables.isEmpty());
+        for (String table : tables) {
+            String name = table.toLowerCase(Locale.ROOT);
+            boolean registered = UserScopedTables.GLOBAL.contains(name)
+                    || UserScopedTables.ALL.stream().anyMatch(scoped -> scoped.name().equals(name));
+            assertTrue(registered, "Table " + name + " must be registered in UserScopedTables");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.testhahn.hahntestback.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private AtomicInteger invocations;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyStore(Duration.ofHours(1), 100), Jackson2ObjectMapperBuilder.json().build(),
+                Duration.ofSeconds(5), 64);
+        invocations = new AtomicInteger();
+        authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRetryReplaysFirstResponse() throws Exception {
+        // Given
+        FilterChain chain = creatingChain(null);
+        filter.doFilter(request("key-1", "{\"title\":\"Task\"}"), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"title\":\"Task\"}"), replay, chain);
+
+        // Then
+        assertEquals(1, invocations.get());
+        assertEquals(201, replay.getStatus());
+        assertEquals("{\"id\":1}", replay.getContentAsString());
+        assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testSameKeyWithDifferentBodyIsRejected() throws Exception {
+        // Given
+        FilterChain chain = creatingChain(null);
+        filter.doFilter(request("key-1", "{\"title\":\"Task\"}"), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"title\":\"Other\"}"), response, chain);
+
+        // Then
+        assertEquals(1, invocations.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void testServerErrorIsNotRecorded() throws Exception {
+        // Given
+        FilterChain failing = (req, res) -> {
+            invocations.incrementAndGet();
+            ((HttpServletResponse) res).setStatus(503);
+        };
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), failing);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{}"), response, creatingChain(null));
+
+        // Then
+        assertEquals(2, invocations.get());
+        assertEquals(201, response.getStatus());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testConcurrentDuplicatesRunOnce() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = creatingChain(release);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(executor.submit(() -> {
+                authenticate();
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("key-1", "{}"), response, chain);
+                return response;
+            }));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<MockHttpServletResponse> response : responses) {
+            assertEquals(201, response.get(5, TimeUnit.SECONDS).getStatus());
+        }
+        assertEquals(1, invocations.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void testOversizedBodyIsRejectedWithoutReachingTheController() throws Exception {
+        // Given
+        String body = "{\"title\":\"" + "x".repeat(100) + "\"}";
+        MockHttpServletResponse declaredResponse = new MockHttpServletResponse();
+        MockHttpServletResponse chunkedResponse = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("key-1", body), declaredResponse, creatingChain(null));
+        filter.doFilter(new UnknownLengthRequest(request("key-2", body)), chunkedResponse, creatingChain(null));
+
+        // Then
+        assertEquals(413, declaredResponse.getStatus());
+        assertEquals(413, chunkedResponse.getStatus());
+        assertEquals(0, invocations.get());
+    }
+
+    @Test
+    void testCachedBodySupportsReadListener() throws Exception {
+        // Given
+        CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request("key-1", "{}"), 64);
+        ServletInputStream input = cached.getInputStream();
+        List<String> calls = new ArrayList<>();
+
+        // When
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("data:" + new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("done");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                calls.add("error");
+            }
+        });
+
+        // Then
+        assertEquals(List.of("data:{}", "done"), calls);
+    }
+
+    private FilterChain creatingChain(CountDownLatch release) {
+        return (req, res) -> {
+            invocations.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            HttpServletResponse response = (HttpServletResponse) res;
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // A chunked upload: the container reports no Content-Length
+    private static class UnknownLengthRequest extends HttpServletRequestWrapper {
+        UnknownLengthRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "john", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
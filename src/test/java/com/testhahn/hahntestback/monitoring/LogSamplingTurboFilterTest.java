@@ -0,0 +1,97 @@
+package com.testhahn.hahntestback.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private LogSamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new LogSamplingTurboFilter();
+        filter.setContext(context);
+        filter.addSample("com.example.service:10");
+        filter.addSample("com.example.service.hot:100");
+        filter.start();
+    }
+
+    @Test
+    void testKeepsOneInNEventsAtOrBelowMaxLevel() {
+        // Given
+        Logger logger = context.getLogger("com.example.service.TaskService");
+
+        // When
+        int kept = countKept(logger, Level.DEBUG, 1000);
+
+        // Then - INFO is above the default max level (DEBUG) and passes unsampled
+        assertEquals(100, kept);
+        assertEquals(1000, countKept(logger, Level.INFO, 1000));
+    }
+
+    @Test
+    void testMaxLevelExtendsSamplingToInfo() {
+        filter.setMaxLevel("INFO");
+        Logger logger = context.getLogger("com.example.service.TaskService");
+
+        assertEquals(100, countKept(logger, Level.INFO, 1000));
+    }
+
+    @Test
+    void testLongestPrefixWins() {
+        Logger logger = context.getLogger("com.example.service.hot.Loop");
+
+        assertEquals(10, countKept(logger, Level.DEBUG, 1000));
+    }
+
+    @Test
+    void testWarnAndErrorAlwaysPass() {
+        Logger logger = context.getLogger("com.example.service.TaskService");
+
+        assertEquals(1000, countKept(logger, Level.WARN, 1000));
+        assertEquals(1000, countKept(logger, Level.ERROR, 1000));
+    }
+
+    @Test
+    void testOtherLoggersAndEnabledChecksAreNotSampled() {
+        // Given
+        Logger unsampled = context.getLogger("com.example.web.TaskController");
+        Logger sampled = context.getLogger("com.example.service.TaskService");
+
+        // Then
+        assertEquals(1000, countKept(unsampled, Level.DEBUG, 1000));
+        // isDebugEnabled() reaches the filter with a null format and must not consume a slot
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, sampled, Level.DEBUG, null, null, null));
+        }
+    }
+
+    @Test
+    void testEventsBelowTheLoggerLevelAreLeftToLogback() {
+        // Given
+        Logger logger = context.getLogger("com.example.service.Quiet");
+        logger.setLevel(Level.INFO);
+
+        // Then - logback drops them anyway; counting them would skew the sample
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "line", null, null));
+    }
+
+    private int countKept(Logger logger, Level level, int events) {
+        int kept = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "line {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
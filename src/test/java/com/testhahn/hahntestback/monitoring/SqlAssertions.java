@@ -0,0 +1,28 @@
+package com.testhahn.hahntestback.monitoring;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Pins how many SQL statements a call may run. Needs SqlAccountingConfig in the test context
+ * (app.sql-accounting.enabled=true) so the DataSource is instrumented.
+ */
+public final class SqlAssertions {
+
+    private SqlAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> action) {
+        SqlStatementTracker.Tracked<T> tracked = SqlStatementTracker.track(action);
+        SqlStatistics statistics = tracked.statistics();
+        if (statistics.getStatements() > max) {
+            fail("Expected at most " + max + " SQL statements but " + statistics.getStatements() + " ran:\n"
+                    + statistics.getExecutionsBySql().entrySet().stream()
+                    .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+        return tracked.result();
+    }
+}
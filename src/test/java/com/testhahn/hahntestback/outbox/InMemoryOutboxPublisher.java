@@ -0,0 +1,23 @@
+package com.testhahn.hahntestback.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Test stand-in: keeps what was published, can be told to fail the next batches or to hold a batch
+class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+    int failuresLeft;
+    Runnable beforePublish = () -> {
+    };
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        beforePublish.run();
+        if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new IllegalStateException("Broker unavailable");
+        }
+        published.addAll(batch);
+    }
+}
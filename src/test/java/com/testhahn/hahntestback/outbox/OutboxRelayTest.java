@@ -0,0 +1,256 @@
+package com.testhahn.hahntestback.outbox;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.entity.OutboxEvent;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.OutboxEventRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Transactions are managed by the tests, to check that outbox rows commit and roll back with the change.
+// H2's own dialect, so the writer's row lock renders as SQL H2 understands
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private OutboxWriter writer;
+    private InMemoryOutboxPublisher publisher;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        writer = new OutboxWriter(outboxEventRepository, userRepository, Jackson2ObjectMapperBuilder.json().build());
+        publisher = new InMemoryOutboxPublisher();
+        meterRegistry = new SimpleMeterRegistry();
+        relay = newRelay(publisher, meterRegistry);
+        relay.createLockRows();
+    }
+
+    @Test
+    void testOutboxRowsCommitAndRollBackWithTheChange() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(1L, 10L)));
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.onTaskLifecycle(event(2L, 10L));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(List.of(1L), outboxEventRepository.findAll().stream().map(OutboxEvent::getTaskId).toList());
+    }
+
+    @Test
+    void testRelayPublishesInWriteOrderAndDeletesPublishedRows() throws Exception {
+        // Given
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            long id = taskId;
+            transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(id, 10L)));
+        }
+
+        // When: batches of 2
+        int first = relay.drain();
+        int second = relay.drain();
+        int third = relay.drain();
+
+        // Then
+        assertEquals(List.of(2, 1, 0), List.of(first, second, third));
+        assertEquals(List.of(1L, 2L, 3L), publisher.published.stream().map(OutboxMessage::taskId).toList());
+        assertTrue(publisher.published.get(0).payload().contains("\"type\":\"CREATED\""));
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(3, meterRegistry.get("task.outbox.published").counter().count());
+        assertEquals(3, meterRegistry.get("task.outbox.lag").timer().count());
+    }
+
+    @Test
+    void testFailedBatchIsKeptAndRetriedBeforeAnythingNewer() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(1L, 10L)));
+        publisher.failuresLeft = 1;
+
+        // When
+        assertThrows(IllegalStateException.class, () -> relay.drain());
+        transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(2L, 10L)));
+        assertDoesNotThrow(() -> relay.drain());
+
+        // Then
+        assertEquals(List.of(1L, 2L), publisher.published.stream().map(OutboxMessage::taskId).toList());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void testOneUsersChangesGetIdsInCommitOrder() throws Exception {
+        // Given: a change of the user written but not committed yet
+        Long userId = userRepository.save(User.builder()
+                .username("outbox-" + UUID.randomUUID().toString().substring(0, 8))
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password123")
+                .firstName("Out")
+                .lastName("Box")
+                .build()).getId();
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Thread first = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            writer.onTaskLifecycle(event(1L, userId));
+            firstWritten.countDown();
+            await(commitFirst);
+        }));
+        first.start();
+        assertTrue(firstWritten.await(5, TimeUnit.SECONDS));
+
+        // When: a second change of the same user, and a relay poll, while the first is still open
+        Thread second = new Thread(() -> transactionTemplate.executeWithoutResult(
+                status -> writer.onTaskLifecycle(event(2L, userId))));
+        second.start();
+        second.join(300);
+        boolean secondWaited = second.isAlive();
+        int drainedMeanwhile = relay.drain();
+        commitFirst.countDown();
+        first.join();
+        second.join();
+        relay.drain();
+
+        // Then: the second change could not commit first and be published ahead of the first
+        assertTrue(secondWaited);
+        assertEquals(0, drainedMeanwhile);
+        assertEquals(List.of(1L, 2L), publisher.published.stream().map(OutboxMessage::taskId).toList());
+    }
+
+    @Test
+    void testSecondRelaySkipsWhileOneIsDraining() throws Exception {
+        // Given: a relay in the middle of publishing
+        transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(1L, 10L)));
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch finishPublishing = new CountDownLatch(1);
+        publisher.beforePublish = () -> {
+            publishing.countDown();
+            await(finishPublishing);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> draining = executor.submit(relay::drainExclusively);
+        assertTrue(publishing.await(5, TimeUnit.SECONDS));
+
+        // When
+        InMemoryOutboxPublisher otherPublisher = new InMemoryOutboxPublisher();
+        boolean otherDrained = newRelay(otherPublisher, new SimpleMeterRegistry()).drainExclusively();
+        finishPublishing.countDown();
+
+        // Then
+        assertTrue(draining.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertFalse(otherDrained);
+        assertTrue(otherPublisher.published.isEmpty());
+        assertEquals(List.of(1L), publisher.published.stream().map(OutboxMessage::taskId).toList());
+    }
+
+    @Test
+    void testRelayDrainsEveryShardItGetsTheLockOf() throws Exception {
+        // Given: a second shard with an outbox row of its own
+        JdbcDataSource otherShard = new JdbcDataSource();
+        otherShard.setURL("jdbc:h2:mem:outbox_other_shard;DB_CLOSE_DELAY=-1");
+        JdbcTemplate otherJdbc = new JdbcTemplate(otherShard);
+        otherJdbc.execute("DROP ALL OBJECTS");
+        otherJdbc.execute("CREATE TABLE task_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, "
+                + "task_id BIGINT NOT NULL, event_type VARCHAR(20) NOT NULL, payload VARCHAR(2000) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL)");
+        otherJdbc.execute("CREATE TABLE task_outbox_relay_lock (name VARCHAR(50) PRIMARY KEY)");
+        otherJdbc.update("INSERT INTO task_outbox (user_id, task_id, event_type, payload, created_at) "
+                + "VALUES (20, 2, 'CREATED', '{}', LOCALTIMESTAMP)");
+        transactionTemplate.executeWithoutResult(status -> writer.onTaskLifecycle(event(1L, 10L)));
+        OutboxRelay shardedRelay = new OutboxRelay(Map.of("default", dataSource, "other", otherShard), publisher,
+                new SimpleMeterRegistry(), new OutboxRelay.Settings(Duration.ofMillis(500), 2, Duration.ofSeconds(30)));
+        shardedRelay.createLockRows();
+
+        // When: another relay is draining the second shard, then has finished
+        boolean drainedWhileLocked;
+        try (Connection lock = otherShard.getConnection()) {
+            lock.setAutoCommit(false);
+            lock.createStatement().executeQuery("SELECT name FROM task_outbox_relay_lock FOR UPDATE").next();
+            drainedWhileLocked = shardedRelay.drainExclusively();
+            lock.rollback();
+        }
+        List<Long> publishedWhileLocked = publisher.published.stream().map(OutboxMessage::taskId).toList();
+        shardedRelay.drainExclusively();
+
+        // Then
+        assertTrue(drainedWhileLocked);
+        assertEquals(List.of(1L), publishedWhileLocked);
+        assertEquals(List.of(1L, 2L), publisher.published.stream().map(OutboxMessage::taskId).toList());
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, otherJdbc.queryForObject("SELECT COUNT(*) FROM task_outbox", Integer.class));
+    }
+
+    @Test
+    void testFilePublisherNeedsAnAbsolutePath() {
+        OutboxConfig config = new OutboxConfig();
+
+        for (String file : List.of("", "outbox/task-events.ndjson")) {
+            IllegalStateException ex = assertThrows(IllegalStateException.class,
+                    () -> config.outboxPublisher(Jackson2ObjectMapperBuilder.json().build(), file));
+            assertTrue(ex.getMessage().contains("absolute"));
+        }
+    }
+
+    private OutboxRelay newRelay(OutboxPublisher outboxPublisher, SimpleMeterRegistry registry) {
+        return new OutboxRelay(Map.of("default", dataSource), outboxPublisher, registry,
+                new OutboxRelay.Settings(Duration.ofMillis(500), 2, Duration.ofSeconds(30)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskLifecycleEvent event(Long taskId, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskLifecycleEvent(TaskLifecycleEvent.Type.CREATED, taskId, userId, TaskStatusEnum.PENDING,
+                TaskPriorityEnum.MEDIUM, Set.of("work"), null, now, null, now);
+    }
+}
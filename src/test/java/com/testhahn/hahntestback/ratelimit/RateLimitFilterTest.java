@@ -0,0 +1,100 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider("myVerySecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm",
+                60_000, 60_000);
+        properties = new RateLimitProperties();
+        properties.setAuth(new RateLimitProperties.Policy(2, Duration.ofMinutes(1)));
+        properties.setRead(new RateLimitProperties.Policy(2, Duration.ofMinutes(1)));
+        filter = new RateLimitFilter(new RateLimiter(1000, Duration.ofMinutes(10)), properties, jwtTokenProvider,
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry());
+        chain = mock(FilterChain.class);
+    }
+
+    @Test
+    void testAuthEndpointsAreLimitedPerIp() throws Exception {
+        // Given
+        filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1", null), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1", null), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse throttled = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/auth/login", "10.0.0.1", null), throttled, chain);
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/auth/login", "10.0.0.2", null), otherClient, chain);
+
+        // Then
+        assertEquals(429, throttled.getStatus());
+        assertEquals("0", throttled.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("30", throttled.getHeader("Retry-After"));
+        assertEquals(200, otherClient.getStatus());
+        assertEquals("1", otherClient.getHeader(RateLimitFilter.REMAINING_HEADER));
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+
+    @Test
+    void testUsersBehindOneIpHaveSeparateBuckets() throws Exception {
+        // Given
+        String john = jwtTokenProvider.generateAccessToken("john");
+        String jane = jwtTokenProvider.generateAccessToken("jane");
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("GET", "/api/tasks", "10.0.0.1", john), new MockHttpServletResponse(), chain);
+        }
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/tasks", "10.0.0.1", jane), response, chain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+
+    @Test
+    void testWarmupUsernameIsThrottledLikeAnyoneElse() throws Exception {
+        // Given - anyone can register this name, so it must not bypass the limiter
+        String token = jwtTokenProvider.generateAccessToken("warmup_sandbox");
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request("GET", "/api/tasks", "127.0.0.1", token), new MockHttpServletResponse(), chain);
+        }
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/tasks", "127.0.0.1", token), response, chain);
+
+        // Then
+        assertEquals(429, response.getStatus());
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,52 @@
+package com.testhahn.hahntestback.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstUpToCapacityThenRejects() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+
+        // When
+        TokenBucket.Result first = bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        TokenBucket.Result third = bucket.tryConsume(0);
+        TokenBucket.Result fourth = bucket.tryConsume(0);
+
+        // Then
+        assertTrue(first.allowed());
+        assertEquals(2, first.remaining());
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+        assertFalse(fourth.allowed());
+        assertEquals(SECOND, fourth.retryAfterNanos());
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 3 * SECOND, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(0);
+        }
+
+        // When
+        TokenBucket.Result afterOneSecond = bucket.tryConsume(SECOND);
+        TokenBucket.Result immediatelyAfter = bucket.tryConsume(SECOND);
+        TokenBucket.Result muchLater = bucket.tryConsume(100 * SECOND);
+
+        // Then
+        assertTrue(afterOneSecond.allowed());
+        assertFalse(immediatelyAfter.allowed());
+        assertTrue(muchLater.allowed());
+        assertEquals(2, muchLater.remaining());
+    }
+}
@@ -0,0 +1,159 @@
+package com.testhahn.hahntestback.reactive;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.security.JwtTokenProvider;
+import com.testhahn.hahntestback.service.TaskServiceImpl.TaskStatistics;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReactiveTaskHandlerTest {
+
+    private static final Long USER_ID = 7L;
+
+    private ReactiveTaskRepository repository;
+    private WebTestClient client;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(
+                "myVerySecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm", 60_000, 60_000);
+        token = jwtTokenProvider.generateAccessToken("reader");
+        repository = mock(ReactiveTaskRepository.class);
+        when(repository.findUserId("reader")).thenReturn(Mono.just(USER_ID));
+        client = WebTestClient.bindToRouterFunction(
+                ReactiveApiConfig.routes(new ReactiveTaskHandler(repository, jwtTokenProvider))).build();
+    }
+
+    @Test
+    void testRequestWithoutTokenIsRejected() {
+        client.get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testListReturnsStoredTasksThenVirtualOccurrences() {
+        // Given
+        TaskResponse stored = TaskResponse.fromEntity(Task.builder()
+                .id(1L).title("Stored").status(TaskStatusEnum.PENDING).priority(TaskPriorityEnum.LOW)
+                .parentId(3L).tags(new TreeSet<>(Set.of("home")))
+                .build());
+        TaskResponse occurrence = TaskResponse.fromEntity(Task.builder()
+                .title("Weekly").status(TaskStatusEnum.PENDING).priority(TaskPriorityEnum.HIGH)
+                .dueDate(LocalDate.now().plusDays(1)).seriesId(5L).occurrenceDate(LocalDate.now().plusDays(1))
+                .build());
+        when(repository.findByUserId(USER_ID)).thenReturn(Flux.just(stored));
+        when(repository.findVirtualOccurrences(eq(USER_ID), any())).thenReturn(Flux.just(occurrence));
+
+        // When / Then
+        client.get().uri("/api/tasks")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].parentId").isEqualTo(3)
+                .jsonPath("$[0].tags[0]").isEqualTo("home")
+                .jsonPath("$[1].id").doesNotExist()
+                .jsonPath("$[1].seriesId").isEqualTo(5)
+                .jsonPath("$[1].critical").isEqualTo(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStatusFilterAppliesToVirtualOccurrences() {
+        // Given
+        when(repository.findByUserIdAndStatus(USER_ID, TaskStatusEnum.COMPLETED)).thenReturn(Flux.empty());
+        ArgumentCaptor<Predicate<Task>> filter = ArgumentCaptor.forClass(Predicate.class);
+        when(repository.findVirtualOccurrences(eq(USER_ID), filter.capture())).thenReturn(Flux.empty());
+
+        // When
+        client.get().uri("/api/tasks/status/COMPLETED")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+
+        // Then - virtual occurrences are PENDING, so none of them is completed
+        assertFalse(filter.getValue().test(Task.builder().status(TaskStatusEnum.PENDING).build()));
+        assertTrue(filter.getValue().test(Task.builder().status(TaskStatusEnum.COMPLETED).build()));
+    }
+
+    @Test
+    void testStatisticsAreReturned() {
+        // Given
+        when(repository.statistics(USER_ID)).thenReturn(Mono.just(new TaskStatistics(5, 3, 1, 1, 2, 1)));
+
+        // When / Then
+        client.get().uri("/api/tasks/statistics")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(5)
+                .jsonPath("$.pending").isEqualTo(3)
+                .jsonPath("$.overdue").isEqualTo(2);
+    }
+
+    @Test
+    void testInvalidStatusIsBadRequest() {
+        client.get().uri("/api/tasks/status/UNKNOWN")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testRowMappingMatchesFromEntity() {
+        // Given
+        LocalDate dueDate = LocalDate.now().minusDays(1);
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(2);
+        Row row = mock(Row.class);
+        when(row.get("id", Long.class)).thenReturn(10L);
+        when(row.get("title", String.class)).thenReturn("Occurrence");
+        when(row.get("status", String.class)).thenReturn("IN_PROGRESS");
+        when(row.get("priority", String.class)).thenReturn("URGENT");
+        when(row.get("due_date", LocalDate.class)).thenReturn(dueDate);
+        when(row.get("created_at", LocalDateTime.class)).thenReturn(createdAt);
+        when(row.get("updated_at", LocalDateTime.class)).thenReturn(createdAt);
+        when(row.get("series_id", Long.class)).thenReturn(5L);
+        when(row.get("occurrence_date", LocalDate.class)).thenReturn(dueDate);
+        when(row.get("parent_id", Long.class)).thenReturn(3L);
+        when(row.get("tags", String.class)).thenReturn("home,work");
+
+        // When
+        TaskResponse response = ReactiveTaskRepository.toResponse(row);
+
+        // Then
+        TaskResponse expected = TaskResponse.fromEntity(Task.builder()
+                .id(10L).title("Occurrence").status(TaskStatusEnum.IN_PROGRESS).priority(TaskPriorityEnum.URGENT)
+                .dueDate(dueDate).createdAt(createdAt).updatedAt(createdAt)
+                .seriesId(5L).occurrenceDate(dueDate).parentId(3L).tags(new TreeSet<>(Set.of("home", "work")))
+                .build());
+        assertEquals(expected, response);
+        assertTrue(response.isOverdue());
+    }
+}
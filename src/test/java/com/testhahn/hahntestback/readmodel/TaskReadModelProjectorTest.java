@@ -0,0 +1,184 @@
+package com.testhahn.hahntestback.readmodel;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TaskReadModelProjectorTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskReadModelProjector projector;
+    private TaskReadModelReader reader;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table tasks (id bigint primary key, user_id bigint, title varchar(100), "
+                + "description varchar(500), status varchar(20), priority varchar(20), due_date date, "
+                + "created_at timestamp, updated_at timestamp, series_id bigint, occurrence_date date, "
+                + "parent_id bigint, tags varchar(700))");
+        jdbcTemplate.execute("create table task_read_model (task_id bigint primary key, user_id bigint, "
+                + "title varchar(100), description varchar(500), status varchar(20), priority varchar(20), "
+                + "due_date date, created_at timestamp, updated_at timestamp, critical boolean, "
+                + "can_be_edited boolean, series_id bigint, occurrence_date date, parent_id bigint, "
+                + "tags varchar(700), projected_at timestamp)");
+        jdbcTemplate.execute("create table task_read_model_changes (task_id bigint primary key, user_id bigint, "
+                + "changed_at timestamp)");
+
+        meterRegistry = new SimpleMeterRegistry();
+        projector = newProjector(meterRegistry);
+        reader = new TaskReadModelReader(dataSource, new DataSourceTransactionManager(dataSource), projector,
+                mock(OccurrenceExpander.class), meterRegistry, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void testCommittedChangesAreProjectedWithDerivedFields() {
+        // Given
+        insertTask(1, "Ship release", "URGENT", "COMPLETED", null, "release,work");
+        insertTask(2, "Write notes", "LOW", "PENDING", 1L, null);
+        projector.markPending(1L, 7L);
+        projector.markPending(2L, 7L);
+        assertEquals(2, pendingChanges());
+
+        // When
+        projector.flush();
+
+        // Then
+        assertEquals(0, pendingChanges());
+        assertTrue(projector.staleness().compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(2, meterRegistry.get("task.read_model.lag").timer().count());
+        assertEquals(true, jdbcTemplate.queryForObject(
+                "select critical from task_read_model where task_id = 1", Boolean.class));
+        assertEquals(false, jdbcTemplate.queryForObject(
+                "select can_be_edited from task_read_model where task_id = 1", Boolean.class));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select parent_id from task_read_model where task_id = 2", Long.class));
+    }
+
+    @Test
+    void testDeletedTaskRowIsDroppedAndItsSubtasksReprojected() {
+        // Given
+        insertTask(1, "Project", "MEDIUM", "PENDING", null, null);
+        insertTask(2, "Subtask", "MEDIUM", "PENDING", 1L, null);
+        projector.flush();
+
+        // When: task 1 deleted, its subtask moved up by a bulk update that published no event for it
+        jdbcTemplate.update("update tasks set parent_id = null where parent_id = 1");
+        jdbcTemplate.update("delete from tasks where id = 1");
+        projector.markPending(1L, 7L);
+        projector.flush();
+        List<Long> recordedForSubtask = jdbcTemplate.queryForList(
+                "select task_id from task_read_model_changes", Long.class);
+        projector.flush();
+
+        // Then
+        assertEquals(List.of(2L), recordedForSubtask);
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("select task_id from task_read_model", Long.class));
+        assertNull(jdbcTemplate.queryForObject("select parent_id from task_read_model where task_id = 2", Long.class));
+    }
+
+    @Test
+    void testReconcileRewritesMissingAndStaleRowsAndRemovesOrphans() {
+        // Given: 1 projected then changed, 2 never projected, 3 projected then deleted, none recorded
+        insertTask(1, "Changed", "MEDIUM", "PENDING", null, null);
+        insertTask(3, "Deleted", "MEDIUM", "PENDING", null, null);
+        projector.flush();
+        jdbcTemplate.update("update tasks set title = 'Changed again', updated_at = ? where id = 1",
+                LocalDateTime.now().plusMinutes(1));
+        insertTask(2, "Missed", "MEDIUM", "PENDING", null, null);
+        jdbcTemplate.update("delete from tasks where id = 3");
+
+        // When
+        projector.reconcile();
+        projector.flush();
+
+        // Then
+        assertEquals(List.of("Changed again", "Missed"), jdbcTemplate.queryForList(
+                "select title from task_read_model order by task_id", String.class));
+    }
+
+    @Test
+    void testReaderServesReadModelOnlyWhenFreshForTheUser() {
+        // Given
+        insertTask(1, "Overdue", "HIGH", "IN_PROGRESS", null, "work");
+        jdbcTemplate.update("update tasks set due_date = ? where id = 1", LocalDate.now().minusDays(2));
+        TaskReadModelProjector otherInstance = newProjector(new SimpleMeterRegistry());
+
+        // When: not started yet
+        boolean servedBeforeReady = reader.findAll(7L).isPresent();
+        projector.start();
+        awaitReady();
+        awaitProjected();
+        List<TaskResponse> overdue = reader.findOverdue(7L).orElseThrow();
+        // A change of user 7 committed through another instance
+        otherInstance.markPending(1L, 7L);
+        boolean servedWithPendingChange = reader.findAll(7L).isPresent();
+        boolean servedOtherUser = reader.findAll(8L).isPresent();
+        projector.stop();
+
+        // Then
+        assertFalse(servedBeforeReady);
+        assertEquals(1, overdue.size());
+        assertTrue(overdue.get(0).isOverdue());
+        assertTrue(overdue.get(0).isCritical());
+        assertEquals(TaskStatusEnum.IN_PROGRESS, overdue.get(0).getStatus());
+        assertEquals(List.of("work"), overdue.get(0).getTags());
+        assertFalse(servedWithPendingChange);
+        assertTrue(servedOtherUser);
+    }
+
+    private TaskReadModelProjector newProjector(SimpleMeterRegistry registry) {
+        return new TaskReadModelProjector(dataSource, Map.of("default", dataSource), registry,
+                // Flushed by the tests themselves, or once on start
+                new TaskReadModelProjector.Settings(Duration.ofHours(1), 500));
+    }
+
+    private int pendingChanges() {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from task_read_model_changes", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private void awaitProjected() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (pendingChanges() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, pendingChanges());
+    }
+
+    private void awaitReady() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!projector.isReady() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(projector.isReady());
+    }
+
+    private void insertTask(long id, String title, String priority, String status, Long parentId, String tags) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("insert into tasks (id, user_id, title, status, priority, created_at, updated_at, "
+                + "parent_id, tags) values (?, 7, ?, ?, ?, ?, ?, ?, ?)", id, title, status, priority, now, now,
+                parentId, tags);
+    }
+}
@@ -0,0 +1,54 @@
+package com.testhahn.hahntestback.recurrence;
+
+import com.testhahn.hahntestback.entity.enums.RecurrenceFrequencyEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void testWeeklyOccurrencesInWindowSkipExceptions() {
+        // Given - every other Monday from 2024-01-01, 2024-01-29 skipped
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequencyEnum.WEEKLY, 2, LocalDate.of(2024, 1, 1),
+                null, Set.of(LocalDate.of(2024, 1, 29)));
+
+        // When
+        List<LocalDate> dates = rule.occurrencesBetween(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 2, 29));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 12), LocalDate.of(2024, 2, 26)), dates);
+    }
+
+    @Test
+    void testMonthlyOnTheThirtyFirstClampsWithoutDrifting() {
+        // Given
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequencyEnum.MONTHLY, 1, LocalDate.of(2024, 1, 31),
+                null, Set.of());
+
+        // When
+        List<LocalDate> dates = rule.occurrencesBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 4, 30));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)), dates);
+    }
+
+    @Test
+    void testUntilDateEndsTheSeries() {
+        // Given
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequencyEnum.DAILY, 1, LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 3, 3), Set.of());
+
+        // When
+        List<LocalDate> dates = rule.occurrencesBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 31));
+
+        // Then
+        assertEquals(3, dates.size());
+        assertTrue(rule.occursOn(LocalDate.of(2024, 3, 2)));
+        assertFalse(rule.occursOn(LocalDate.of(2024, 3, 4)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.testhahn.hahntestback.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void testTimersExpireInOrderAcrossTicks() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.schedule("late", 55);
+        wheel.schedule("early", 15);
+
+        // When
+        List<String> first = wheel.advance(20);
+        List<String> nothing = wheel.advance(40);
+        List<String> second = wheel.advance(60);
+
+        // Then
+        assertEquals(List.of("early"), first);
+        assertTrue(nothing.isEmpty());
+        assertEquals(List.of("late"), second);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testTimerBeyondLevelZeroCascadesDown() {
+        // Given - level 0 spans 80ms, so this timer starts two levels up
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.schedule("far", 1_000);
+
+        // When
+        List<String> beforeDue = wheel.advance(990);
+        List<String> atDue = wheel.advance(1_000);
+
+        // Then
+        assertTrue(beforeDue.isEmpty());
+        assertEquals(List.of("far"), atDue);
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.schedule("cancelled", 30);
+        wheel.schedule("moved", 30);
+
+        // When
+        wheel.cancel("cancelled");
+        wheel.schedule("moved", 500);
+        List<String> early = wheel.advance(100);
+        List<String> later = wheel.advance(500);
+
+        // Then
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("moved"), later);
+        assertFalse(wheel.contains("cancelled"));
+    }
+
+    @Test
+    void testAlreadyDueTimerIsRejected() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 100);
+
+        // When
+        boolean scheduled = wheel.schedule("past", 95);
+
+        // Then
+        assertFalse(scheduled);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,179 @@
+package com.testhahn.hahntestback.reminder;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.datasource.sharding.ShardContext;
+import com.testhahn.hahntestback.entity.ReminderCheckpoint;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.ReminderCheckpointRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ReminderCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ReminderNotifier notifier;
+
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = newScheduler(List.of("default"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void testRestartSendsMissedRemindersAndSchedulesTheRest() {
+        // Given - down since 08:00; task 1 was due a reminder at 09:00 today, task 2 tomorrow
+        when(checkpointRepository.findById(ReminderScheduler.CHECKPOINT))
+                .thenReturn(Optional.of(new ReminderCheckpoint(ReminderScheduler.CHECKPOINT, NOW.withHour(8))));
+        when(taskRepository.findReminderCandidates(any(), any(), any())).thenReturn(List.of(
+                new Object[]{1L, 7L, LocalDate.of(2024, 3, 11)},
+                new Object[]{2L, 7L, LocalDate.of(2024, 3, 12)}));
+
+        // When
+        scheduler.start();
+
+        // Then
+        ArgumentCaptor<Reminder> sent = ArgumentCaptor.forClass(Reminder.class);
+        verify(notifier).notify(sent.capture());
+        assertEquals(1L, sent.getValue().taskId());
+        assertEquals(LocalDateTime.of(2024, 3, 10, 9, 0), sent.getValue().remindAt());
+        assertEquals(1, scheduler.scheduledCount());
+        verify(taskRepository).findReminderCandidates(eq(LocalDate.of(2024, 3, 10)), eq(LocalDate.of(2024, 3, 14)),
+                any());
+        verify(checkpointRepository).save(any(ReminderCheckpoint.class));
+    }
+
+    @Test
+    void testTaskEventsUpdateTheWheel() {
+        // Given
+        when(checkpointRepository.findById(ReminderScheduler.CHECKPOINT)).thenReturn(Optional.empty());
+        when(taskRepository.findReminderCandidates(any(), any(), any())).thenReturn(List.of());
+        scheduler.start();
+
+        // When
+        scheduler.onTaskLifecycle(event(TaskLifecycleEvent.Type.CREATED, TaskStatusEnum.PENDING,
+                LocalDate.of(2024, 3, 11)));
+        scheduler.tick();
+        int afterCreate = scheduler.scheduledCount();
+        scheduler.onTaskLifecycle(event(TaskLifecycleEvent.Type.COMPLETED, TaskStatusEnum.COMPLETED,
+                LocalDate.of(2024, 3, 11)));
+        scheduler.tick();
+
+        // Then - the reminder for tomorrow 09:00 is today 09:00, already passed: sent at once
+        verify(notifier).notify(any(Reminder.class));
+        assertEquals(0, afterCreate);
+        assertEquals(0, scheduler.scheduledCount());
+
+        // When - a due date further out is held in the wheel until completed
+        scheduler.onTaskLifecycle(event(TaskLifecycleEvent.Type.UPDATED, TaskStatusEnum.PENDING,
+                LocalDate.of(2024, 3, 12)));
+        scheduler.tick();
+        assertEquals(1, scheduler.scheduledCount());
+        scheduler.onTaskLifecycle(event(TaskLifecycleEvent.Type.DELETED, TaskStatusEnum.PENDING,
+                LocalDate.of(2024, 3, 12)));
+        scheduler.tick();
+
+        // Then
+        assertEquals(0, scheduler.scheduledCount());
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    void testTaskEventsDoNotWaitForASlowTick() throws Exception {
+        // Given - a tick stuck in the notifier
+        when(checkpointRepository.findById(ReminderScheduler.CHECKPOINT)).thenReturn(Optional.empty());
+        when(taskRepository.findReminderCandidates(any(), any(), any())).thenReturn(List.of());
+        scheduler.start();
+        CountDownLatch notifying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            notifying.countDown();
+            release.await();
+            return null;
+        }).when(notifier).notify(any(Reminder.class));
+        scheduler.onTaskLifecycle(event(TaskLifecycleEvent.Type.CREATED, TaskStatusEnum.PENDING,
+                LocalDate.of(2024, 3, 11)));
+        Thread tick = new Thread(scheduler::tick);
+        tick.start();
+        assertTrue(notifying.await(5, TimeUnit.SECONDS));
+
+        // When - a commit meanwhile only queues its change
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> scheduler.onTaskLifecycle(
+                event(TaskLifecycleEvent.Type.UPDATED, TaskStatusEnum.PENDING, LocalDate.of(2024, 3, 12))));
+        release.countDown();
+        tick.join();
+        scheduler.tick();
+
+        // Then
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    void testWindowIsLoadedFromEveryShard() {
+        // Given - a task due the day after tomorrow on each of two shards
+        scheduler = newScheduler(List.of("shard-a", "shard-b"));
+        when(checkpointRepository.findById(ReminderScheduler.CHECKPOINT)).thenReturn(Optional.empty());
+        when(taskRepository.findReminderCandidates(any(), any(), any())).thenAnswer(invocation ->
+                "shard-a".equals(ShardContext.currentShard())
+                        ? List.<Object[]>of(new Object[]{1L, 7L, LocalDate.of(2024, 3, 12)})
+                        : List.<Object[]>of(new Object[]{2L, 8L, LocalDate.of(2024, 3, 12)}));
+
+        // When
+        scheduler.start();
+
+        // Then
+        verify(taskRepository, times(2)).findReminderCandidates(any(), any(), any());
+        assertEquals(2, scheduler.scheduledCount());
+        assertNull(ShardContext.currentShard());
+    }
+
+    private ReminderScheduler newScheduler(List<String> shards) {
+        ReminderScheduler.Settings settings = new ReminderScheduler.Settings(Duration.ofDays(1), LocalTime.of(9, 0),
+                Duration.ofHours(48), Duration.ofSeconds(1), 60, Duration.ofMinutes(1));
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new ReminderScheduler(taskRepository, shards, checkpointRepository, notifier, settings, clock);
+    }
+
+    private static TaskLifecycleEvent event(TaskLifecycleEvent.Type type, TaskStatusEnum status, LocalDate dueDate) {
+        return new TaskLifecycleEvent(type, 42L, 7L, status, TaskPriorityEnum.MEDIUM, Set.of(), dueDate, NOW,
+                null, NOW);
+    }
+}
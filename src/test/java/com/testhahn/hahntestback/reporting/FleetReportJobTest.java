@@ -0,0 +1,133 @@
+package com.testhahn.hahntestback.reporting;
+
+import com.testhahn.hahntestback.datasource.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetReportJobTest {
+
+    @TempDir
+    Path outputDir;
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table users (id bigint primary key, username varchar(50))");
+        jdbcTemplate.execute("create table tasks (id bigint primary key, user_id bigint, status varchar(20), "
+                + "priority varchar(20), due_date date)");
+        jdbcTemplate.update("insert into users values (1, 'heavy'), (2, 'light')");
+
+        LocalDate today = LocalDate.now();
+        for (long id = 1; id <= 100; id++) {
+            long userId = id <= 80 ? 1 : 2;
+            String status = id % 4 == 0 ? "COMPLETED" : "PENDING";
+            Date dueDate = id <= 10 ? Date.valueOf(today.minusDays(id * 10)) : null;
+            jdbcTemplate.update("insert into tasks values (?, ?, ?, ?, ?)", id, userId, status, "MEDIUM", dueDate);
+        }
+    }
+
+    @Test
+    void testPartitionedRunAggregatesWholeTable() throws Exception {
+        // Given
+        FleetReportJob job = job(7);
+
+        // When
+        FleetReport report = job.run();
+
+        // Then
+        assertEquals(100, report.tasks());
+        assertEquals(15, report.partitions());
+        assertEquals(75, report.tasksByStatus().get("PENDING"));
+        assertEquals(25, report.tasksByStatus().get("COMPLETED"));
+        assertEquals(100, report.tasksByPriority().get("MEDIUM"));
+        // ids 1..10 are due 10..100 days ago; ids 4 and 8 are completed
+        assertEquals(3, report.overdueByDaysLate().get("8-30 days"));
+        assertEquals(4, report.overdueByDaysLate().get("31-90 days"));
+        assertEquals(1, report.overdueByDaysLate().get("over 90 days"));
+        assertEquals("heavy", report.heaviestUsers().get(0).username());
+        assertEquals(80, report.heaviestUsers().get(0).tasks());
+        try (var files = Files.list(outputDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testEmptyTable() {
+        // Given
+        new JdbcTemplate(dataSource).update("delete from tasks");
+
+        // When
+        FleetReport report = job(7).run();
+
+        // Then
+        assertEquals(0, report.tasks());
+        assertTrue(report.heaviestUsers().isEmpty());
+    }
+
+    @Test
+    void testShardsAreScannedAndMerged() {
+        // Given: the light user's tasks moved to a second shard; users stay on the home shard
+        DriverManagerDataSource otherShard = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate otherJdbc = new JdbcTemplate(otherShard);
+        otherJdbc.execute("create table tasks (id bigint primary key, user_id bigint, status varchar(20), "
+                + "priority varchar(20), due_date date)");
+        for (long id = 81; id <= 100; id++) {
+            otherJdbc.update("insert into tasks values (?, 2, ?, 'HIGH', null)", id,
+                    id % 4 == 0 ? "COMPLETED" : "PENDING");
+        }
+        new JdbcTemplate(dataSource).update("delete from tasks where user_id = 2");
+        Map<String, FleetReportJob.ShardSource> shards = new LinkedHashMap<>();
+        shards.put("home", new FleetReportJob.ShardSource(dataSource, new DataSourceTransactionManager(dataSource)));
+        shards.put("other", new FleetReportJob.ShardSource(otherShard, new DataSourceTransactionManager(otherShard)));
+
+        // When
+        FleetReport report = new FleetReportJob(dataSource, shards, Jackson2ObjectMapperBuilder.json().build(),
+                new FleetReportJob.Settings(7, 2, 10, 5, null)).run();
+
+        // Then: 12 partitions of the home shard's ids 1..80, 3 of the other's 81..100
+        assertEquals(100, report.tasks());
+        assertEquals(15, report.partitions());
+        assertEquals(75, report.tasksByStatus().get("PENDING"));
+        assertEquals(80, report.tasksByPriority().get("MEDIUM"));
+        assertEquals(20, report.tasksByPriority().get("HIGH"));
+        assertEquals("light", report.heaviestUsers().get(1).username());
+        assertEquals(20, report.heaviestUsers().get(1).tasks());
+    }
+
+    @Test
+    void testRelativeOutputDirIsRejected() {
+        ReportingConfig config = new ReportingConfig();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> config.fleetReportJob(dataSource,
+                new DataSourceTransactionManager(dataSource),
+                new StaticListableBeanFactory().getBeanProvider(ShardRoutingDataSource.class),
+                Jackson2ObjectMapperBuilder.json().build(), 7, 2, 10, 5, "reports"));
+        assertTrue(ex.getMessage().contains("absolute"));
+    }
+
+    private FleetReportJob job(int partitionSize) {
+        return new FleetReportJob(dataSource, new DataSourceTransactionManager(dataSource),
+                Jackson2ObjectMapperBuilder.json().build(),
+                new FleetReportJob.Settings(partitionSize, 2, 10, 5, outputDir));
+    }
+}
@@ -1,5 +1,7 @@
 package com.testhahn.hahntestback.security;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -40,4 +42,28 @@ class JwtTokenProviderTest {
         // When & Then
         assertFalse(jwtTokenProvider.validateToken(invalidToken));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testValidationIsTimedByOutcome() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtTokenProvider provider = new JwtTokenProvider(
+                "myVerySecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm", 86400000L, 604800000L, meterRegistry);
+        JwtTokenProvider expiredProvider = new JwtTokenProvider(
+                "myVerySecretKeyThatShouldBeAtLeast256BitsLongForHS256Algorithm", -1000L, 604800000L, meterRegistry);
+
+        // When
+        provider.validateToken(provider.generateAccessToken("testuser"));
+        provider.validateToken("invalid.jwt.token");
+        provider.validateToken(expiredProvider.generateAccessToken("testuser"));
+        String foreignToken = new JwtTokenProvider("anotherSecretKeyThatIsAlsoAtLeast256BitsLongForTheHS256Algorithm",
+                86400000L, 604800000L, meterRegistry).generateAccessToken("testuser");
+        assertThrows(JwtException.class, () -> provider.validateToken(foreignToken));
+
+        // Then
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "malformed").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "expired").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "invalid_signature").timer().count());
+    }
+}
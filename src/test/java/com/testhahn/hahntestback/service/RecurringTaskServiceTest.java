@@ -0,0 +1,99 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.TaskSeries;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.TaskSeriesRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTaskServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private TaskSeriesRepository taskSeriesRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RecurringTaskServiceImpl recurringTaskService;
+
+    @Test
+    void testConcurrentlyMaterializedOccurrenceIsReused() {
+        // Given - another request stored the occurrence between our lookup and our insert
+        Task stored = Task.builder().id(7L).seriesId(3L).occurrenceDate(DATE).build();
+        Task completed = Task.builder().id(7L).status(TaskStatusEnum.COMPLETED).build();
+        when(taskService.materializeOccurrence(3L, DATE, 1L))
+                .thenThrow(new DataIntegrityViolationException("uk_tasks_series_occurrence"));
+        when(taskRepository.findBySeriesIdAndOccurrenceDate(3L, DATE)).thenReturn(Optional.of(stored));
+        when(taskService.markAsCompleted(7L, 1L)).thenReturn(completed);
+
+        // When
+        Task result = recurringTaskService.completeOccurrence(3L, DATE, 1L);
+
+        // Then
+        assertSame(completed, result);
+    }
+
+    @Test
+    void testOtherIntegrityViolationsPropagate() {
+        // Given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk_tasks_user");
+        when(taskService.materializeOccurrence(3L, DATE, 1L)).thenThrow(violation);
+        when(taskRepository.findBySeriesIdAndOccurrenceDate(3L, DATE)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> recurringTaskService.completeOccurrence(3L, DATE, 1L)));
+        verify(taskService, never()).markAsCompleted(any(), any());
+    }
+
+    @Test
+    void testDeletingSeriesAnnouncesDetachedOccurrences() {
+        // Given
+        TaskSeries series = TaskSeries.builder().id(3L).build();
+        when(taskSeriesRepository.findByIdAndUserId(3L, 1L)).thenReturn(Optional.of(series));
+        when(taskRepository.findBySeriesId(3L)).thenReturn(List.of(
+                Task.builder().id(7L).seriesId(3L).build(), Task.builder().id(8L).seriesId(3L).build()));
+
+        // When
+        recurringTaskService.deleteRecurringTask(3L, 1L);
+
+        // Then
+        verify(taskRepository).detachFromSeries(3L);
+        verify(taskSeriesRepository).delete(series);
+        ArgumentCaptor<TaskLifecycleEvent> events = ArgumentCaptor.forClass(TaskLifecycleEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(7L, 8L), events.getAllValues().stream().map(TaskLifecycleEvent::taskId).toList());
+        assertTrue(events.getAllValues().stream().allMatch(event ->
+                event.type() == TaskLifecycleEvent.Type.UPDATED && event.userId().equals(1L)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
+import com.testhahn.hahntestback.monitoring.SqlAccountingConfig;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.tagging.TaskTagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static com.testhahn.hahntestback.monitoring.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "app.sql-accounting.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:hierarchy;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlAccountingConfig.class, TaskServiceImpl.class, OccurrenceExpander.class, TaskTagIndex.class})
+class TaskHierarchyTest {
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Task project;
+    private Task design;
+    private Task mockups;
+    private Task build;
+
+    // project > design > mockups, project > build
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .username("hierarchy")
+                .email("hierarchy@example.com")
+                .password("password123")
+                .firstName("Tree")
+                .lastName("Owner")
+                .build());
+        project = taskService.createTask("Project", null, null, null, null, null, user);
+        design = taskService.createTask("Design", null, null, null, null, project.getId(), user);
+        mockups = taskService.createTask("Mockups", null, TaskStatusEnum.COMPLETED, null, null, design.getId(), user);
+        build = taskService.createTask("Build", null, null, null, null, project.getId(), user);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSubtreeAncestorsAndProgressAreOneQueryEach() {
+        // When
+        List<Task> subtree = assertMaxStatements(1, () -> taskService.getSubtree(project.getId(), user.getId()));
+        List<Task> path = assertMaxStatements(1, () -> taskService.getAncestorPath(mockups.getId(), user.getId()));
+        TaskServiceImpl.TaskProgress progress = assertMaxStatements(1,
+                () -> taskService.getProgress(project.getId(), user.getId()));
+
+        // Then
+        assertEquals(List.of("Project", "Design", "Build", "Mockups"), subtree.stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Project", "Design", "Mockups"), path.stream().map(Task::getTitle).toList());
+        assertEquals(3, progress.subtasks());
+        assertEquals(1, progress.completedSubtasks());
+        assertEquals(33.3, progress.percentComplete());
+    }
+
+    @Test
+    void testMovingASubtreeRewritesItsAncestry() {
+        // When - design (with mockups) goes under build
+        taskService.moveTask(design.getId(), build.getId(), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        List<Task> path = taskService.getAncestorPath(mockups.getId(), user.getId());
+        assertEquals(List.of("Project", "Build", "Design", "Mockups"), path.stream().map(Task::getTitle).toList());
+        assertEquals(4, taskService.getSubtree(project.getId(), user.getId()).size());
+        assertThrows(InvalidRequestException.class,
+                () -> taskService.moveTask(build.getId(), mockups.getId(), user.getId()));
+    }
+
+    @Test
+    void testDeletingATaskKeepsItsSubtasksOneLevelUp() {
+        // When
+        taskService.deleteTask(design.getId(), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        List<Task> path = taskService.getAncestorPath(mockups.getId(), user.getId());
+        assertEquals(List.of("Project", "Mockups"), path.stream().map(Task::getTitle).toList());
+        assertEquals(project.getId(), path.get(1).getParentId());
+    }
+}
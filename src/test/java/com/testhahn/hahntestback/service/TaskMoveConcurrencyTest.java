@@ -0,0 +1,149 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.exception.exceptionHelper.InvalidRequestException;
+import com.testhahn.hahntestback.exception.exceptionHelper.TaskNotFoundException;
+import com.testhahn.hahntestback.repository.TaskClosureRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Committed transactions on separate threads, so the moves really run concurrently
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:move_concurrency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.read-model.enabled=false",
+        "app.outbox.enabled=false",
+        "app.request-coalescing.enabled=false",
+        "app.reminders.enabled=false",
+        "app.reporting.enabled=false"
+})
+class TaskMoveConcurrencyTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClosureRepository taskClosureRepository;
+
+    private User user;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("mover")
+                .email("mover@example.com")
+                .password("password123")
+                .firstName("Task")
+                .lastName("Mover")
+                .build());
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        taskClosureRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testCrossedMovesOfDisjointTasksNeverBothCommit() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // Given - A > A1 and B > B1
+            Task a = taskService.createTask("A" + round, null, null, null, null, null, user);
+            Task a1 = taskService.createTask("A1-" + round, null, null, null, null, a.getId(), user);
+            Task b = taskService.createTask("B" + round, null, null, null, null, null, user);
+            Task b1 = taskService.createTask("B1-" + round, null, null, null, null, b.getId(), user);
+            CountDownLatch start = new CountDownLatch(1);
+
+            // When - A under B1 and B under A1 at the same time: the two moves lock disjoint rows
+            List<Future<Boolean>> moves = new ArrayList<>();
+            for (Task[] move : List.of(new Task[]{a, b1}, new Task[]{b, a1})) {
+                moves.add(executor.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    try {
+                        taskService.moveTask(move[0].getId(), move[1].getId(), user.getId());
+                        return true;
+                    } catch (InvalidRequestException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int moved = 0;
+            for (Future<Boolean> move : moves) {
+                moved += move.get(15, TimeUnit.SECONDS) ? 1 : 0;
+            }
+
+            // Then - exactly one wins, the other sees the cycle it would close
+            assertEquals(1, moved, "round " + round);
+            assertFalse(taskClosureRepository.existsByAncestorIdAndDescendantId(a.getId(), b.getId())
+                    && taskClosureRepository.existsByAncestorIdAndDescendantId(b.getId(), a.getId()));
+        }
+    }
+
+    @Test
+    void testSubtaskCreatedWhileItsParentIsDeletedIsNeverOrphaned() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // Given
+            Task parent = taskService.createTask("P" + round, null, null, null, null, null, user);
+            String childTitle = "C" + round;
+            CountDownLatch start = new CountDownLatch(1);
+
+            // When - a subtask is added under the parent while the parent is deleted
+            Future<Task> create = executor.submit(() -> {
+                start.await(5, TimeUnit.SECONDS);
+                try {
+                    return taskService.createTask(childTitle, null, null, null, null, parent.getId(), user);
+                } catch (TaskNotFoundException ex) {
+                    return null;
+                }
+            });
+            Future<?> delete = executor.submit(() -> {
+                start.await(5, TimeUnit.SECONDS);
+                taskService.deleteTask(parent.getId(), user.getId());
+                return null;
+            });
+            start.countDown();
+            Task child = create.get(15, TimeUnit.SECONDS);
+            delete.get(15, TimeUnit.SECONDS);
+
+            // Then - either the create lost (parent gone) or the delete moved the new subtask up a level
+            if (child != null) {
+                assertNull(taskRepository.findById(child.getId()).orElseThrow().getParentId(), "round " + round);
+                assertFalse(taskClosureRepository.existsByAncestorIdAndDescendantId(parent.getId(), child.getId()),
+                        "round " + round);
+                assertTrue(taskClosureRepository.existsByAncestorIdAndDescendantId(child.getId(), child.getId()),
+                        "round " + round);
+            }
+        }
+    }
+}
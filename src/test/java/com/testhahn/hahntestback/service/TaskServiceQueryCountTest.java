@@ -0,0 +1,79 @@
+package com.testhahn.hahntestback.service;
+
+import com.testhahn.hahntestback.dto.task.TaskResponse;
+import com.testhahn.hahntestback.entity.Task;
+import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.monitoring.SqlAccountingConfig;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.tagging.TaskTagIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.testhahn.hahntestback.monitoring.SqlAssertions.assertMaxStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Query budgets per service call; raising one of these numbers should be a deliberate change
+@DataJpaTest(properties = {
+        "app.sql-accounting.enabled=true",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({SqlAccountingConfig.class, TaskServiceImpl.class, OccurrenceExpander.class, TaskTagIndex.class})
+class TaskServiceQueryCountTest {
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .username("querycount")
+                .email("querycount@example.com")
+                .password("password123")
+                .firstName("Query")
+                .lastName("Count")
+                .build());
+        for (int i = 0; i < 10; i++) {
+            entityManager.persist(Task.builder()
+                    .title("Task " + i)
+                    .status(i % 2 == 0 ? TaskStatusEnum.PENDING : TaskStatusEnum.COMPLETED)
+                    .priority(i % 3 == 0 ? TaskPriorityEnum.HIGH : TaskPriorityEnum.LOW)
+                    .dueDate(LocalDate.now().minusDays(i))
+                    .user(user)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+    }
+
+    // The tasks, plus the user's recurring tasks (none here) for virtual occurrences
+    @Test
+    void testListingTasksIsTwoQueries() {
+        List<TaskResponse> responses = assertMaxStatements(2, () -> taskService.getAllUserTasks(userId).stream()
+                .map(TaskResponse::fromEntity)
+                .toList());
+
+        assertEquals(10, responses.size());
+    }
+
+    @Test
+    void testStatisticsQueryBudget() {
+        TaskServiceImpl.TaskStatistics statistics = assertMaxStatements(7, () -> taskService.getTaskStatistics(userId));
+
+        assertEquals(10, statistics.total());
+    }
+}
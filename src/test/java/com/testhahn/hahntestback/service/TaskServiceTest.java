@@ -2,16 +2,28 @@ package com.testhahn.hahntestback.service;
 
 import com.testhahn.hahntestback.entity.Task;
 import com.testhahn.hahntestback.entity.User;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
 import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.recurrence.OccurrenceExpander;
+import com.testhahn.hahntestback.repository.TaskClosureRepository;
 import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.TaskSeriesRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import com.testhahn.hahntestback.tagging.TaskBitmapIndex;
+import com.testhahn.hahntestback.tagging.TaskFilter;
+import com.testhahn.hahntestback.tagging.TaskTagIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,6 +35,24 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskSeriesRepository taskSeriesRepository;
+
+    @Mock
+    private OccurrenceExpander occurrenceExpander;
+
+    @Mock
+    private TaskClosureRepository taskClosureRepository;
+
+    @Mock
+    private TaskTagIndex taskTagIndex;
+
+    @Mock
+    private UserRepository userRepository;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -39,7 +69,7 @@ class TaskServiceTest {
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
 
         // When
-        Task result = taskService.createTask("Test Task", "Description", null, null, null, user);
+        Task result = taskService.createTask("Test Task", "Description", null, null, null, null, user);
 
         // Then
         assertNotNull(result);
@@ -65,4 +95,48 @@ class TaskServiceTest {
         assertEquals(2, result.size());
         assertEquals("Task 1", result.get(0).getTitle());
     }
+
+    @Test
+    void testStatisticsCountVirtualOccurrences() {
+        // Given - no stored tasks, one occurrence of a recurring task yesterday and one tomorrow
+        when(occurrenceExpander.virtualOccurrences(1L)).thenReturn(List.of(
+                Task.builder().title("Standup").priority(TaskPriorityEnum.HIGH)
+                        .dueDate(LocalDate.now().minusDays(1)).seriesId(5L).build(),
+                Task.builder().title("Standup").priority(TaskPriorityEnum.HIGH)
+                        .dueDate(LocalDate.now().plusDays(1)).seriesId(5L).build()));
+
+        // When
+        TaskServiceImpl.TaskStatistics statistics = taskService.getTaskStatistics(1L);
+
+        // Then
+        assertEquals(2, statistics.total());
+        assertEquals(2, statistics.pending());
+        assertEquals(1, statistics.overdue());
+        assertEquals(2, statistics.critical());
+    }
+
+    @Test
+    void testFilterTotalCountsOnlyMatchesThatStillHold() {
+        // Given - the index still lists task 3 as "work", but it was re-tagged in the meantime
+        TaskBitmapIndex index = new TaskBitmapIndex();
+        index.put(1L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("work"));
+        index.put(2L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("work"));
+        index.put(3L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("work"));
+        when(taskTagIndex.forUser(1L)).thenReturn(index);
+        when(taskRepository.findAllById(List.of(3L))).thenReturn(List.of(
+                Task.builder().id(3L).status(TaskStatusEnum.PENDING).priority(TaskPriorityEnum.LOW)
+                        .tags(new TreeSet<>(Set.of("home"))).build()));
+        when(taskRepository.findAllById(List.of(2L))).thenReturn(List.of(
+                Task.builder().id(2L).status(TaskStatusEnum.PENDING).priority(TaskPriorityEnum.LOW)
+                        .tags(new TreeSet<>(Set.of("work"))).build()));
+
+        // When
+        TaskServiceImpl.TaskFilterResult result = taskService.filterTasks(1L,
+                new TaskFilter(Set.of("work"), Set.of(), Set.of(), Set.of(), Set.of()), 1);
+
+        // Then - the stale match is replaced by the next one; task 1 is never loaded
+        assertEquals(2, result.total());
+        assertEquals(List.of(2L), result.tasks().stream().map(Task::getId).toList());
+        verify(taskRepository, never()).findAllById(List.of(1L));
+    }
 }
@@ -0,0 +1,70 @@
+package com.testhahn.hahntestback.startup;
+
+import com.testhahn.hahntestback.repository.OutboxEventRepository;
+import com.testhahn.hahntestback.repository.TaskDailyRollupRepository;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import com.testhahn.hahntestback.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The runner has already run once the context is up
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:jit_warmup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.warmup.enabled=true",
+        "app.warmup.iterations=120",
+        "app.warmup.threads=2",
+        "app.warmup.sandbox-tasks=5",
+        "app.outbox.enabled=true",
+        "app.outbox.relay.enabled=false",
+        "app.read-model.enabled=false",
+        "app.request-coalescing.enabled=false",
+        "app.reminders.enabled=false",
+        "app.reporting.enabled=false"
+})
+class JitWarmupRunnerTest {
+
+    @Autowired
+    private JitWarmupRunner warmupRunner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void testWarmupRunsEveryCallAndCommitsNothing() {
+        // Given
+        Info.Builder info = new Info.Builder();
+
+        // When
+        warmupRunner.contribute(info);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        Map<String, Object> report = (Map<String, Object>) info.build().get("warmup");
+        assertEquals(120, report.get("calls"));
+        assertEquals(0, report.get("failedCalls"));
+        assertEquals(0, userRepository.count());
+        assertEquals(0, taskRepository.count());
+        assertEquals(0, rollupRepository.count());
+        assertEquals(0, outboxEventRepository.count());
+    }
+}
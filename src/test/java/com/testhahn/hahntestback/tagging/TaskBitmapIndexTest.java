@@ -0,0 +1,103 @@
+package com.testhahn.hahntestback.tagging;
+
+import com.testhahn.hahntestback.analytics.TaskLifecycleEvent;
+import com.testhahn.hahntestback.cache.CacheInvalidationBus;
+import com.testhahn.hahntestback.entity.enums.TaskPriorityEnum;
+import com.testhahn.hahntestback.entity.enums.TaskStatusEnum;
+import com.testhahn.hahntestback.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskBitmapIndexTest {
+
+    private TaskBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskBitmapIndex();
+        index.put(1L, TaskStatusEnum.PENDING, TaskPriorityEnum.HIGH, Set.of("work", "urgent"));
+        index.put(2L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("work", "someday"));
+        index.put(3L, TaskStatusEnum.COMPLETED, TaskPriorityEnum.HIGH, Set.of("work", "blocked"));
+        index.put(4L, TaskStatusEnum.IN_PROGRESS, TaskPriorityEnum.MEDIUM, Set.of("home", "urgent"));
+    }
+
+    @Test
+    void testAndOrNotWithStatusFilter() {
+        // Given - work AND (urgent OR blocked OR someday) AND NOT someday, still open
+        TaskFilter filter = new TaskFilter(Set.of("work"), Set.of("urgent", "blocked", "someday"), Set.of("someday"),
+                Set.of(TaskStatusEnum.PENDING, TaskStatusEnum.IN_PROGRESS), Set.of());
+
+        // When
+        TaskBitmapIndex.Matches matches = index.match(filter, 10);
+
+        // Then
+        assertEquals(List.of(1L), matches.taskIds());
+        assertEquals(1, matches.total());
+    }
+
+    @Test
+    void testNewestFirstWithLimitAndTotal() {
+        // Given
+        TaskFilter filter = new TaskFilter(Set.of(), Set.of(), Set.of(), Set.of(), Set.of(TaskPriorityEnum.HIGH,
+                TaskPriorityEnum.MEDIUM));
+
+        // When
+        TaskBitmapIndex.Matches matches = index.match(filter, 2);
+
+        // Then
+        assertEquals(List.of(4L, 3L), matches.taskIds());
+        assertEquals(3, matches.total());
+
+        // When - the next page
+        TaskBitmapIndex.Matches rest = index.match(filter, matches.next(), 2);
+
+        // Then
+        assertEquals(List.of(1L), rest.taskIds());
+        assertEquals(0, rest.next());
+    }
+
+    @Test
+    void testUpdatesAndRemovalsReplaceIndexedValues() {
+        // When
+        index.put(2L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("urgent"));
+        index.remove(4L);
+
+        // Then
+        TaskFilter urgent = new TaskFilter(Set.of("urgent"), Set.of(), Set.of(), Set.of(), Set.of());
+        assertEquals(List.of(2L, 1L), index.match(urgent, 10).taskIds());
+        assertNull(index.tagCounts().get("someday"));
+        assertEquals(2, index.tagCounts().get("work"));
+    }
+
+    @Test
+    void testCommittedChangesUpdateABuiltIndex() {
+        // Given
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.findTagIndexEntries(7L)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, TaskStatusEnum.PENDING, TaskPriorityEnum.LOW, Set.of("work")}));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<CacheInvalidationBus> invalidationBus = mock(ObjectProvider.class);
+        TaskTagIndex tagIndex = new TaskTagIndex(taskRepository, invalidationBus, 100,
+                Duration.ofMinutes(30), Duration.ofMinutes(10));
+        TaskFilter work = new TaskFilter(Set.of("work"), Set.of(), Set.of(), Set.of(), Set.of());
+        assertEquals(1, tagIndex.forUser(7L).match(work, 10).total());
+
+        // When
+        tagIndex.onTaskLifecycle(new TaskLifecycleEvent(TaskLifecycleEvent.Type.CREATED, 2L, 7L,
+                TaskStatusEnum.PENDING, TaskPriorityEnum.HIGH, Set.of("work"), null, LocalDateTime.now(), null,
+                LocalDateTime.now()));
+
+        // Then - applied in place, no rebuild
+        assertEquals(List.of(2L, 1L), tagIndex.forUser(7L).match(work, 10).taskIds());
+        verify(taskRepository, times(1)).findTagIndexEntries(7L);
+    }
+}